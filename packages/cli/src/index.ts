@@ -9,7 +9,178 @@ import fs from "fs";
 import AdmZip from "adm-zip";
 import path from "path";
 import os from "os";
-import { randomUUID } from "crypto";
+import { createHash, randomUUID } from "crypto";
+
+interface ManifestEntry {
+  path: string;
+  size: number;
+  lastModified: number;
+  hash: string;
+}
+
+interface UploadSession {
+  id: string;
+  size: number;
+  chunkSize: number;
+  receivedChunks: number[];
+}
+
+interface DeployOptions {
+  endpoint: string;
+  id: string;
+  token: string;
+}
+
+const PRECOMPRESSED_EXTENSIONS = [".gz", ".br"];
+const CHUNK_RETRIES = 5;
+
+function apiBase(endpoint: string, id: string) {
+  return `${endpoint}/apis/console.api.staticpage.halo.run/v1alpha1/projects/${id}`;
+}
+
+async function fetchManifest(endpoint: string, id: string, token: string): Promise<ManifestEntry[] | undefined> {
+  try {
+    const { data } = await axios.get<ManifestEntry[]>(`${apiBase(endpoint, id)}/manifest`, {
+      headers: {
+        Authorization: `Bearer ${token}`,
+      },
+    });
+    return data;
+  } catch (e) {
+    // Older plugin versions have no manifest, fall back to a full deploy
+    return undefined;
+  }
+}
+
+function listLocalFiles(root: string, dir = root, files = new Map<string, string>()) {
+  for (const entry of fs.readdirSync(dir, { withFileTypes: true })) {
+    const fullPath = path.join(dir, entry.name);
+    if (entry.isDirectory()) {
+      listLocalFiles(root, fullPath, files);
+    } else if (entry.isFile()) {
+      files.set(path.relative(root, fullPath).split(path.sep).join("/"), fullPath);
+    }
+  }
+  return files;
+}
+
+function readChunk(file: string, offset: number, length: number) {
+  const buffer = Buffer.alloc(length);
+  const fd = fs.openSync(file, "r");
+  try {
+    let read = 0;
+    while (read < length) {
+      read += fs.readSync(fd, buffer, read, length - read, offset + read);
+    }
+  } finally {
+    fs.closeSync(fd);
+  }
+  return buffer;
+}
+
+async function withRetries<T>(action: () => Promise<T>) {
+  for (let attempt = 1; ; attempt++) {
+    try {
+      return await action();
+    } catch (e) {
+      if (attempt >= CHUNK_RETRIES) {
+        throw e;
+      }
+      await new Promise((resolve) => setTimeout(resolve, 500 * 2 ** attempt));
+    }
+  }
+}
+
+/**
+ * Uploads the file in chunks through an upload session, several chunks at a time.
+ *
+ * @returns false if the server does not support upload sessions
+ */
+async function uploadInChunks(
+  options: DeployOptions,
+  file: string,
+  unzip: boolean,
+  deletions: string[],
+  concurrency: number,
+  sessionId?: string
+) {
+  const headers = { Authorization: `Bearer ${options.token}` };
+  const sessionsUrl = `${apiBase(options.endpoint, options.id)}/upload-sessions`;
+  const size = fs.statSync(file).size;
+
+  let session: UploadSession;
+  try {
+    if (sessionId) {
+      ({ data: session } = await axios.get<UploadSession>(`${sessionsUrl}/${sessionId}`, { headers }));
+    } else {
+      ({ data: session } = await axios.post<UploadSession>(
+        sessionsUrl,
+        { filename: path.basename(file), size, unzip, delete: deletions },
+        { headers }
+      ));
+    }
+  } catch (e) {
+    if (!sessionId && axios.isAxiosError(e) && e.response?.status === 404) {
+      return false;
+    }
+    throw e;
+  }
+
+  const received = new Set(session.receivedChunks);
+  const chunkCount = Math.ceil(session.size / session.chunkSize);
+  const pending = Array.from({ length: chunkCount }, (_, chunk) => chunk).filter((chunk) => !received.has(chunk));
+
+  const processBar = new cliProgress.SingleBar(
+    {
+      format: "Uploading [{bar}] {percentage}% | ETA: {eta}s | {value}/{total}",
+    },
+    cliProgress.Presets.legacy
+  );
+  let uploadedBytes = session.size - pending.reduce((sum, chunk) => sum + chunkLength(session, chunk), 0);
+  processBar.start(session.size, uploadedBytes);
+
+  const worker = async () => {
+    for (let chunk = pending.shift(); chunk !== undefined; chunk = pending.shift()) {
+      const offset = chunk * session.chunkSize;
+      const data = readChunk(file, offset, chunkLength(session, chunk));
+      const checksum = createHash("sha256").update(data).digest("hex");
+      await withRetries(() =>
+        axios.put(`${sessionsUrl}/${session.id}`, data, {
+          headers: { ...headers, "Content-Type": "application/octet-stream" },
+          params: { offset, sha256: checksum },
+        })
+      );
+      uploadedBytes += data.length;
+      processBar.update(uploadedBytes);
+    }
+  };
+
+  try {
+    await Promise.all(Array.from({ length: concurrency }, worker));
+  } catch (e) {
+    processBar.stop();
+    console.error(`Upload interrupted, resume it with --session ${session.id}`);
+    throw e;
+  }
+  processBar.stop();
+
+  await axios.post(`${sessionsUrl}/${session.id}/complete`, undefined, { headers });
+  return true;
+}
+
+function chunkLength(session: UploadSession, chunk: number) {
+  return Math.min(session.chunkSize, session.size - chunk * session.chunkSize);
+}
+
+function sha256(file: string) {
+  return createHash("sha256").update(fs.readFileSync(file)).digest("hex");
+}
+
+function isPrecompressedVariant(filePath: string, localFiles: Map<string, string>) {
+  return PRECOMPRESSED_EXTENSIONS.some(
+    (extension) => filePath.endsWith(extension) && localFiles.has(filePath.slice(0, -extension.length))
+  );
+}
 
 const program = new Command();
 
@@ -22,15 +193,46 @@ program
   .requiredOption("-e, --endpoint <string>", "Halo API endpoint")
   .requiredOption("-i, --id <string>", "Static Page ID")
   .requiredOption("-t, --token <string>", "Personal access token")
+  .option("--full", "Upload all files instead of only the changed ones")
+  .option("-c, --concurrency <number>", "Number of chunks uploaded at the same time", "4")
+  .option("-s, --session <id>", "Resume an interrupted upload session of the same file")
   .action(async (str) => {
     const fileStat = fs.statSync(str.file);
 
     let distToUpload = str.file;
+    const deletions: string[] = [];
 
     if (fileStat.isDirectory()) {
       const zip = new AdmZip();
 
-      zip.addLocalFolder(str.file);
+      const manifest = str.full ? undefined : await fetchManifest(str.endpoint, str.id, str.token);
+
+      if (manifest) {
+        const localFiles = listLocalFiles(str.file);
+        const remoteHashes = new Map(manifest.map((entry) => [entry.path, entry.hash]));
+
+        for (const [filePath, fullPath] of localFiles) {
+          if (remoteHashes.get(filePath) !== sha256(fullPath)) {
+            const zipDir = path.posix.dirname(filePath);
+            zip.addLocalFile(fullPath, zipDir === "." ? "" : zipDir);
+          }
+        }
+        for (const entry of manifest) {
+          // Precompressed variants are generated by the server
+          if (!localFiles.has(entry.path) && !isPrecompressedVariant(entry.path, localFiles)) {
+            deletions.push(entry.path);
+          }
+        }
+
+        const changed = zip.getEntries().length;
+        if (changed === 0 && deletions.length === 0) {
+          console.log("Nothing changed, skipped deploying");
+          return;
+        }
+        console.log(`Uploading ${changed} changed files and deleting ${deletions.length} files`);
+      } else {
+        zip.addLocalFolder(str.file);
+      }
 
       const tmpdir = fs.mkdtempSync(path.join(os.tmpdir(), "halo-static-pages-deploy-"));
 
@@ -41,9 +243,18 @@ program
       distToUpload = zipDir;
     }
 
+    const unzip = fileStat.isDirectory();
+    const concurrency = Math.max(1, parseInt(str.concurrency));
+    if (await uploadInChunks(str, distToUpload, unzip, deletions, concurrency, str.session)) {
+      console.log("Deployed successfully");
+      return;
+    }
+
+    // The server does not support upload sessions
     const formData = new FormData();
     formData.append("file", fs.createReadStream(distToUpload));
-    formData.append("unzip", fileStat.isDirectory() ? "true" : "false");
+    formData.append("unzip", unzip ? "true" : "false");
+    deletions.forEach((deletion) => formData.append("delete", deletion));
 
     const processBar = new cliProgress.SingleBar(
       {
@@ -54,19 +265,15 @@ program
 
     processBar.start(100, 0);
 
-    await axios.post(
-      `${str.endpoint}/apis/console.api.staticpage.halo.run/v1alpha1/projects/${str.id}/upload`,
-      formData,
-      {
-        headers: {
-          Authorization: `Bearer ${str.token}`,
-        },
-        onUploadProgress: (progressEvent: AxiosProgressEvent) => {
-          const process = parseInt(Math.round((progressEvent.loaded * 100) / (progressEvent.total || 1)) + "");
-          processBar.update(process);
-        },
-      }
-    );
+    await axios.post(`${apiBase(str.endpoint, str.id)}/upload`, formData, {
+      headers: {
+        Authorization: `Bearer ${str.token}`,
+      },
+      onUploadProgress: (progressEvent: AxiosProgressEvent) => {
+        const process = parseInt(Math.round((progressEvent.loaded * 100) / (progressEvent.total || 1)) + "");
+        processBar.update(process);
+      },
+    });
 
     processBar.stop();
 
@@ -12,18 +12,34 @@ import static org.springdoc.core.fn.builders.schema.Builder.schemaBuilder;
 import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
 
 import cc.ryanc.staticpages.model.ProjectFile;
+import cc.ryanc.staticpages.model.ProjectFileQuery;
+import cc.ryanc.staticpages.model.ProjectManifestEntry;
+import cc.ryanc.staticpages.model.ProjectRelease;
 import cc.ryanc.staticpages.model.UploadContext;
+import cc.ryanc.staticpages.model.UploadSession;
 import cc.ryanc.staticpages.service.PageProjectService;
+import cc.ryanc.staticpages.service.ProjectAssetCache;
+import cc.ryanc.staticpages.service.ProjectIoScheduler;
+import cc.ryanc.staticpages.service.UploadSessionManager;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.springdoc.webflux.core.fn.SpringdocRouteBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.http.codec.multipart.FormFieldPart;
 import org.springframework.http.codec.multipart.Part;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyExtractors;
@@ -38,7 +54,13 @@ import run.halo.app.extension.GroupVersion;
 @RequiredArgsConstructor
 @Component
 public class PageProjectEndpoint implements CustomEndpoint {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_LIST_LIMIT = 1000;
+
     private final PageProjectService pageProjectService;
+    private final ProjectAssetCache assetCache;
+    private final UploadSessionManager uploadSessionManager;
+    private final ProjectIoScheduler ioScheduler;
 
     @Override
     public RouterFunction<ServerResponse> endpoint() {
@@ -51,8 +73,10 @@ public class PageProjectEndpoint implements CustomEndpoint {
                         var context = UploadContext.builder()
                             .name(request.pathVariable("name"))
                             .unzip(uploadReq.getUnzip())
-                            .filePart(uploadReq.getFile())
+                            .filename(uploadReq.getFile().filename())
+                            .content(uploadReq.getFile().content())
                             .dir(uploadReq.getDir())
+                            .deletions(uploadReq.getDelete())
                             .build();
                         return pageProjectService.upload(context);
                     })
@@ -74,8 +98,113 @@ public class PageProjectEndpoint implements CustomEndpoint {
                     .response(responseBuilder().implementation(Path.class))
                     .build()
             )
+            .POST("/projects/{name}/upload-sessions", this::createUploadSession,
+                builder -> builder
+                    .operationId("CreateUploadSession")
+                    .description("Start a resumable upload whose content is sent in chunks")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .in(ParameterIn.PATH)
+                        .name("name")
+                        .required(true)
+                    )
+                    .requestBody(requestBodyBuilder()
+                        .required(true)
+                        .implementation(CreateUploadSessionRequest.class)
+                    )
+                    .response(responseBuilder().implementation(UploadSession.class))
+            )
+            .GET("/projects/{name}/upload-sessions/{id}", this::getUploadSession,
+                builder -> builder
+                    .operationId("GetUploadSession")
+                    .description("Get the acknowledged chunks of an upload session to resume it")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .in(ParameterIn.PATH)
+                        .name("name")
+                        .required(true)
+                    )
+                    .parameter(parameterBuilder()
+                        .in(ParameterIn.PATH)
+                        .name("id")
+                        .required(true)
+                    )
+                    .response(responseBuilder().implementation(UploadSession.class))
+            )
+            .PUT("/projects/{name}/upload-sessions/{id}", this::uploadChunk, builder -> builder
+                .operationId("UploadChunk")
+                .description("Write a chunk of the upload session at the given offset")
+                .tag(tag)
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.PATH)
+                    .name("name")
+                    .required(true)
+                )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.PATH)
+                    .name("id")
+                    .required(true)
+                )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.QUERY)
+                    .name("offset")
+                    .required(true)
+                    .implementation(Long.class)
+                    .description("Offset of the chunk, a multiple of the chunk size")
+                )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.QUERY)
+                    .name("sha256")
+                    .required(false)
+                    .description("Hex encoded SHA-256 checksum of the chunk")
+                )
+                .requestBody(requestBodyBuilder()
+                    .required(true)
+                    .content(contentBuilder()
+                        .mediaType(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                        .schema(schemaBuilder().type("string").format("binary"))
+                    ))
+                .response(responseBuilder().implementation(UploadSession.class))
+            )
+            .POST("/projects/{name}/upload-sessions/{id}/complete", this::completeUploadSession,
+                builder -> builder
+                    .operationId("CompleteUploadSession")
+                    .description("Upload the received content once all chunks were acknowledged")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .in(ParameterIn.PATH)
+                        .name("name")
+                        .required(true)
+                    )
+                    .parameter(parameterBuilder()
+                        .in(ParameterIn.PATH)
+                        .name("id")
+                        .required(true)
+                    )
+                    .response(responseBuilder().implementation(Path.class))
+            )
+            .DELETE("/projects/{name}/upload-sessions/{id}", this::deleteUploadSession,
+                builder -> builder
+                    .operationId("DeleteUploadSession")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .in(ParameterIn.PATH)
+                        .name("name")
+                        .required(true)
+                    )
+                    .parameter(parameterBuilder()
+                        .in(ParameterIn.PATH)
+                        .name("id")
+                        .required(true)
+                    )
+                    .response(responseBuilder()
+                        .responseCode(String.valueOf(HttpStatus.NO_CONTENT.value())))
+            )
             .GET("/projects/{name}/files", this::listFiles, builder -> builder
                 .operationId("ListFilesInProject")
+                .description("List a directory of the project, directories first. When more "
+                    + "entries than the limit exist, the cursor of the next page is returned in "
+                    + "the " + NEXT_CURSOR_HEADER + " header.")
                 .tag(tag)
                 .parameter(parameterBuilder()
                     .in(ParameterIn.PATH)
@@ -87,8 +216,72 @@ public class PageProjectEndpoint implements CustomEndpoint {
                     .required(false)
                     .name("path")
                 )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.QUERY)
+                    .required(false)
+                    .name("keyword")
+                    .description("Only list the entries whose name contains the keyword")
+                )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.QUERY)
+                    .required(false)
+                    .name("sort")
+                    .description("name, size or lastModifiedTime, optionally followed by "
+                        + "',desc', defaults to name")
+                )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.QUERY)
+                    .required(false)
+                    .name("limit")
+                    .implementation(Integer.class)
+                    .description("The page size, at most " + MAX_LIST_LIMIT
+                        + ", all entries if absent")
+                )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.QUERY)
+                    .required(false)
+                    .name("cursor")
+                    .description("The " + NEXT_CURSOR_HEADER + " of the previous page")
+                )
                 .response(responseBuilder().implementationArray(ProjectFile.class))
             )
+            .GET("/projects/{name}/file-tree", this::walkFiles, builder -> builder
+                .operationId("WalkFilesInProject")
+                .description("List the directory of the project recursively as newline "
+                    + "delimited JSON, streamed while the tree is walked.")
+                .tag(tag)
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.PATH)
+                    .name("name")
+                    .required(true)
+                )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.QUERY)
+                    .required(false)
+                    .name("path")
+                )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.QUERY)
+                    .required(false)
+                    .name("depth")
+                    .implementation(Integer.class)
+                    .description("The depth to descend to, 1 for the entries of the directory "
+                        + "only, the whole tree if absent")
+                )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.QUERY)
+                    .required(false)
+                    .name("glob")
+                    .description("Only list the entries whose path relative to the directory "
+                        + "matches the glob, such as **/*.html")
+                )
+                .response(responseBuilder()
+                    .content(contentBuilder()
+                        .mediaType(MediaType.APPLICATION_NDJSON_VALUE)
+                        .schema(schemaBuilder().implementation(ProjectFile.class))
+                    )
+                )
+            )
             .DELETE("/projects/{name}/files", request -> {
                     var projectName = request.pathVariable("name");
                     var path = request.queryParam("path").orElse(null);
@@ -138,12 +331,64 @@ public class PageProjectEndpoint implements CustomEndpoint {
                     .required(false)
                     .name("path")
                 )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.HEADER)
+                    .required(false)
+                    .name(HttpHeaders.IF_MATCH)
+                    .description("The ETag of the content being edited, the write fails with"
+                        + " 412 if the file was changed since")
+                )
                 .requestBody(requestBodyBuilder()
                     .implementation(WriteContentRequest.class)
                 )
                 .response(responseBuilder()
                     .responseCode(String.valueOf(HttpStatus.NO_CONTENT.value())))
             )
+            .GET("/projects/{name}/file-raw", this::readFile, builder -> builder
+                .operationId("ReadFileInProject")
+                .description("Stream the bytes of a file, a single byte range may be requested"
+                    + " with the Range header")
+                .tag(tag)
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.PATH)
+                    .name("name")
+                    .required(true)
+                )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.QUERY)
+                    .required(true)
+                    .name("path")
+                )
+                .response(responseBuilder()
+                    .content(contentBuilder()
+                        .mediaType(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                        .schema(schemaBuilder().type("string").format("binary"))
+                    )
+                )
+            )
+            .PUT("/projects/{name}/file-raw", this::writeFile, builder -> builder
+                .operationId("WriteFileInProject")
+                .description("Stream the request body into a file, replacing the file")
+                .tag(tag)
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.PATH)
+                    .name("name")
+                    .required(true)
+                )
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.QUERY)
+                    .required(true)
+                    .name("path")
+                )
+                .requestBody(requestBodyBuilder()
+                    .content(contentBuilder()
+                        .mediaType(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                        .schema(schemaBuilder().type("string").format("binary"))
+                    )
+                )
+                .response(responseBuilder()
+                    .responseCode(String.valueOf(HttpStatus.NO_CONTENT.value())))
+            )
             .POST("/projects/{name}/file", this::createFile, builder -> builder
                 .operationId("CreateFileOrDirectory")
                 .tag(tag)
@@ -156,9 +401,145 @@ public class PageProjectEndpoint implements CustomEndpoint {
                     .implementation(CreateFileRequest.class)
                 )
             )
+            .GET("/projects/{name}/manifest", this::getManifest, builder -> builder
+                .operationId("GetProjectManifest")
+                .description("Get the path, size and SHA-256 hash of every project file")
+                .tag(tag)
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.PATH)
+                    .name("name")
+                    .required(true)
+                )
+                .response(responseBuilder().implementationArray(ProjectManifestEntry.class))
+            )
+            .GET("/projects/{name}/releases", this::listReleases, builder -> builder
+                .operationId("ListProjectReleases")
+                .description("List the releases of the project, newest first")
+                .tag(tag)
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.PATH)
+                    .name("name")
+                    .required(true)
+                )
+                .response(responseBuilder().implementationArray(ProjectRelease.class))
+            )
+            .POST("/projects/{name}/releases/{release}/activate", this::activateRelease,
+                builder -> builder
+                    .operationId("ActivateProjectRelease")
+                    .description("Switch the project to the given release")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .in(ParameterIn.PATH)
+                        .name("name")
+                        .required(true)
+                    )
+                    .parameter(parameterBuilder()
+                        .in(ParameterIn.PATH)
+                        .name("release")
+                        .required(true)
+                    )
+                    .response(responseBuilder()
+                        .responseCode(String.valueOf(HttpStatus.NO_CONTENT.value())))
+            )
+            .POST("/projects/{name}/rollback", this::rollbackRelease, builder -> builder
+                .operationId("RollbackProjectRelease")
+                .description("Switch the project back to the release before the current one")
+                .tag(tag)
+                .parameter(parameterBuilder()
+                    .in(ParameterIn.PATH)
+                    .name("name")
+                    .required(true)
+                )
+                .response(responseBuilder().implementation(String.class))
+            )
+            .GET("/stats/asset-cache",
+                request -> ServerResponse.ok().bodyValue(assetCache.getStats()),
+                builder -> builder
+                    .operationId("GetAssetCacheStats")
+                    .description("Get hit, miss and eviction counts of the in-memory asset cache")
+                    .tag(tag)
+                    .response(responseBuilder().implementation(ProjectAssetCache.Stats.class))
+            )
+            .GET("/stats/io",
+                request -> ServerResponse.ok().bodyValue(ioScheduler.getStats()),
+                builder -> builder
+                    .operationId("GetIoSchedulerStats")
+                    .description("Get running and queued file operations of the plugin")
+                    .tag(tag)
+                    .response(responseBuilder().implementation(ProjectIoScheduler.Stats.class))
+            )
             .build();
     }
 
+    private Mono<ServerResponse> createUploadSession(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        return request.bodyToMono(CreateUploadSessionRequest.class)
+            .switchIfEmpty(Mono.error(new ServerWebInputException("Required body is missing.")))
+            .flatMap(req -> pageProjectService.createUploadSession(projectName, req.filename(),
+                req.size(), req.chunkSize(), req.unzip(), req.dir(),
+                Objects.requireNonNullElse(req.delete(), List.of())))
+            .flatMap(session -> ServerResponse.ok().bodyValue(session));
+    }
+
+    private Mono<ServerResponse> getUploadSession(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        final var id = request.pathVariable("id");
+        return uploadSessionManager.get(projectName, id)
+            .flatMap(session -> ServerResponse.ok().bodyValue(session));
+    }
+
+    private Mono<ServerResponse> uploadChunk(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        final var id = request.pathVariable("id");
+        final var offset = request.queryParam("offset")
+            .map(value -> NumberUtils.toLong(value, -1))
+            .orElseThrow(() -> new ServerWebInputException("Required 'offset' param is missing."));
+        final var sha256 = request.queryParam("sha256").orElse(null);
+        return uploadSessionManager.writeChunk(projectName, id, offset, sha256,
+                request.bodyToFlux(DataBuffer.class))
+            .flatMap(session -> ServerResponse.ok().bodyValue(session));
+    }
+
+    private Mono<ServerResponse> completeUploadSession(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        final var id = request.pathVariable("id");
+        return pageProjectService.completeUploadSession(projectName, id)
+            .flatMap(path -> ServerResponse.ok().bodyValue(path));
+    }
+
+    private Mono<ServerResponse> deleteUploadSession(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        final var id = request.pathVariable("id");
+        return uploadSessionManager.get(projectName, id)
+            .flatMap(uploadSessionManager::delete)
+            .then(ServerResponse.noContent().build());
+    }
+
+    private Mono<ServerResponse> getManifest(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        var entries = pageProjectService.getManifest(projectName);
+        return ServerResponse.ok().body(entries, ProjectManifestEntry.class);
+    }
+
+    private Mono<ServerResponse> listReleases(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        var releases = pageProjectService.listReleases(projectName);
+        return ServerResponse.ok().body(releases, ProjectRelease.class);
+    }
+
+    private Mono<ServerResponse> activateRelease(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        final var release = request.pathVariable("release");
+        return pageProjectService.activateRelease(projectName, release)
+            .then(ServerResponse.noContent().build());
+    }
+
+    private Mono<ServerResponse> rollbackRelease(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        return pageProjectService.rollbackRelease(projectName)
+            .flatMap(release -> ServerResponse.ok().bodyValue(release));
+    }
+
     private Mono<ServerResponse> createFile(ServerRequest request) {
         final var projectName = request.pathVariable("name");
         return request.bodyToMono(CreateFileRequest.class)
@@ -171,24 +552,161 @@ public class PageProjectEndpoint implements CustomEndpoint {
     private Mono<ServerResponse> writeContentToFile(ServerRequest request) {
         final var projectName = request.pathVariable("name");
         final var path = request.queryParam("path").orElse("/");
+        final var expectedVersions = getIfMatchVersions(request);
         return request.bodyToMono(WriteContentRequest.class)
             .switchIfEmpty(Mono.error(new ServerWebInputException("Required body is missing.")))
-            .flatMap(req -> pageProjectService.writeContent(projectName, path, req.content()))
-            .then(ServerResponse.noContent().build());
+            .flatMap(req -> pageProjectService.writeContent(projectName, path, req.content(),
+                expectedVersions))
+            .flatMap(version -> ServerResponse.noContent().eTag(version).build());
+    }
+
+    /**
+     * Gets the file versions listed in the If-Match headers.
+     *
+     * <p>If-Match uses the strong comparison, so weak tags never match. An empty list thus
+     * fails the write with 412.
+     *
+     * @return the versions, or null if the header is missing or {@code *} matches any version
+     */
+    @Nullable
+    static List<String> getIfMatchVersions(ServerRequest request) {
+        var headers = request.headers().header(HttpHeaders.IF_MATCH);
+        if (headers.isEmpty()) {
+            return null;
+        }
+        var versions = new ArrayList<String>();
+        for (String header : headers) {
+            int i = 0;
+            while (i < header.length()) {
+                var c = header.charAt(i);
+                if (c == ',' || Character.isWhitespace(c)) {
+                    i++;
+                    continue;
+                }
+                if (c == '*') {
+                    return null;
+                }
+                var weak = header.startsWith("W/", i);
+                if (weak) {
+                    i += 2;
+                }
+                int end;
+                String tag;
+                if (i < header.length() && header.charAt(i) == '"') {
+                    end = header.indexOf('"', i + 1);
+                    if (end < 0) {
+                        throw new ServerWebInputException("Invalid If-Match header.");
+                    }
+                    tag = header.substring(i + 1, end);
+                    end++;
+                } else {
+                    // Tolerates an unquoted tag
+                    end = header.indexOf(',', i);
+                    end = end < 0 ? header.length() : end;
+                    tag = header.substring(i, end).trim();
+                }
+                if (!weak && !tag.isEmpty()) {
+                    versions.add(tag);
+                }
+                i = end;
+            }
+        }
+        return versions;
     }
 
     private Mono<ServerResponse> getFileContent(ServerRequest request) {
         final var projectName = request.pathVariable("name");
         final var path = request.queryParam("path").orElse("/");
         return pageProjectService.readFileContent(projectName, path)
-            .flatMap(content -> ServerResponse.ok().bodyValue(content));
+            .flatMap(text -> ServerResponse.ok().eTag(text.version()).bodyValue(text.content()));
+    }
+
+    private Mono<ServerResponse> readFile(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        final var path = request.queryParam("path")
+            .orElseThrow(() -> new ServerWebInputException("Required 'path' param is missing."));
+        List<HttpRange> ranges;
+        try {
+            ranges = request.headers().range();
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ServerWebInputException("Invalid Range header."));
+        }
+        if (ranges.size() > 1) {
+            return Mono.error(new ServerWebInputException("Only a single range is supported."));
+        }
+        var range = ranges.isEmpty() ? null : ranges.getFirst();
+        return pageProjectService.readFile(projectName, path, range)
+            .flatMap(content -> {
+                var response = content.isPartial()
+                    ? ServerResponse.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + content.position() + "-"
+                        + (content.position() + content.length() - 1) + "/" + content.size())
+                    : ServerResponse.ok();
+                // Never rendered by the browser, the console must not run project scripts
+                return response.contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(content.length())
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .header("X-Content-Type-Options", "nosniff")
+                    .body(content.content(), DataBuffer.class);
+            });
+    }
+
+    private Mono<ServerResponse> writeFile(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        final var path = request.queryParam("path")
+            .orElseThrow(() -> new ServerWebInputException("Required 'path' param is missing."));
+        return pageProjectService.writeFile(projectName, path,
+                request.bodyToFlux(DataBuffer.class))
+            .then(ServerResponse.noContent().build());
     }
 
     private Mono<ServerResponse> listFiles(ServerRequest serverRequest) {
         final var projectName = serverRequest.pathVariable("name");
-        final var path = serverRequest.queryParam("path").orElse(null);
-        var files = pageProjectService.listFiles(projectName, path);
-        return ServerResponse.ok().body(files, ProjectFile.class);
+        final var query = getFileQuery(serverRequest);
+        return pageProjectService.listFiles(projectName, query)
+            .flatMap(page -> ServerResponse.ok()
+                .headers(headers -> {
+                    if (page.nextCursor() != null) {
+                        headers.set(NEXT_CURSOR_HEADER, page.nextCursor());
+                    }
+                })
+                .bodyValue(page.items()));
+    }
+
+    private Mono<ServerResponse> walkFiles(ServerRequest request) {
+        final var projectName = request.pathVariable("name");
+        final var path = request.queryParam("path").orElse(null);
+        final var depth = request.queryParam("depth")
+            .map(value -> NumberUtils.toInt(value, 0))
+            .orElse(Integer.MAX_VALUE);
+        if (depth < 1) {
+            return Mono.error(new ServerWebInputException("Invalid 'depth' param."));
+        }
+        final var glob = request.queryParam("glob").orElse(null);
+        var files = pageProjectService.walkFiles(projectName, path, depth, glob);
+        return ServerResponse.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(files, ProjectFile.class);
+    }
+
+    static ProjectFileQuery getFileQuery(ServerRequest request) {
+        var sortParam = StringUtils.split(request.queryParam("sort").orElse("name"), ",");
+        var sort = switch (sortParam.length > 0 ? sortParam[0].trim() : "name") {
+            case "name" -> ProjectFileQuery.Sort.NAME;
+            case "size" -> ProjectFileQuery.Sort.SIZE;
+            case "lastModifiedTime" -> ProjectFileQuery.Sort.LAST_MODIFIED_TIME;
+            default -> throw new ServerWebInputException("不支持的排序字段: " + sortParam[0]);
+        };
+        var descending = sortParam.length > 1 && "desc".equalsIgnoreCase(sortParam[1].trim());
+        var limit = request.queryParam("limit")
+            .map(value -> NumberUtils.toInt(value, -1))
+            .orElse(0);
+        if (limit < 0) {
+            throw new ServerWebInputException("Invalid 'limit' param.");
+        }
+        return new ProjectFileQuery(request.queryParam("path").orElse(null),
+            request.queryParam("keyword").orElse(null), sort, descending,
+            Math.min(limit, MAX_LIST_LIMIT), request.queryParam("cursor").orElse(null));
     }
 
     @Override
@@ -200,6 +718,16 @@ public class PageProjectEndpoint implements CustomEndpoint {
                                     boolean isDir) {
     }
 
+    public record CreateUploadSessionRequest(
+        @Schema(requiredMode = REQUIRED, minLength = 1) String filename,
+        @Schema(requiredMode = REQUIRED, minimum = "0") long size,
+        @Schema(requiredMode = NOT_REQUIRED, description = "Chunk size in bytes, 8 MB by default")
+        Integer chunkSize,
+        boolean unzip,
+        @Schema(requiredMode = NOT_REQUIRED) String dir,
+        @Schema(requiredMode = NOT_REQUIRED) List<String> delete) {
+    }
+
     public record WriteContentRequest(@Schema(requiredMode = REQUIRED) String content) {
     }
 
@@ -223,6 +751,22 @@ public class PageProjectEndpoint implements CustomEndpoint {
             return null;
         }
 
+        @Schema(requiredMode = NOT_REQUIRED,
+            description = "Paths relative to the project to delete when deploying the whole"
+                + " project, one per field or line")
+        public List<String> getDelete() {
+            var parts = formData.get("delete");
+            if (parts == null) {
+                return List.of();
+            }
+            return parts.stream()
+                .filter(FormFieldPart.class::isInstance)
+                .map(part -> ((FormFieldPart) part).value())
+                .flatMap(String::lines)
+                .filter(StringUtils::isNotBlank)
+                .toList();
+        }
+
         public boolean getUnzip() {
             if (formData.getFirst("unzip") instanceof FormFieldPart form) {
                 return isTrue(toBooleanObject(form.value()));
@@ -0,0 +1,70 @@
+package cc.ryanc.staticpages.endpoint;
+
+import cc.ryanc.staticpages.service.ProjectResourceResolver;
+import cc.ryanc.staticpages.service.ProjectRewriteRules;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import run.halo.app.security.AdditionalWebFilter;
+
+/**
+ * Serves files of projects directly for requests under a project root.
+ *
+ * <p>The file, or the target of a rewrite rule, is resolved once against the project directory
+ * and written to the response. Requests that cannot be resolved continue down the filter chain,
+ * so Halo renders its usual not found page.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectStaticResourceFilter implements AdditionalWebFilter {
+
+    /**
+     * First path segments that are served by Halo itself and never by a project.
+     */
+    private static final Set<String> RESERVED_SEGMENTS = Set.of("apis", "api", "actuator",
+        "console", "uc", "login", "logout", "signup", "themes", "plugins", "upload");
+
+    private final ProjectRewriteRules rewriteRules;
+    private final ProjectResourceResolver resourceResolver;
+    private final ProjectStaticResourceHandler resourceHandler;
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        var request = exchange.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod())
+            && !HttpMethod.HEAD.equals(request.getMethod())) {
+            return chain.filter(exchange);
+        }
+        var requestPath = request.getPath().pathWithinApplication();
+        var project = rewriteRules.findProject(requestPath.value());
+        if (project == null || isReserved(requestPath.value())) {
+            return chain.filter(exchange);
+        }
+        var acceptEncoding = request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        return resourceResolver.resolve(project, requestPath, acceptEncoding)
+            .map(resource -> resourceHandler.handle(exchange, project, resource))
+            // Not resolvable in the project, let Halo handle it
+            .switchIfEmpty(Mono.fromSupplier(() -> chain.filter(exchange)))
+            .flatMap(handled -> handled);
+    }
+
+    static boolean isReserved(String requestPath) {
+        int start = requestPath.startsWith("/") ? 1 : 0;
+        int end = requestPath.indexOf('/', start);
+        var firstSegment = end < 0 ? requestPath.substring(start)
+            : requestPath.substring(start, end);
+        return RESERVED_SEGMENTS.contains(firstSegment);
+    }
+
+    @Override
+    public int getOrder() {
+        return 10;
+    }
+}
@@ -0,0 +1,121 @@
+package cc.ryanc.staticpages.endpoint;
+
+import cc.ryanc.staticpages.model.ProjectResource;
+import cc.ryanc.staticpages.service.AssetPrecompressor;
+import cc.ryanc.staticpages.service.ProjectAssetCache;
+import cc.ryanc.staticpages.service.ProjectRewriteRules.ProjectRules;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.codec.ResourceHttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes a resolved project file to the response.
+ *
+ * <p>Small files are served from {@link ProjectAssetCache}, larger ones are sent with zero-copy
+ * file transfer when the server supports it. Precompressed variants are sent with their
+ * {@code Content-Encoding}. {@code Range} requests, including multiple ranges, are answered with
+ * 206 partial content unless an {@code If-Range} validator no longer matches.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectStaticResourceHandler {
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ResourceHttpMessageWriter RANGE_WRITER =
+        new ResourceHttpMessageWriter(BUFFER_SIZE);
+
+    private final ProjectAssetCache assetCache;
+
+    public Mono<Void> handle(ServerWebExchange exchange, ProjectRules project,
+        ProjectResource resource) {
+        var response = exchange.getResponse();
+        // Also sent with 304 responses
+        project.applyHeaders(resource.path(), response.getHeaders());
+        // Honors If-None-Match before If-Modified-Since
+        if (exchange.checkNotModified(resource.eTag(), resource.lastModified())) {
+            return response.setComplete();
+        }
+        var headers = response.getHeaders();
+        headers.setContentType(resource.mediaType());
+        headers.setLastModified(resource.lastModified());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (resource.eTag() != null) {
+            headers.setETag("\"" + resource.eTag() + "\"");
+        }
+        if (AssetPrecompressor.isCompressible(resource.mediaType())) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (resource.contentEncoding() != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, resource.contentEncoding());
+        }
+        var request = exchange.getRequest();
+        if (isRangeRequest(request, resource)) {
+            // Writes 206 with a single region or multipart/byteranges, or 416 for invalid ranges
+            return RANGE_WRITER.write(Mono.just(new FileSystemResource(resource.file())), null,
+                ResolvableType.forClass(Resource.class), resource.mediaType(), request, response,
+                Map.of());
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(resource.size());
+        if (HttpMethod.HEAD.equals(request.getMethod())) {
+            return response.setComplete();
+        }
+        if (assetCache.isCacheable(resource)) {
+            return assetCache.get(resource)
+                .flatMap(content -> {
+                    // The file may have changed since it was resolved
+                    headers.setContentLength(content.remaining());
+                    return response.writeWith(Mono.just(response.bufferFactory().wrap(content)));
+                });
+        }
+        if (response instanceof ZeroCopyHttpOutputMessage zeroCopy) {
+            // sendfile(2), the content never enters user space
+            return zeroCopy.writeWith(resource.file(), 0, resource.size());
+        }
+        var body = DataBufferUtils.read(resource.file(), response.bufferFactory(), BUFFER_SIZE);
+        return response.writeWith(body);
+    }
+
+    /**
+     * Checks whether the request asks for ranges that should be honored, that is it has a
+     * {@code Range} header and its {@code If-Range} validator, if any, matches the resource.
+     */
+    static boolean isRangeRequest(ServerHttpRequest request, ProjectResource resource) {
+        var requestHeaders = request.getHeaders();
+        if (!requestHeaders.containsKey(HttpHeaders.RANGE)) {
+            return false;
+        }
+        var ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("W/")) {
+            // Weak validators never match for ranges
+            return false;
+        }
+        if (ifRange.startsWith("\"")) {
+            return resource.eTag() != null && ifRange.equals("\"" + resource.eTag() + "\"");
+        }
+        try {
+            var date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return date.toEpochSecond() == resource.lastModified().getEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package cc.ryanc.staticpages.event;
+
+import java.nio.file.Path;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.lang.Nullable;
+
+/**
+ * Published after files of a project were created, written, deleted or deployed.
+ */
+@Getter
+public class ProjectFilesChangedEvent extends ApplicationEvent {
+
+    private final String projectName;
+
+    private final Path projectDir;
+
+    /**
+     * The changed file or directory, or null if the whole project may have changed.
+     */
+    @Nullable
+    private final Path path;
+
+    public ProjectFilesChangedEvent(Object source, String projectName, Path projectDir,
+        @Nullable Path path) {
+        super(source);
+        this.projectName = projectName;
+        this.projectDir = projectDir;
+        this.path = path;
+    }
+}
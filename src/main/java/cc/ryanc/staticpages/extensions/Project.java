@@ -46,6 +46,33 @@ public class Project extends AbstractExtension {
 
         @Schema(requiredMode = NOT_REQUIRED)
         private List<Rewrite> rewrites;
+
+        @Schema(requiredMode = NOT_REQUIRED,
+            description = "Whether to write precompressed gzip variants of text assets on deploy")
+        private boolean precompress;
+
+        @Schema(requiredMode = NOT_REQUIRED,
+            description = "Response headers applied to files matching the source pattern")
+        private List<HeaderRule> headers;
+
+        @Schema(requiredMode = NOT_REQUIRED, minimum = "1",
+            description = "Number of releases to keep, older releases are pruned after deploys")
+        private Integer releaseHistoryLimit;
+
+        @Schema(requiredMode = NOT_REQUIRED, minimum = "1",
+            description = "Maximum size of the project files in bytes, uploads exceeding it are"
+                + " rejected")
+        private Long storageQuota;
+
+        @Schema(requiredMode = NOT_REQUIRED,
+            description = "Whether to store deployed files once by content in the blob store"
+                + " shared with other projects")
+        private boolean deduplicate;
+
+        @Schema(requiredMode = NOT_REQUIRED,
+            description = "Whether to cache scripts, styles, fonts and images with a content hash"
+                + " in their name as immutable for a year")
+        private boolean immutableAssets;
     }
 
     @Data
@@ -58,11 +85,34 @@ public class Project extends AbstractExtension {
         private String target;
     }
 
+    @Data
+    @Schema(name = "ProjectHeaderRule")
+    public static class HeaderRule {
+        @Schema(requiredMode = REQUIRED, minLength = 1)
+        private String source;
+
+        @Schema(requiredMode = REQUIRED)
+        private List<Header> headers;
+    }
+
+    @Data
+    @Schema(name = "ProjectHeader")
+    public static class Header {
+        @Schema(requiredMode = REQUIRED, minLength = 1)
+        private String name;
+
+        @Schema(requiredMode = REQUIRED)
+        private String value;
+    }
+
     @Data
     @Schema(name = "ProjectStatus")
     public static class Status {
         private Phase phase = Phase.READY;
 
+        @Schema(description = "Name of the release the project directory currently points to")
+        private String currentRelease;
+
         @Getter(onMethod_ = @NonNull)
         private ConditionList conditions = new ConditionList();
 
@@ -73,6 +123,7 @@ public class Project extends AbstractExtension {
 
     public enum Phase {
         READY,
+        MOVING,
         FAILED
     }
 }
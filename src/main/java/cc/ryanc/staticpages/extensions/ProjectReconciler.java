@@ -1,19 +1,26 @@
 package cc.ryanc.staticpages.extensions;
 
 import static cc.ryanc.staticpages.extensions.Project.Phase.FAILED;
+import static cc.ryanc.staticpages.extensions.Project.Phase.MOVING;
+import static cc.ryanc.staticpages.service.ProjectDirectoryMover.MOVING_FROM_ANNO;
 import static run.halo.app.extension.ExtensionUtil.addFinalizers;
 import static run.halo.app.extension.ExtensionUtil.removeFinalizers;
 
+import cc.ryanc.staticpages.event.ProjectFilesChangedEvent;
 import cc.ryanc.staticpages.service.PageFileManager;
 import cc.ryanc.staticpages.service.PageProjectService;
+import cc.ryanc.staticpages.service.ProjectDirectoryMover;
 import cc.ryanc.staticpages.service.ProjectRewriteRules;
+import cc.ryanc.staticpages.utils.FileUtils;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import run.halo.app.extension.ExtensionClient;
 import run.halo.app.extension.ExtensionUtil;
@@ -34,6 +41,8 @@ public class ProjectReconciler implements Reconciler<Reconciler.Request> {
     private final ProjectRewriteRules projectRewriteRules;
     private final PageProjectService pageProjectService;
     private final PageFileManager pageFileManager;
+    private final ProjectDirectoryMover directoryMover;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Result reconcile(Request request) {
@@ -43,29 +52,56 @@ public class ProjectReconciler implements Reconciler<Reconciler.Request> {
                     if (removeFinalizers(project.getMetadata(), Set.of(FINALIZER))) {
                         projectRewriteRules.removeRules(project);
                         pageProjectService.deleteProject(project).block();
+                        publishFilesChanged(project);
                         client.update(project);
                         return;
                     }
                 }
                 addFinalizers(project.getMetadata(), Set.of(FINALIZER));
+                var moving = handleDirectoryChange(project);
+                // After a move is started, the source directory is served until it completes
                 projectRewriteRules.updateRules(project);
-                handleDirectoryChange(project);
 
                 client.update(project);
+                if (moving) {
+                    // Only once the source directory is persisted, so a restart resumes the move
+                    directoryMover.moveLater(project.getMetadata().getName(),
+                        MetadataUtil.nullSafeAnnotations(project).get(MOVING_FROM_ANNO),
+                        project.getSpec().getDirectory());
+                }
             });
         return Result.doNotRetry();
     }
 
-    private void handleDirectoryChange(Project project) {
+    /**
+     * Moves the project directory if it was changed.
+     *
+     * @return true if the directory is to be moved in the background once the project is
+     * updated
+     */
+    private boolean handleDirectoryChange(Project project) {
         var annotations = MetadataUtil.nullSafeAnnotations(project);
         var directory = project.getSpec().getDirectory();
         var oldDir = annotations.get(Project.LAST_DIRECTORY_ANNO);
         var newPath = pageProjectService.determinePath(directory);
 
-        if (shouldMove(oldDir, directory, newPath)) {
-            moveTo(project, oldDir, newPath);
+        var moving = false;
+        if (annotations.containsKey(MOVING_FROM_ANNO)) {
+            var phase = project.getStatus().getPhase();
+            if (phase == MOVING) {
+                // A copy across file stores is running or was interrupted by a restart
+                moving = true;
+            } else if (phase == FAILED && !directory.equals(oldDir)) {
+                // The directory was changed after a failed move, the files are still in the
+                // source directory
+                project.getStatus().setPhase(MOVING);
+                moving = true;
+            }
+        } else if (shouldMove(oldDir, directory, newPath)) {
+            moving = moveTo(project, oldDir, newPath);
         }
         annotations.put(Project.LAST_DIRECTORY_ANNO, directory);
+        return moving;
     }
 
     boolean shouldMove(String oldDir, String newDir, Path newPath) {
@@ -73,10 +109,23 @@ public class ProjectReconciler implements Reconciler<Reconciler.Request> {
             || !Files.exists(newPath);
     }
 
-    private void moveTo(Project project, String oldDir, Path target) {
+    /**
+     * Moves the directory right away within a file store.
+     *
+     * @return true if the directory is to be copied across file stores in the background
+     */
+    private boolean moveTo(Project project, String oldDir, Path target) {
         var oldPath = pageProjectService.determinePath(oldDir);
         try {
+            if (Files.isDirectory(oldPath, LinkOption.NOFOLLOW_LINKS)
+                && !FileUtils.isSameFileStore(oldPath, target)) {
+                // Copying may take long, it must not block the reconciler
+                MetadataUtil.nullSafeAnnotations(project).put(MOVING_FROM_ANNO, oldDir);
+                project.getStatus().setPhase(MOVING);
+                return true;
+            }
             pageFileManager.move(oldPath, target).block();
+            publishFilesChanged(project);
         } catch (Throwable e) {
             log.error("Failed to move directory from {} to {}", oldPath, target, e);
             project.getStatus().setPhase(FAILED);
@@ -89,6 +138,14 @@ public class ProjectReconciler implements Reconciler<Reconciler.Request> {
                 .build();
             project.getStatus().getConditions().addAndEvictFIFO(condition);
         }
+        return false;
+    }
+
+    private void publishFilesChanged(Project project) {
+        var projectName = project.getMetadata().getName();
+        var projectDir = pageProjectService.determinePath(project.getSpec().getDirectory());
+        eventPublisher.publishEvent(
+            new ProjectFilesChangedEvent(this, projectName, projectDir, null));
     }
 
     @Override
@@ -0,0 +1,19 @@
+package cc.ryanc.staticpages.model;
+
+/**
+ * The {@code editor} group of the plugin settings.
+ *
+ * @param maxEditableSize the maximum size in MB of files opened as text in the online editor,
+ * larger files are only available through the streaming file API
+ */
+public record EditorSetting(Integer maxEditableSize) {
+    public static final String GROUP = "editor";
+
+    static final int DEFAULT_MAX_EDITABLE_SIZE = 5;
+
+    public long getMaxEditableBytes() {
+        var size = maxEditableSize == null || maxEditableSize < 1 ? DEFAULT_MAX_EDITABLE_SIZE
+            : maxEditableSize;
+        return size * 1024L * 1024L;
+    }
+}
@@ -32,4 +32,9 @@ public class ProjectFile {
     private boolean canRead;
 
     private boolean canWrite;
+
+    /**
+     * 文件版本，保存文件时通过 If-Match 请求头传回以检测并发修改
+     */
+    private String version;
 }
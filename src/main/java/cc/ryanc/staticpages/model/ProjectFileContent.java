@@ -0,0 +1,20 @@
+package cc.ryanc.staticpages.model;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+/**
+ * A byte range of a project file, streamed from disk.
+ *
+ * @param size the size of the whole file in bytes
+ * @param position the offset of the first byte of the range
+ * @param length the number of bytes in the range
+ * @param content the bytes of the range
+ */
+public record ProjectFileContent(long size, long position, long length,
+                                 Flux<DataBuffer> content) {
+
+    public boolean isPartial() {
+        return position > 0 || length < size;
+    }
+}
@@ -0,0 +1,13 @@
+package cc.ryanc.staticpages.model;
+
+import java.util.List;
+import org.springframework.lang.Nullable;
+
+/**
+ * A page of the entries of a project directory.
+ *
+ * @param items the entries in the requested order
+ * @param nextCursor the cursor of the next page, null on the last page
+ */
+public record ProjectFilePage(List<ProjectFile> items, @Nullable String nextCursor) {
+}
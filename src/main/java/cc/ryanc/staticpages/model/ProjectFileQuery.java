@@ -0,0 +1,23 @@
+package cc.ryanc.staticpages.model;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Options of listing a directory of a project.
+ *
+ * @param path the directory relative to the project, the project directory if blank
+ * @param keyword only lists the entries whose name contains it, ignoring case
+ * @param sort the order of the entries, directories always come first
+ * @param descending whether to sort in descending order
+ * @param limit the maximum number of entries to list, 0 for all of them
+ * @param cursor the next cursor of the previous page, null for the first page
+ */
+public record ProjectFileQuery(@Nullable String path, @Nullable String keyword, Sort sort,
+                               boolean descending, int limit, @Nullable String cursor) {
+
+    public enum Sort {
+        NAME,
+        SIZE,
+        LAST_MODIFIED_TIME
+    }
+}
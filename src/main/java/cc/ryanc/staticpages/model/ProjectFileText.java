@@ -0,0 +1,11 @@
+package cc.ryanc.staticpages.model;
+
+/**
+ * The text of a project file opened in the online editor.
+ *
+ * @param content the file content
+ * @param version the version of the file the content was read from, to be sent back when
+ * saving so that concurrent changes are detected
+ */
+public record ProjectFileText(String content, String version) {
+}
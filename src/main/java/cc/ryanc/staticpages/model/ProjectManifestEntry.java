@@ -0,0 +1,12 @@
+package cc.ryanc.staticpages.model;
+
+/**
+ * A file recorded in the manifest of a project.
+ *
+ * @param path the path relative to the project directory, separated by slashes
+ * @param size the file size in bytes
+ * @param lastModified the last modified time of the file in epoch milliseconds
+ * @param hash the hex encoded SHA-256 digest of the file content
+ */
+public record ProjectManifestEntry(String path, long size, long lastModified, String hash) {
+}
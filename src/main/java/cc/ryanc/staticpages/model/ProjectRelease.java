@@ -0,0 +1,13 @@
+package cc.ryanc.staticpages.model;
+
+import java.time.Instant;
+
+/**
+ * A deployed release of a project.
+ *
+ * @param name the release name, releases sort by name in deploy order
+ * @param creationTimestamp when the release was deployed
+ * @param current whether the project directory currently points to this release
+ */
+public record ProjectRelease(String name, Instant creationTimestamp, boolean current) {
+}
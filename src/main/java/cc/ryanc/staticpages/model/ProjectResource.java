@@ -0,0 +1,38 @@
+package cc.ryanc.staticpages.model;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+/**
+ * A regular file of a project resolved for a request.
+ *
+ * @param projectName the name of the project the file belongs to
+ * @param path the path of the requested file, starting with the project root path
+ * @param file the file on disk, which may be a precompressed variant of the requested file
+ * @param size the file size in bytes
+ * @param lastModified the last modified time of the requested file
+ * @param mediaType the media type of the requested file
+ * @param contentEncoding the content coding of the file, or null if it is not encoded
+ * @param eTag the unquoted entity tag of the file, or null if the content hash is not known yet
+ */
+public record ProjectResource(String projectName, String path, Path file, long size,
+                              Instant lastModified, MediaType mediaType,
+                              @Nullable String contentEncoding, @Nullable String eTag) {
+
+    public ProjectResource withETag(@Nullable String eTag) {
+        return new ProjectResource(projectName, path, file, size, lastModified, mediaType,
+            contentEncoding, eTag);
+    }
+
+    /**
+     * Switches to an encoded variant, which gets its own entity tag as it is a different
+     * representation.
+     */
+    public ProjectResource withEncodedVariant(Path variant, long variantSize, String coding) {
+        var variantETag = eTag == null ? null : eTag + "-" + coding;
+        return new ProjectResource(projectName, path, variant, variantSize, lastModified,
+            mediaType, coding, variantETag);
+    }
+}
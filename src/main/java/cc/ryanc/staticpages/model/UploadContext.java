@@ -1,14 +1,26 @@
 package cc.ryanc.staticpages.model;
 
+import java.nio.file.Path;
+import java.util.List;
 import lombok.Builder;
 import lombok.Value;
-import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
 
 @Value
 @Builder
 public class UploadContext {
     String name;
-    FilePart filePart;
+    String filename;
+    Flux<DataBuffer> content;
+    /**
+     * The archive spooled to a file already, extracted in place of the content.
+     */
+    Path archive;
     boolean unzip;
     String dir;
+    /**
+     * Paths relative to the project directory to delete, only for deploys of the whole project.
+     */
+    List<String> deletions;
 }
@@ -0,0 +1,76 @@
+package cc.ryanc.staticpages.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.time.Instant;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.Data;
+
+/**
+ * A resumable upload whose content is sent in fixed size chunks.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UploadSession {
+    private String id;
+
+    private String projectName;
+
+    private String filename;
+
+    /**
+     * 文件总大小（字节）
+     */
+    private long size;
+
+    /**
+     * 分片大小（字节），最后一个分片可以更小
+     */
+    private int chunkSize;
+
+    private boolean unzip;
+
+    private String dir;
+
+    private List<String> deletions;
+
+    private Instant creationTimestamp;
+
+    /**
+     * 已确认接收的分片序号
+     */
+    private SortedSet<Integer> receivedChunks = new ConcurrentSkipListSet<>();
+
+    public void setReceivedChunks(SortedSet<Integer> receivedChunks) {
+        // Chunks are acknowledged concurrently
+        this.receivedChunks = new ConcurrentSkipListSet<>(receivedChunks);
+    }
+
+    public int getChunkCount() {
+        return (int) ((size + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * 从文件开头起连续确认接收的字节数，可从此处续传
+     */
+    public long getUploadedBytes() {
+        int chunk = 0;
+        while (receivedChunks.contains(chunk)) {
+            chunk++;
+        }
+        return Math.min(size, (long) chunk * chunkSize);
+    }
+
+    public boolean isComplete() {
+        return receivedChunks.size() == getChunkCount();
+    }
+
+    public long getChunkOffset(int chunk) {
+        return (long) chunk * chunkSize;
+    }
+
+    public long getChunkLength(int chunk) {
+        return Math.min(chunkSize, size - getChunkOffset(chunk));
+    }
+}
@@ -0,0 +1,223 @@
+package cc.ryanc.staticpages.service;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes precompressed {@code .gz} siblings of compressible project files at deploy time, so
+ * that responses do not have to be compressed on the fly.
+ *
+ * <p>Brotli siblings ({@code .br}) are served when they are shipped with the site, but they are
+ * not generated here because there is no pure-Java brotli encoder available to the plugin.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AssetPrecompressor {
+    static final long MIN_SIZE = 1024;
+
+    /**
+     * The files compressed at once, gzip is CPU bound and the cores are shared with Halo.
+     */
+    static final int PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private static final Set<MediaType> COMPRESSIBLE_TYPES = Set.of(
+        MediaType.APPLICATION_JSON,
+        MediaType.APPLICATION_XML,
+        MediaType.APPLICATION_XHTML_XML,
+        MediaType.APPLICATION_ATOM_XML,
+        MediaType.APPLICATION_RSS_XML,
+        MediaType.APPLICATION_NDJSON,
+        MediaType.valueOf("application/javascript"),
+        MediaType.valueOf("application/manifest+json"),
+        MediaType.valueOf("application/wasm"),
+        MediaType.valueOf("image/svg+xml"),
+        MediaType.valueOf("image/x-icon"),
+        MediaType.valueOf("font/ttf"),
+        MediaType.valueOf("font/otf")
+    );
+
+    private final ProjectIoScheduler ioScheduler;
+
+    /**
+     * Supported content codings in order of preference.
+     */
+    public enum ContentCoding {
+        BR("br", ".br"),
+        GZIP("gzip", ".gz");
+
+        private final String coding;
+        private final String extension;
+
+        ContentCoding(String coding, String extension) {
+            this.coding = coding;
+            this.extension = extension;
+        }
+
+        public String coding() {
+            return coding;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public Path variantOf(Path file) {
+            return file.resolveSibling(file.getFileName() + extension);
+        }
+    }
+
+    public static boolean isCompressible(@Nullable MediaType mediaType) {
+        if (mediaType == null) {
+            return false;
+        }
+        if ("text".equals(mediaType.getType())) {
+            return true;
+        }
+        var withoutParameters = new MediaType(mediaType.getType(), mediaType.getSubtype());
+        return COMPRESSIBLE_TYPES.contains(withoutParameters);
+    }
+
+    /**
+     * Checks whether the given value of an {@code Accept-Encoding} header accepts the coding.
+     * The coding itself takes precedence over {@code *}, so {@code *;q=0, gzip} accepts gzip.
+     */
+    public static boolean acceptsEncoding(@Nullable String acceptEncoding, ContentCoding coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String token : acceptEncoding.split(",")) {
+            var parts = token.split(";");
+            var name = parts[0].trim();
+            if (name.equalsIgnoreCase(coding.coding())) {
+                return !hasZeroQuality(parts);
+            }
+            if (name.equals("*")) {
+                wildcard = !hasZeroQuality(parts);
+            }
+        }
+        return wildcard;
+    }
+
+    private static boolean hasZeroQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            var param = parts[i].trim();
+            if (param.startsWith("q=") && isZero(param.substring(2))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Precompresses all compressible files under the given path in parallel.
+     *
+     * @param path a file or a directory
+     */
+    public Mono<Void> precompress(Path path) {
+        return Mono.fromCallable(() -> collectCandidates(path))
+            .subscribeOn(ioScheduler.bulk())
+            .flatMapMany(Flux::fromIterable)
+            .parallel(PARALLELISM)
+            .runOn(ioScheduler.bulk())
+            .doOnNext(AssetPrecompressor::compress)
+            .sequential()
+            .then();
+    }
+
+    private static List<Path> collectCandidates(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        // The project directory is a link to its current release
+        try (Stream<Path> files = Files.walk(path, FileVisitOption.FOLLOW_LINKS)) {
+            return files.filter(file -> !isMetadataFile(path, file))
+                .filter(Files::isRegularFile)
+                .filter(AssetPrecompressor::shouldCompress)
+                .toList();
+        }
+    }
+
+    private static boolean isMetadataFile(Path start, Path file) {
+        for (Path name : start.relativize(file)) {
+            if (ProjectManifestStore.METADATA_DIR.equals(name.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean shouldCompress(Path file) {
+        var mediaType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+            .orElse(null);
+        if (!isCompressible(mediaType)) {
+            return false;
+        }
+        try {
+            return Files.size(file) >= MIN_SIZE;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void compress(Path file) {
+        var target = ContentCoding.GZIP.variantOf(file);
+        try {
+            var sourceModified = Files.getLastModifiedTime(file);
+            if (Files.exists(target)
+                && Files.getLastModifiedTime(target).compareTo(sourceModified) >= 0) {
+                // Up to date
+                return;
+            }
+            // A unique name, the same file may be compressed by concurrent deploys
+            var temp = Files.createTempFile(target.getParent(), "." + target.getFileName(),
+                ".tmp");
+            try {
+                try (var out = new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024) {
+                    {
+                        def.setLevel(Deflater.BEST_COMPRESSION);
+                    }
+                }) {
+                    Files.copy(file, out);
+                }
+                if (Files.size(temp) >= Files.size(file)) {
+                    // Not worth serving
+                    Files.deleteIfExists(target);
+                    return;
+                }
+                Files.setLastModifiedTime(temp, sourceModified);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to precompress {}", file, e);
+        }
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality.trim()) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -1,15 +1,54 @@
 package cc.ryanc.staticpages.service;
 
+import cc.ryanc.staticpages.model.ProjectFileText;
 import java.nio.file.Path;
+import java.util.Collection;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface PageFileManager {
 
-    Mono<String> readString(Path path);
+    /**
+     * Reads a text file as a whole.
+     *
+     * @param maxSize the maximum file size in bytes, larger files are rejected
+     */
+    Mono<ProjectFileText> readString(Path path, long maxSize);
 
-    Mono<Void> writeString(Path path, String content);
+    /**
+     * Replaces the content of a text file.
+     *
+     * @param expectedVersions the versions the content may be based on, the write fails with 412
+     * unless the file has one of them, or null to overwrite unconditionally
+     * @return the version of the written file
+     */
+    Mono<String> writeString(Path path, String content,
+        @Nullable Collection<String> expectedVersions);
+
+    /**
+     * Streams a range of a file without loading it into memory.
+     *
+     * @param position the offset to start reading from
+     * @param length the maximum number of bytes to read
+     */
+    Flux<DataBuffer> read(Path path, long position, long length);
+
+    /**
+     * Streams the content into a file, replacing it once the content is complete.
+     */
+    Mono<Void> write(Path path, Publisher<DataBuffer> content);
 
     Mono<Void> createFile(Path filePath, boolean dir);
 
+    /**
+     * Deletes a file or a directory recursively.
+     *
+     * @return whether anything was deleted
+     */
+    Mono<Boolean> delete(Path path);
+
     Mono<Void> move(Path source, Path target);
 }
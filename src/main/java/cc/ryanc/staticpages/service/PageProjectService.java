@@ -2,8 +2,20 @@ package cc.ryanc.staticpages.service;
 
 import cc.ryanc.staticpages.extensions.Project;
 import cc.ryanc.staticpages.model.ProjectFile;
+import cc.ryanc.staticpages.model.ProjectFileContent;
+import cc.ryanc.staticpages.model.ProjectFilePage;
+import cc.ryanc.staticpages.model.ProjectFileQuery;
+import cc.ryanc.staticpages.model.ProjectFileText;
+import cc.ryanc.staticpages.model.ProjectManifestEntry;
+import cc.ryanc.staticpages.model.ProjectRelease;
 import cc.ryanc.staticpages.model.UploadContext;
+import cc.ryanc.staticpages.model.UploadSession;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpRange;
+import org.springframework.lang.Nullable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -11,17 +23,80 @@ public interface PageProjectService {
 
     Mono<Path> upload(UploadContext uploadContext);
 
-    Flux<ProjectFile> listFiles(String projectName, String directoryPath);
+    /**
+     * Starts a resumable upload into the project, an upload larger than the project may hold
+     * is rejected right away.
+     */
+    Mono<UploadSession> createUploadSession(String projectName, String filename, long size,
+        @Nullable Integer chunkSize, boolean unzip, @Nullable String dir,
+        List<String> deletions);
+
+    /**
+     * Uploads the content of a completed upload session like {@link #upload(UploadContext)}
+     * and removes the session afterward.
+     */
+    Mono<Path> completeUploadSession(String projectName, String sessionId);
+
+    Mono<ProjectFilePage> listFiles(String projectName, ProjectFileQuery query);
+
+    /**
+     * Lists the entries under a directory of the project recursively, as the walk reaches
+     * them.
+     *
+     * @param maxDepth the depth to descend to, 1 for the entries of the directory only
+     * @param glob only lists the entries whose path relative to the directory matches it
+     */
+    Flux<ProjectFile> walkFiles(String projectName, @Nullable String path, int maxDepth,
+        @Nullable String glob);
 
     Mono<Boolean> deleteFile(String projectName, String path);
 
-    Mono<String> readFileContent(String projectName, String path);
+    /**
+     * Reads a file as text for the online editor, up to the configured size cap.
+     */
+    Mono<ProjectFileText> readFileContent(String projectName, String path);
+
+    /**
+     * Saves the text of a file from the online editor.
+     *
+     * @param expectedVersions the versions the text may be based on, or null to overwrite
+     * @return the version of the saved file
+     */
+    Mono<String> writeContent(String projectName, String path, String content,
+        @Nullable Collection<String> expectedVersions);
+
+    /**
+     * Streams a file, or a byte range of it.
+     *
+     * @param range the requested range, or null for the whole file
+     */
+    Mono<ProjectFileContent> readFile(String projectName, String path,
+        @Nullable HttpRange range);
 
-    Mono<Void> writeContent(String projectName, String path, String content);
+    /**
+     * Streams the content into a file, replacing the file once the content is complete.
+     */
+    Mono<Void> writeFile(String projectName, String path, Flux<DataBuffer> content);
 
     Mono<Path> createFile(String projectName, String path, boolean dir);
 
     Mono<Void> deleteProject(Project project);
 
     Path determinePath(String directory);
+
+    /**
+     * Gets the up-to-date manifest of the project files, for clients to compute deltas.
+     */
+    Flux<ProjectManifestEntry> getManifest(String projectName);
+
+    Flux<ProjectRelease> listReleases(String projectName);
+
+    Mono<Void> activateRelease(String projectName, String release);
+
+    /**
+     * Switches the project back to the release deployed before the current one.
+     *
+     * @return the name of the release rolled back to
+     */
+    Mono<String> rollbackRelease(String projectName);
 }
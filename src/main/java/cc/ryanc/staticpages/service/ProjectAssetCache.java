@@ -0,0 +1,160 @@
+package cc.ryanc.staticpages.service;
+
+import cc.ryanc.staticpages.event.ProjectFilesChangedEvent;
+import cc.ryanc.staticpages.model.ProjectResource;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+/**
+ * A size-bounded in-memory cache of small, frequently served project files.
+ *
+ * <p>Contents are held off-heap in read-only direct {@link ByteBuffer}s, so the cache does not
+ * add to the GC pressure of Halo's heap. The cache is bounded by bytes rather than entries and
+ * evicts in LRU order. An entry is only served while the size and last modified time of the file
+ * still match, and entries are dropped eagerly when files change through the plugin.
+ */
+@Slf4j
+@Component
+public class ProjectAssetCache {
+    static final long MAX_CACHE_BYTES = 64L * 1024 * 1024;
+    static final long MAX_ENTRY_BYTES = 1024 * 1024;
+
+    private final ProjectIoScheduler ioScheduler;
+    private final long maxCacheBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final Map<Path, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    @Autowired
+    public ProjectAssetCache(ProjectIoScheduler ioScheduler) {
+        this(ioScheduler, MAX_CACHE_BYTES);
+    }
+
+    ProjectAssetCache(ProjectIoScheduler ioScheduler, long maxCacheBytes) {
+        this.ioScheduler = ioScheduler;
+        this.maxCacheBytes = maxCacheBytes;
+    }
+
+    public boolean isCacheable(ProjectResource resource) {
+        return resource.size() <= MAX_ENTRY_BYTES;
+    }
+
+    /**
+     * Gets the content of the given resource from the cache, loading it on a miss.
+     *
+     * @return a read-only buffer of the file content that may be consumed by the caller
+     */
+    public Mono<ByteBuffer> get(ProjectResource resource) {
+        var entry = getEntry(resource);
+        if (entry != null) {
+            hits.increment();
+            return Mono.just(entry.content().duplicate());
+        }
+        misses.increment();
+        return Mono.fromCallable(() -> load(resource))
+            .subscribeOn(ioScheduler.interactive())
+            .doOnNext(content -> put(resource, content))
+            .map(ByteBuffer::duplicate);
+    }
+
+    public Stats getStats() {
+        synchronized (entries) {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(),
+                cachedBytes, maxCacheBytes);
+        }
+    }
+
+    @EventListener(ProjectFilesChangedEvent.class)
+    public void onProjectFilesChanged(ProjectFilesChangedEvent event) {
+        var path = event.getPath();
+        synchronized (entries) {
+            var iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                var entry = iterator.next();
+                var matched = path == null
+                    ? event.getProjectName().equals(entry.getValue().projectName())
+                    : entry.getKey().startsWith(path);
+                if (matched) {
+                    cachedBytes -= entry.getValue().size();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private Entry getEntry(ProjectResource resource) {
+        synchronized (entries) {
+            var entry = entries.get(resource.file());
+            if (entry == null) {
+                return null;
+            }
+            if (entry.size() != resource.size()
+                || !entry.lastModified().equals(resource.lastModified())) {
+                entries.remove(resource.file());
+                cachedBytes -= entry.size();
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void put(ProjectResource resource, ByteBuffer content) {
+        var entry = new Entry(resource.projectName(), content, content.remaining(),
+            resource.lastModified());
+        synchronized (entries) {
+            var previous = entries.put(resource.file(), entry);
+            if (previous != null) {
+                cachedBytes -= previous.size();
+            }
+            cachedBytes += entry.size();
+            var iterator = entries.values().iterator();
+            while (cachedBytes > maxCacheBytes && iterator.hasNext()) {
+                var eldest = iterator.next();
+                cachedBytes -= eldest.size();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static ByteBuffer load(ProjectResource resource) {
+        try (var channel = FileChannel.open(resource.file(), StandardOpenOption.READ)) {
+            var size = channel.size();
+            var content = ByteBuffer.allocateDirect((int) size);
+            while (content.hasRemaining() && channel.read(content) >= 0) {
+                // Read until the buffer is full or the end of the file is reached
+            }
+            content.flip();
+            return content.asReadOnlyBuffer();
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    @Schema(name = "ProjectAssetCacheStats")
+    public record Stats(long hits, long misses, long evictions, long entries, long cachedBytes,
+                        long capacityBytes) {
+    }
+
+    private record Entry(String projectName, ByteBuffer content, long size,
+                         Instant lastModified) {
+    }
+}
@@ -0,0 +1,156 @@
+package cc.ryanc.staticpages.service;
+
+import cc.ryanc.staticpages.utils.FileUtils;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import run.halo.app.infra.BackupRootGetter;
+
+/**
+ * A content-addressed store of file contents shared by all projects and releases.
+ *
+ * <p>Blobs live in {@code <work-dir>/static-pages/blobs/<first two hex digits>/<sha256>} and
+ * files of projects with {@code spec.deduplicate} are hard links to them, so identical files
+ * take disk space once no matter how many projects or releases contain them. Files are never
+ * modified in place by the plugin, writes replace them by renaming, so a blob never changes
+ * once stored. A blob that is no longer linked from any release is removed by
+ * {@link #collectGarbageLater()}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectBlobStore {
+    private final BackupRootGetter backupRootGetter;
+    private final ProjectIoScheduler ioScheduler;
+
+    /**
+     * Replaces every regular file under the directory by a link to the blob of its content,
+     * storing the blobs not seen before.
+     *
+     * <p>The directory must be on the file store of the blob store and must not be served yet.
+     * It runs as a pass over the extracted release rather than hashing entries while they are
+     * extracted: the files were just written and are read back from the page cache, and keeping
+     * it out of the extractors leaves their limits and parallel unzip untouched. A duplicate
+     * file is thus written once before it is replaced by a link.
+     *
+     * @return the number of files whose content was already stored
+     */
+    public int deduplicate(Path dir) throws IOException {
+        var blobsDir = getBlobsDir();
+        FileUtils.createIfAbsent(blobsDir);
+        var reused = new int[1];
+        Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path subDir, BasicFileAttributes attrs) {
+                // The metadata is rewritten per project
+                return ProjectManifestStore.METADATA_DIR.equals(String.valueOf(
+                    subDir.getFileName())) ? FileVisitResult.SKIP_SUBTREE
+                    : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                throws IOException {
+                if (attrs.isRegularFile() && attrs.size() > 0 && store(file)) {
+                    reused[0]++;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return reused[0];
+    }
+
+    /**
+     * Links the file to the blob of its content.
+     *
+     * @return true if the blob already existed
+     */
+    private boolean store(Path file) throws IOException {
+        var blob = getBlobPath(ProjectManifestStore.sha256(file));
+        if (Files.exists(blob)) {
+            var link = file.resolveSibling("." + file.getFileName() + ".blob");
+            try {
+                Files.createLink(link, blob);
+                Files.move(link, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            } catch (NoSuchFileException e) {
+                // Collected in the meantime, store the file as the blob instead
+                Files.deleteIfExists(link);
+            }
+        }
+        FileUtils.createIfAbsent(blob.getParent());
+        var temp = blob.resolveSibling(blob.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        Files.createLink(temp, file);
+        Files.move(temp, blob, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        return false;
+    }
+
+    /**
+     * Removes the blobs linked from nowhere else in the background.
+     */
+    public void collectGarbageLater() {
+        ioScheduler.bulk().schedule(() -> {
+            try {
+                var removed = collectGarbage();
+                log.debug("Removed {} unreferenced blobs", removed);
+            } catch (IOException | UnsupportedOperationException e) {
+                log.warn("Failed to collect unreferenced blobs", e);
+            }
+        });
+    }
+
+    /**
+     * Removes the blobs whose only link is the blob itself.
+     *
+     * @return the number of removed blobs
+     */
+    long collectGarbage() throws IOException {
+        var blobsDir = getBlobsDir();
+        if (!Files.isDirectory(blobsDir)) {
+            return 0;
+        }
+        try (Stream<Path> blobs = Files.walk(blobsDir, 2)) {
+            return blobs.filter(Files::isRegularFile)
+                .filter(ProjectBlobStore::isUnreferenced)
+                .filter(blob -> {
+                    try {
+                        return Files.deleteIfExists(blob);
+                    } catch (IOException e) {
+                        return false;
+                    }
+                })
+                .count();
+        }
+    }
+
+    private static boolean isUnreferenced(Path blob) {
+        try {
+            return ((Number) Files.getAttribute(blob, "unix:nlink")).intValue() <= 1;
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    Path getBlobPath(String hash) {
+        return getBlobsDir().resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Blobs are next to the releases, hard links cannot cross file stores.
+     */
+    public Path getBlobsDir() {
+        return backupRootGetter.get().getParent().resolve("static-pages").resolve("blobs");
+    }
+}
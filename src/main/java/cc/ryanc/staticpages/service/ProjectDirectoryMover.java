@@ -0,0 +1,262 @@
+package cc.ryanc.staticpages.service;
+
+import cc.ryanc.staticpages.event.ProjectFilesChangedEvent;
+import cc.ryanc.staticpages.extensions.Project;
+import cc.ryanc.staticpages.utils.FileUtils;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import run.halo.app.extension.ExtensionClient;
+import run.halo.app.extension.MetadataUtil;
+import run.halo.app.infra.Condition;
+import run.halo.app.infra.ConditionStatus;
+
+/**
+ * Moves a project directory to another file store in the background.
+ *
+ * <p>A rename is not possible across file stores, so the files are copied into a hidden
+ * sibling of the target directory, which is renamed into place once complete. The site is
+ * never served half copied. The source directory is recorded in the
+ * {@link #MOVING_FROM_ANNO} annotation while the copy runs, so an interrupted copy is resumed
+ * by the next reconciliation, skipping the files copied already. The project is served from
+ * the source directory until the copy is renamed into place, and still after a failed copy,
+ * which is retried once the directory is changed again. Progress is reported in the
+ * conditions of the project.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectDirectoryMover {
+    public static final String MOVING_FROM_ANNO = "staticpages.halo.run/moving-from";
+
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+    private static final String PART_SUFFIX = ".moving-part";
+
+    private final ExtensionClient client;
+    private final PageProjectService pageProjectService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectIoScheduler ioScheduler;
+    private final ProjectRewriteRules projectRewriteRules;
+
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts copying the directory of the project unless a copy is running already.
+     *
+     * @param sourceDir the directory the project is moved from
+     * @param targetDir the directory the project is moved to
+     */
+    public void moveLater(String projectName, String sourceDir, String targetDir) {
+        if (!running.add(projectName)) {
+            return;
+        }
+        ioScheduler.bulk().schedule(() -> {
+            try {
+                var from = sourceDir;
+                var to = targetDir;
+                while (to != null) {
+                    var next = move(projectName, from, to);
+                    from = to;
+                    to = next;
+                }
+            } finally {
+                running.remove(projectName);
+            }
+        });
+    }
+
+    /**
+     * Moves the directory and records the result in the project.
+     *
+     * @return the directory to move on to if the project directory was changed again while
+     * moving, otherwise null
+     */
+    @Nullable
+    private String move(String projectName, String sourceDir, String targetDir) {
+        var source = pageProjectService.determinePath(sourceDir);
+        var target = pageProjectService.determinePath(targetDir);
+        var staging = getStagingDir(target);
+        try {
+            if (FileUtils.isEmpty(target)) {
+                Files.deleteIfExists(target);
+            }
+            var copied = !FileUtils.isSameFileStore(source, target);
+            if (copied) {
+                var progress = new Progress(projectName, FileUtils.sizeOf(source));
+                log.info("Copying project {} from {} to {}", projectName, source, target);
+                copy(source, staging, progress);
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            eventPublisher.publishEvent(
+                new ProjectFilesChangedEvent(this, projectName, target, null));
+            var next = new String[1];
+            var updated = updateProject(projectName, project -> {
+                var annotations = MetadataUtil.nullSafeAnnotations(project);
+                annotations.put(Project.LAST_DIRECTORY_ANNO, targetDir);
+                var directory = project.getSpec().getDirectory();
+                if (targetDir.equals(directory)) {
+                    annotations.remove(MOVING_FROM_ANNO);
+                    project.getStatus().setPhase(Project.Phase.READY);
+                    next[0] = null;
+                } else {
+                    // The directory was changed again in the meantime
+                    annotations.put(MOVING_FROM_ANNO, targetDir);
+                    next[0] = directory;
+                }
+                addCondition(project, "DirectoryMoved", "Moved", ConditionStatus.TRUE,
+                    "项目目录已移动到 " + targetDir);
+            });
+            if (updated != null) {
+                // Serve from the target before the source is gone, not after the next reconcile
+                projectRewriteRules.updateRules(updated);
+            }
+            if (copied) {
+                FileUtils.deleteRecursivelyAndSilently(source);
+            }
+            return next[0];
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to move directory from {} to {}", source, target, e);
+            // The files are still in the source directory, the project is served from there
+            // until the move is retried by changing the directory
+            updateProject(projectName, project -> {
+                project.getStatus().setPhase(Project.Phase.FAILED);
+                addCondition(project, "UnexpectedState", "FailedToMoveDirectory",
+                    ConditionStatus.FALSE, e.getMessage());
+            });
+            return null;
+        }
+    }
+
+    /**
+     * Copies the files missing in the target directory. A file is copied to a temporary name
+     * and renamed, so a file that exists in the target directory is complete.
+     */
+    private static void copy(Path source, Path target, Progress progress) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+                throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                throws IOException {
+                var targetFile = target.resolve(source.relativize(file).toString());
+                if (attrs.isSymbolicLink()) {
+                    if (Files.notExists(targetFile, LinkOption.NOFOLLOW_LINKS)) {
+                        Files.copy(file, targetFile, LinkOption.NOFOLLOW_LINKS);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+                if (!isCopied(targetFile, attrs)) {
+                    var partFile = targetFile.resolveSibling(targetFile.getFileName()
+                        + PART_SUFFIX);
+                    Files.copy(file, partFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.COPY_ATTRIBUTES);
+                    Files.move(partFile, targetFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                }
+                progress.add(attrs.size());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static boolean isCopied(Path targetFile, BasicFileAttributes sourceAttrs) {
+        try {
+            var attrs = Files.readAttributes(targetFile, BasicFileAttributes.class,
+                LinkOption.NOFOLLOW_LINKS);
+            return attrs.size() == sourceAttrs.size()
+                && attrs.lastModifiedTime().equals(sourceAttrs.lastModifiedTime());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static Path getStagingDir(Path target) {
+        return target.resolveSibling("." + target.getFileName() + ".moving");
+    }
+
+    /**
+     * Updates the project, retrying on conflicts.
+     *
+     * @return the updated project, or null if it is gone or could not be updated
+     */
+    @Nullable
+    private Project updateProject(String projectName, Consumer<Project> mutator) {
+        for (int i = 0; i < 3; i++) {
+            var project = client.fetch(Project.class, projectName).orElse(null);
+            if (project == null) {
+                return null;
+            }
+            mutator.accept(project);
+            try {
+                client.update(project);
+                return project;
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("Retrying to update project {} after a conflict", projectName);
+            }
+        }
+        log.warn("Gave up updating the status of project {}", projectName);
+        return null;
+    }
+
+    private static void addCondition(Project project, String type, String reason,
+        ConditionStatus status, String message) {
+        var condition = Condition.builder()
+            .type(type)
+            .reason(reason)
+            .message(message)
+            .status(status)
+            .lastTransitionTime(Instant.now())
+            .build();
+        project.getStatus().getConditions().addAndEvictFIFO(condition);
+    }
+
+    private class Progress {
+        private final String projectName;
+        private final long totalBytes;
+        private long copiedBytes;
+        private Instant lastReport = Instant.now();
+
+        Progress(String projectName, long totalBytes) {
+            this.projectName = projectName;
+            this.totalBytes = totalBytes;
+        }
+
+        void add(long bytes) {
+            copiedBytes += bytes;
+            var now = Instant.now();
+            if (Duration.between(lastReport, now).compareTo(PROGRESS_INTERVAL) < 0) {
+                return;
+            }
+            lastReport = now;
+            updateProject(projectName, project -> {
+                project.getStatus().setPhase(Project.Phase.MOVING);
+                addCondition(project, "DirectoryMoving", "CopyingAcrossFileStores",
+                    ConditionStatus.UNKNOWN,
+                    "正在复制项目文件，已完成 " + copiedBytes + " / " + totalBytes + " 字节");
+            });
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package cc.ryanc.staticpages.service;
+
+import cc.ryanc.staticpages.event.ProjectFilesChangedEvent;
+import cc.ryanc.staticpages.service.AssetPrecompressor.ContentCoding;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * An in-memory index of the regular files that exist in each project directory.
+ *
+ * <p>The index of a project is built by walking the project directory on first use and is
+ * then kept up to date incrementally from {@link ProjectFilesChangedEvent}s, so deciding
+ * whether a request path exists does not touch the disk. Lookups must be performed on a thread
+ * that may block, because the first lookup of a project walks its directory.
+ *
+ * <p>Files may also be added outside the plugin, e.g. over SFTP or rsync, which raises no
+ * event. A miss is therefore only trusted for {@link #DEFAULT_TTL} after the index was built,
+ * a later miss is still answered from the index but rebuilds it in the background. At most one
+ * rebuild of a project is in flight at a time.
+ */
+@Slf4j
+@Component
+public class ProjectFileIndex {
+    static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+
+    private final Map<String, FileSet> fileSets = new ConcurrentHashMap<>();
+    private final ProjectIoScheduler ioScheduler;
+    private final Duration ttl;
+
+    @Autowired
+    public ProjectFileIndex(ProjectIoScheduler ioScheduler) {
+        this(ioScheduler, DEFAULT_TTL);
+    }
+
+    ProjectFileIndex(ProjectIoScheduler ioScheduler, Duration ttl) {
+        this.ioScheduler = ioScheduler;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Checks whether the given file exists in the project directory.
+     *
+     * @param projectName the project name
+     * @param projectDir the project directory
+     * @param file a file within the project directory
+     */
+    public boolean exists(String projectName, Path projectDir, Path file) {
+        var fileSet = fileSets.get(projectName);
+        if (fileSet == null || !fileSet.root().equals(projectDir)) {
+            // Walked outside the map, computing in it would block lookups of other projects
+            var built = FileSet.build(projectDir);
+            fileSet = fileSets.merge(projectName, built,
+                (current, candidate) -> current.root().equals(projectDir) ? current : candidate);
+        }
+        if (fileSet.contains(file)) {
+            return true;
+        }
+        if (System.nanoTime() - fileSet.builtAt() >= ttl.toNanos()) {
+            rebuildLater(projectName, fileSet);
+        }
+        return false;
+    }
+
+    private void rebuildLater(String projectName, FileSet expired) {
+        if (!expired.rebuilding().compareAndSet(false, true)) {
+            return;
+        }
+        ioScheduler.bulk().schedule(() -> {
+            var rebuilt = FileSet.build(expired.root());
+            // Unless it was invalidated or refreshed from scratch meanwhile
+            fileSets.computeIfPresent(projectName,
+                (name, current) -> current == expired ? rebuilt : current);
+        });
+    }
+
+    /**
+     * Drops the index of the project, it will be rebuilt on the next lookup.
+     */
+    public void invalidate(String projectName) {
+        fileSets.remove(projectName);
+    }
+
+    @EventListener(ProjectFilesChangedEvent.class)
+    public void onProjectFilesChanged(ProjectFilesChangedEvent event) {
+        var fileSet = fileSets.get(event.getProjectName());
+        if (fileSet == null) {
+            return;
+        }
+        var path = event.getPath();
+        if (path == null || path.equals(fileSet.root())) {
+            invalidate(event.getProjectName());
+            return;
+        }
+        try {
+            fileSet.refresh(path);
+        } catch (IOException e) {
+            log.warn("Failed to refresh file index of project {} for {}, rebuilding it lazily",
+                event.getProjectName(), path, e);
+            invalidate(event.getProjectName());
+        }
+    }
+
+    static String toKey(Path root, Path file) {
+        var key = root.relativize(file).toString();
+        return File.separatorChar == '/' ? key : key.replace(File.separatorChar, '/');
+    }
+
+    record FileSet(Path root, NavigableSet<String> files, long builtAt,
+                   AtomicBoolean rebuilding) {
+
+        static FileSet build(Path root) {
+            var fileSet = new FileSet(root, new ConcurrentSkipListSet<>(), System.nanoTime(),
+                new AtomicBoolean());
+            try {
+                fileSet.addTree(root);
+            } catch (NoSuchFileException e) {
+                // The project directory does not exist yet
+            } catch (IOException e) {
+                log.warn("Failed to index files of {}", root, e);
+            }
+            log.debug("Indexed {} files of {}", fileSet.files().size(), root);
+            return fileSet;
+        }
+
+        boolean contains(Path file) {
+            return file.startsWith(root) && files.contains(toKey(root, file));
+        }
+
+        /**
+         * Re-reads the state of a changed file or directory from disk.
+         */
+        void refresh(Path path) throws IOException {
+            if (!path.startsWith(root)) {
+                return;
+            }
+            var key = toKey(root, path);
+            files.remove(key);
+            // Everything below the path when it is or was a directory
+            files.subSet(key + "/", true, key + "/" + Character.MAX_VALUE, true).clear();
+            if (Files.exists(path)) {
+                addTree(path);
+            }
+            // Precompressed siblings are written alongside the file
+            for (ContentCoding coding : ContentCoding.values()) {
+                var variant = coding.variantOf(path);
+                if (Files.isRegularFile(variant)) {
+                    files.add(toKey(root, variant));
+                } else {
+                    files.remove(toKey(root, variant));
+                }
+            }
+        }
+
+        private void addTree(Path start) throws IOException {
+            // The project directory is a link to its current release
+            Files.walkFileTree(start, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        return ProjectManifestStore.isMetadataPath(root, dir)
+                            ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (attrs.isRegularFile()) {
+                            files.add(toKey(root, file));
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package cc.ryanc.staticpages.service;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The schedulers of the blocking file operations of the plugin, kept apart from Reactor's
+ * shared {@link Schedulers#boundedElastic()} which Halo itself relies on.
+ *
+ * <p>Both schedulers run every task on a new virtual thread. {@link #interactive()} is meant
+ * for the short operations of the console and the editor. {@link #bulk()} is meant for
+ * deploys, moves and recursive deletes, which additionally go through
+ * {@link #limit(String, Mono)}: at most {@link #PER_PROJECT_BULK_LIMIT} bulk operations run
+ * per project and half as many as there are cores in total, the others wait in line. A big
+ * deploy thus neither starves other projects nor the editor. Deploys take the permit only once
+ * their upload is received, so a slow client does not hold it.
+ */
+@Component
+public class ProjectIoScheduler implements DisposableBean {
+    static final int PER_PROJECT_BULK_LIMIT = 1;
+
+    private final int bulkLimit = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    private final Semaphore bulkPermits = new Semaphore(bulkLimit, true);
+    private final Map<String, ProjectQueue> projectQueues = new ConcurrentHashMap<>();
+    private final AtomicInteger bulkRunning = new AtomicInteger();
+
+    private final CountingExecutor interactiveExecutor =
+        new CountingExecutor("static-pages-io-");
+    private final CountingExecutor bulkExecutor = new CountingExecutor("static-pages-bulk-");
+    private final Scheduler interactive =
+        Schedulers.fromExecutorService(interactiveExecutor, "static-pages-io");
+    private final Scheduler bulk =
+        Schedulers.fromExecutorService(bulkExecutor, "static-pages-bulk");
+
+    public Scheduler interactive() {
+        return interactive;
+    }
+
+    public Scheduler bulk() {
+        return bulk;
+    }
+
+    /**
+     * Runs a bulk operation of a project once the project and the plugin have capacity for it.
+     */
+    public <T> Mono<T> limit(String projectName, Mono<T> operation) {
+        return Mono.defer(() -> {
+            var queue = enter(projectName);
+            // Waiting parks a virtual thread only
+            return Mono.fromCallable(() -> {
+                    try {
+                        queue.permits.acquire();
+                        try {
+                            bulkPermits.acquire();
+                        } catch (InterruptedException e) {
+                            queue.permits.release();
+                            throw e;
+                        }
+                    } catch (InterruptedException e) {
+                        leave(queue);
+                        throw e;
+                    } finally {
+                        queue.queued.decrementAndGet();
+                    }
+                    bulkRunning.incrementAndGet();
+                    return queue;
+                })
+                .subscribeOn(bulk)
+                // Cancelled right after acquiring
+                .doOnDiscard(ProjectQueue.class, this::release)
+                .flatMap(acquired -> operation.doFinally(signal -> release(acquired)));
+        });
+    }
+
+    private ProjectQueue enter(String projectName) {
+        return projectQueues.compute(projectName, (name, queue) -> {
+            var entered = queue == null ? new ProjectQueue(name) : queue;
+            entered.users++;
+            entered.queued.incrementAndGet();
+            return entered;
+        });
+    }
+
+    /**
+     * Forgets the queue of a project once nothing waits or runs in it, so the queues of deleted
+     * projects do not pile up.
+     */
+    private void leave(ProjectQueue queue) {
+        projectQueues.computeIfPresent(queue.name,
+            (name, current) -> --current.users == 0 ? null : current);
+    }
+
+    private void release(ProjectQueue queue) {
+        bulkRunning.decrementAndGet();
+        bulkPermits.release();
+        queue.permits.release();
+        leave(queue);
+    }
+
+    int getProjectQueueCount() {
+        return projectQueues.size();
+    }
+
+    public Stats getStats() {
+        var queued = projectQueues.values().stream()
+            .filter(queue -> queue.queued.get() > 0)
+            .collect(Collectors.toMap(queue -> queue.name, queue -> queue.queued.get()));
+        return new Stats(interactiveExecutor.running.get(), bulkExecutor.running.get(),
+            bulkRunning.get(), queued.values().stream().mapToInt(Integer::intValue).sum(),
+            bulkLimit, queued);
+    }
+
+    @Override
+    public void destroy() {
+        interactive.dispose();
+        bulk.dispose();
+    }
+
+    /**
+     * Counters of the scheduled work.
+     *
+     * @param interactiveTasks the number of interactive tasks running
+     * @param bulkTasks the number of tasks running on the bulk scheduler
+     * @param bulkOperations the number of bulk operations holding a permit
+     * @param bulkQueued the number of bulk operations waiting for a permit
+     * @param bulkLimit the maximum number of bulk operations running at once
+     * @param bulkQueuedByProject the number of waiting bulk operations by project
+     */
+    @Schema(name = "ProjectIoSchedulerStats")
+    public record Stats(int interactiveTasks, int bulkTasks, int bulkOperations, int bulkQueued,
+                        int bulkLimit, Map<String, Integer> bulkQueuedByProject) {
+    }
+
+    /**
+     * The bulk operations of a project that wait or run.
+     */
+    private static class ProjectQueue {
+        private final String name;
+        private final Semaphore permits = new Semaphore(PER_PROJECT_BULK_LIMIT, true);
+        private final AtomicInteger queued = new AtomicInteger();
+        /**
+         * The operations entered and not yet left, only changed while the queue is computed in
+         * the map.
+         */
+        private int users;
+
+        ProjectQueue(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Runs each task on a new virtual thread and counts the running tasks.
+     */
+    private static class CountingExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final AtomicInteger running = new AtomicInteger();
+
+        CountingExecutor(String threadNamePrefix) {
+            this.delegate = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(() -> {
+                running.incrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit)
+            throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package cc.ryanc.staticpages.service;
+
+import cc.ryanc.staticpages.event.ProjectFilesChangedEvent;
+import cc.ryanc.staticpages.model.ProjectManifestEntry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import run.halo.app.infra.utils.JsonUtils;
+
+/**
+ * Maintains a manifest of the content hashes of project files.
+ *
+ * <p>The manifest is stored in {@value #METADATA_DIR}/{@value #MANIFEST_FILE} inside the project
+ * directory and is updated incrementally for the files that changed, so hashes are computed once
+ * per deploy or write instead of per request. A recorded hash is only returned while the size and
+ * last modified time of the file still match. Changed files are hashed in the background, never on
+ * the thread that changed them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectManifestStore {
+    /**
+     * The directory in a project that holds plugin metadata, it is never served or listed.
+     */
+    public static final String METADATA_DIR = ".staticpages";
+    static final String MANIFEST_FILE = "manifest.json";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ProjectIoScheduler ioScheduler;
+
+    private final Map<String, Manifest> manifests = new ConcurrentHashMap<>();
+
+    public static boolean isMetadataPath(Path projectDir, Path path) {
+        return path.startsWith(projectDir.resolve(METADATA_DIR));
+    }
+
+    /**
+     * Gets the content hash of the given file if the manifest has an up-to-date record of it.
+     * Missing or stale records are recomputed in the background.
+     */
+    @Nullable
+    public String getHash(String projectName, Path projectDir, Path file, long size,
+        long lastModified) {
+        var manifest = getManifest(projectName, projectDir);
+        var entry = manifest.entries().get(ProjectFileIndex.toKey(projectDir, file));
+        if (entry != null && entry.size() == size && entry.lastModified() == lastModified) {
+            return entry.hash();
+        }
+        manifest.refreshLater(file);
+        return null;
+    }
+
+    /**
+     * Brings the manifest of a project up to date with the files on disk and gets all of its
+     * entries ordered by path. Only files whose size or last modified time changed are hashed.
+     */
+    public List<ProjectManifestEntry> getEntries(String projectName, Path projectDir)
+        throws IOException {
+        var manifest = getManifest(projectName, projectDir);
+        if (Files.isDirectory(projectDir)) {
+            manifest.refresh(projectDir);
+        }
+        return List.copyOf(manifest.entries().values());
+    }
+
+    @EventListener(ProjectFilesChangedEvent.class)
+    public void onProjectFilesChanged(ProjectFilesChangedEvent event) {
+        var path = event.getPath();
+        if (path == null) {
+            // Moved or deleted, the manifest on disk travels with the directory
+            manifests.remove(event.getProjectName());
+            return;
+        }
+        var manifest = manifests.get(event.getProjectName());
+        if (manifest != null && manifest.root().equals(event.getProjectDir())) {
+            manifest.refreshLater(path);
+            return;
+        }
+        // Loading the manifest reads it from disk as well
+        ioScheduler.bulk().schedule(() -> getManifest(event.getProjectName(),
+            event.getProjectDir()).refreshLater(path));
+    }
+
+    private Manifest getManifest(String projectName, Path projectDir) {
+        var manifest = manifests.get(projectName);
+        if (manifest != null && manifest.root().equals(projectDir)) {
+            return manifest;
+        }
+        // Read outside the map, computing in it would block lookups of other projects
+        var loaded = Manifest.load(projectDir, ioScheduler.bulk());
+        return manifests.merge(projectName, loaded,
+            (current, candidate) -> current.root().equals(projectDir) ? current : candidate);
+    }
+
+    static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        var buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * The manifest of a project directory.
+     *
+     * @param lock serializes refreshes, a lock rather than a monitor so that a virtual thread
+     * hashing files does not pin its carrier
+     */
+    record Manifest(Path root, NavigableMap<String, ProjectManifestEntry> entries,
+                    Set<Path> pending, Scheduler scheduler, ReentrantLock lock) {
+
+        static Manifest load(Path root, Scheduler scheduler) {
+            var manifest = new Manifest(root, new ConcurrentSkipListMap<>(),
+                ConcurrentHashMap.newKeySet(), scheduler, new ReentrantLock());
+            var manifestFile = root.resolve(METADATA_DIR).resolve(MANIFEST_FILE);
+            try {
+                List<ProjectManifestEntry> entries = JsonUtils.mapper()
+                    .readValue(manifestFile.toFile(), new TypeReference<>() {
+                    });
+                entries.forEach(entry -> manifest.entries().put(entry.path(), entry));
+                return manifest;
+            } catch (NoSuchFileException | FileNotFoundException e) {
+                log.debug("No manifest found in {}", root);
+            } catch (IOException e) {
+                log.warn("Failed to read manifest of {}, rebuilding it", root, e);
+            }
+            if (Files.isDirectory(root)) {
+                manifest.refreshLater(root);
+            }
+            return manifest;
+        }
+
+        /**
+         * Refreshes the path in the background unless a refresh of it is already pending. A
+         * refresh that already started does not count, it may have missed the change.
+         */
+        void refreshLater(Path path) {
+            if (!pending.add(path)) {
+                return;
+            }
+            scheduler.schedule(() -> {
+                pending.remove(path);
+                try {
+                    refresh(path);
+                } catch (IOException e) {
+                    log.warn("Failed to update manifest of {} for {}", root, path, e);
+                }
+            });
+        }
+
+        /**
+         * Re-hashes the changed file or directory and persists the manifest.
+         */
+        void refresh(Path path) throws IOException {
+            if (!path.startsWith(root) || isMetadataPath(root, path)) {
+                return;
+            }
+            lock.lock();
+            try {
+                doRefresh(path);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void doRefresh(Path path) throws IOException {
+            var updated = new ArrayList<ProjectManifestEntry>();
+            if (Files.exists(path)) {
+                // The project directory is a link to its current release
+                Files.walkFileTree(path, EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+                    Integer.MAX_VALUE, new SimpleFileVisitor<>() {
+                        @Override
+                        public FileVisitResult preVisitDirectory(Path dir,
+                            BasicFileAttributes attrs) {
+                            return isMetadataPath(root, dir) ? FileVisitResult.SKIP_SUBTREE
+                                : FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                            throws IOException {
+                            if (!attrs.isRegularFile()) {
+                                return FileVisitResult.CONTINUE;
+                            }
+                            var key = ProjectFileIndex.toKey(root, file);
+                            var lastModified = attrs.lastModifiedTime().toMillis();
+                            var existing = entries.get(key);
+                            if (existing != null && existing.size() == attrs.size()
+                                && existing.lastModified() == lastModified) {
+                                updated.add(existing);
+                            } else {
+                                updated.add(new ProjectManifestEntry(key, attrs.size(),
+                                    lastModified, sha256(file)));
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+            }
+            if (path.equals(root)) {
+                entries.clear();
+            } else {
+                var key = ProjectFileIndex.toKey(root, path);
+                entries.remove(key);
+                entries.subMap(key + "/", true, key + "/" + Character.MAX_VALUE, true).clear();
+            }
+            updated.forEach(entry -> entries.put(entry.path(), entry));
+            save();
+        }
+
+        private void save() throws IOException {
+            if (!Files.isDirectory(root)) {
+                return;
+            }
+            var metadataDir = root.resolve(METADATA_DIR);
+            Files.createDirectories(metadataDir);
+            var manifestFile = metadataDir.resolve(MANIFEST_FILE);
+            var temp = Files.createTempFile(metadataDir, MANIFEST_FILE, ".tmp");
+            try {
+                JsonUtils.mapper().writeValue(temp.toFile(), List.copyOf(entries.values()));
+                Files.move(temp, manifestFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
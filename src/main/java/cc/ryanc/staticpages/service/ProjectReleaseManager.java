@@ -0,0 +1,378 @@
+package cc.ryanc.staticpages.service;
+
+import cc.ryanc.staticpages.extensions.Project;
+import cc.ryanc.staticpages.model.ProjectRelease;
+import cc.ryanc.staticpages.service.AssetPrecompressor.ContentCoding;
+import cc.ryanc.staticpages.utils.ArchiveSource;
+import cc.ryanc.staticpages.utils.ExtractionLimits;
+import cc.ryanc.staticpages.utils.FileUtils;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.app.infra.BackupRootGetter;
+
+/**
+ * Manages the releases of projects.
+ *
+ * <p>Every deploy is extracted into its own release directory under
+ * {@code <work-dir>/static-pages/releases/<project>}, and the project directory in the static
+ * root is a symbolic link to the current release. Switching releases replaces the link with a
+ * single atomic rename, so it takes constant time and visitors see either the old or the new
+ * release. Files the deploy does not contain are hard linked from the current release, so a
+ * release is always complete and unchanged files are stored once.
+ *
+ * <p>The release directories are the source of truth, {@link Project.Status#getCurrentRelease()}
+ * mirrors the link for display. Only the newest {@link #DEFAULT_HISTORY_LIMIT} releases are kept
+ * unless configured otherwise, older ones are pruned in the background.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectReleaseManager {
+    static final int DEFAULT_HISTORY_LIMIT = 5;
+
+    private static final DateTimeFormatter RELEASE_NAME_FORMATTER =
+        DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS").withZone(ZoneOffset.UTC);
+    private static final Pattern RELEASE_NAME_PATTERN = Pattern.compile("^\\d{17}(-\\d+)?$");
+
+    /**
+     * Orders release names from the newest to the oldest, by their timestamp and then by the
+     * suffix of releases created within the same millisecond, so {@code -10} comes after
+     * {@code -9}.
+     */
+    static final Comparator<String> NEWEST_FIRST =
+        Comparator.comparing((String name) -> name.substring(0, 17))
+            .thenComparingLong(ProjectReleaseManager::parseSuffix)
+            .reversed();
+
+    private final ReactiveExtensionClient client;
+    private final BackupRootGetter backupRootGetter;
+    private final ProjectBlobStore blobStore;
+    private final ProjectIoScheduler ioScheduler;
+
+    /**
+     * Extracts the archive content into a new release and switches the project directory to it.
+     *
+     * <p>The new release, including the files carried over from the current release, must fit
+     * into the storage quota of the project, otherwise the deploy is aborted and nothing is
+     * switched.
+     *
+     * <p>The archive is extracted into a staging directory of its own first. Only switching the
+     * project goes through {@link ProjectIoScheduler#limit(String, Mono)}, so a slow upload
+     * holds no permit while it is received.
+     *
+     * @param deletions paths relative to the project directory that are not carried over from
+     * the current release, unless the archive contains them
+     * @return the name of the new release
+     */
+    public Mono<String> deploy(Project project, Path projectDir, ArchiveSource source,
+        Collection<String> deletions) {
+        var projectName = project.getMetadata().getName();
+        var releasesDir = getReleasesDir(projectName);
+        var excludes = toExcludedKeys(deletions);
+        return Mono.usingWhen(FileUtils.createTempDir(getStagingRoot(), "release-",
+                    ioScheduler.bulk()),
+                stagingDir -> source.extractTo(stagingDir, extractionLimitsOf(project),
+                        ioScheduler.bulk())
+                    .then(ioScheduler.limit(projectName, Mono.fromCallable(() -> {
+                            if (project.getSpec().isDeduplicate()) {
+                                // Carried over files are linked to their blobs already
+                                var reused = blobStore.deduplicate(stagingDir);
+                                log.debug("Deduplicated {} files of project {}", reused,
+                                    projectName);
+                            }
+                            if (Files.exists(projectDir)) {
+                                FileUtils.linkMissing(projectDir, stagingDir, excludes);
+                            }
+                            checkStorageQuota(project, FileUtils.sizeOf(stagingDir));
+                            FileUtils.createIfAbsent(releasesDir);
+                            var releaseDir = newReleaseDir(releasesDir, Instant.now());
+                            Files.move(stagingDir, releaseDir, StandardCopyOption.ATOMIC_MOVE);
+                            pointTo(projectDir, releaseDir);
+                            return releaseDir.getFileName().toString();
+                        })
+                        .subscribeOn(ioScheduler.bulk())
+                        .flatMap(release -> updateCurrentRelease(projectName, release)
+                            .thenReturn(release)))),
+                stagingDir -> Mono.fromRunnable(
+                        () -> FileUtils.deleteRecursivelyAndSilently(stagingDir))
+                    .subscribeOn(ioScheduler.bulk())
+            )
+            .doOnSuccess(release -> pruneLater(project, projectDir));
+    }
+
+    /**
+     * Gets the extraction limits of a project, the total size is bounded by its storage quota.
+     */
+    public static ExtractionLimits extractionLimitsOf(Project project) {
+        var quota = project.getSpec().getStorageQuota();
+        return quota == null ? ExtractionLimits.DEFAULT
+            : ExtractionLimits.DEFAULT.withMaxTotalSize(quota);
+    }
+
+    /**
+     * Checks the size the project files would have against the storage quota of the project.
+     */
+    public static void checkStorageQuota(Project project, long size) {
+        var quota = project.getSpec().getStorageQuota();
+        if (quota != null && size > quota) {
+            throw new ServerWebInputException(
+                "项目文件大小 " + size + " 字节超出存储配额 " + quota + " 字节");
+        }
+    }
+
+    /**
+     * Switches the project directory to an existing release.
+     */
+    public Mono<Void> activate(Project project, Path projectDir, String release) {
+        var projectName = project.getMetadata().getName();
+        return Mono.fromCallable(() -> {
+                var releaseDir = getReleaseDir(projectName, release);
+                pointTo(projectDir, releaseDir);
+                return release;
+            })
+            .subscribeOn(ioScheduler.bulk())
+            .flatMap(name -> updateCurrentRelease(projectName, name));
+    }
+
+    /**
+     * Switches the project directory to the release deployed before the current one.
+     *
+     * @return the name of the release rolled back to
+     */
+    public Mono<String> rollback(Project project, Path projectDir) {
+        return Mono.fromCallable(() -> {
+                var releases = listReleases(project.getMetadata().getName(), projectDir);
+                for (int i = 0; i < releases.size() - 1; i++) {
+                    if (releases.get(i).current()) {
+                        return releases.get(i + 1).name();
+                    }
+                }
+                throw new ServerWebInputException("没有可回滚的发布版本");
+            })
+            .subscribeOn(ioScheduler.bulk())
+            .flatMap(release -> activate(project, projectDir, release).thenReturn(release));
+    }
+
+    /**
+     * Lists the releases of a project, newest first.
+     */
+    public List<ProjectRelease> listReleases(String projectName, Path projectDir)
+        throws IOException {
+        var releasesDir = getReleasesDir(projectName);
+        if (!Files.isDirectory(releasesDir)) {
+            return List.of();
+        }
+        var current = getCurrentRelease(projectDir);
+        var releases = new ArrayList<ProjectRelease>();
+        try (Stream<Path> dirs = Files.list(releasesDir)) {
+            dirs.filter(Files::isDirectory)
+                .map(dir -> dir.getFileName().toString())
+                .filter(name -> RELEASE_NAME_PATTERN.matcher(name).matches())
+                .sorted(NEWEST_FIRST)
+                .forEach(name -> releases.add(new ProjectRelease(name, parseCreationTime(name),
+                    name.equals(current))));
+        }
+        return releases;
+    }
+
+    /**
+     * Deletes all releases of a project.
+     */
+    public void deleteReleases(String projectName) {
+        FileUtils.deleteRecursivelyAndSilently(getReleasesDir(projectName));
+        blobStore.collectGarbageLater();
+    }
+
+    /**
+     * Extraction happens here before releases are moved into place, it is in Halo's work
+     * directory next to the releases so that moving a release is a rename.
+     */
+    public Path getStagingRoot() {
+        return getPluginDataRoot().resolve("staging");
+    }
+
+    /**
+     * Normalizes deleted paths, a deleted file takes its precompressed variants along.
+     */
+    static Set<String> toExcludedKeys(Collection<String> deletions) {
+        var keys = new HashSet<String>();
+        for (String deletion : deletions) {
+            var key = StringUtils.strip(deletion.trim(), "/");
+            if (key.isEmpty()) {
+                continue;
+            }
+            for (String segment : key.split("/")) {
+                if (segment.isEmpty() || ".".equals(segment) || "..".equals(segment)) {
+                    throw new ServerWebInputException("删除路径不合法: " + deletion);
+                }
+            }
+            keys.add(key);
+            for (ContentCoding coding : ContentCoding.values()) {
+                keys.add(key + coding.extension());
+            }
+        }
+        return keys;
+    }
+
+    @Nullable
+    static String getCurrentRelease(Path projectDir) throws IOException {
+        if (!Files.isSymbolicLink(projectDir)) {
+            return null;
+        }
+        return Files.readSymbolicLink(projectDir).getFileName().toString();
+    }
+
+    /**
+     * Atomically points the project directory to the release directory.
+     */
+    static void pointTo(Path projectDir, Path releaseDir) throws IOException {
+        FileUtils.createIfAbsent(projectDir.getParent());
+        var link = projectDir.resolveSibling(
+            "." + projectDir.getFileName() + ".link-" + UUID.randomUUID());
+        Files.createSymbolicLink(link, releaseDir.toAbsolutePath());
+        Path retiredDir = null;
+        try {
+            if (Files.isDirectory(projectDir, LinkOption.NOFOLLOW_LINKS)) {
+                // Deployed in place before releases existed, a link cannot replace a directory
+                retiredDir = retire(projectDir, releaseDir.getParent());
+            }
+            Files.move(link, projectDir, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(link);
+        }
+        if (retiredDir != null) {
+            FileUtils.deleteRecursivelyAndSilently(retiredDir);
+        }
+    }
+
+    /**
+     * Moves a project directory that predates releases out of the way, keeping it as the oldest
+     * release where possible.
+     *
+     * @return the directory to delete once the link is in place, or null if it was kept
+     */
+    @Nullable
+    private static Path retire(Path projectDir, Path releasesDir) throws IOException {
+        var lastModified = Files.getLastModifiedTime(projectDir).toInstant();
+        try {
+            Files.move(projectDir, newReleaseDir(releasesDir, lastModified),
+                StandardCopyOption.ATOMIC_MOVE);
+            return null;
+        } catch (AtomicMoveNotSupportedException e) {
+            // On another file store, its files were copied into the new release already
+            var retiredDir = projectDir.resolveSibling(
+                "." + projectDir.getFileName() + ".retired-" + UUID.randomUUID());
+            Files.move(projectDir, retiredDir, StandardCopyOption.ATOMIC_MOVE);
+            return retiredDir;
+        }
+    }
+
+    private static Path newReleaseDir(Path releasesDir, Instant creationTime) {
+        var name = RELEASE_NAME_FORMATTER.format(creationTime);
+        var releaseDir = releasesDir.resolve(name);
+        for (int i = 1; Files.exists(releaseDir); i++) {
+            releaseDir = releasesDir.resolve(name + "-" + i);
+        }
+        return releaseDir;
+    }
+
+    private static Instant parseCreationTime(String release) {
+        var timestamp = release.substring(0, 17);
+        return RELEASE_NAME_FORMATTER.parse(timestamp, Instant::from);
+    }
+
+    private static long parseSuffix(String release) {
+        return release.length() > 18 ? Long.parseLong(release.substring(18)) : 0;
+    }
+
+    private Path getReleaseDir(String projectName, String release) {
+        if (!RELEASE_NAME_PATTERN.matcher(release).matches()) {
+            throw new ServerWebInputException("发布版本不存在");
+        }
+        var releaseDir = getReleasesDir(projectName).resolve(release);
+        if (!Files.isDirectory(releaseDir)) {
+            throw new ServerWebInputException("发布版本不存在");
+        }
+        return releaseDir;
+    }
+
+    private void pruneLater(Project project, Path projectDir) {
+        var projectName = project.getMetadata().getName();
+        var limit = project.getSpec().getReleaseHistoryLimit();
+        var keep = limit == null || limit < 1 ? DEFAULT_HISTORY_LIMIT : limit;
+        ioScheduler.bulk().schedule(() -> {
+            try {
+                prune(getReleasesDir(projectName), getCurrentRelease(projectDir), keep);
+            } catch (IOException e) {
+                log.warn("Failed to prune releases of project {}", projectName, e);
+            }
+            blobStore.collectGarbageLater();
+        });
+    }
+
+    /**
+     * Deletes all but the newest releases, the current release is always kept.
+     */
+    static void prune(Path releasesDir, @Nullable String current, int keep) throws IOException {
+        List<String> names;
+        try (Stream<Path> dirs = Files.list(releasesDir)) {
+            names = dirs.map(dir -> dir.getFileName().toString())
+                .filter(name -> RELEASE_NAME_PATTERN.matcher(name).matches())
+                .sorted(NEWEST_FIRST)
+                .toList();
+        }
+        for (int i = keep; i < names.size(); i++) {
+            if (names.get(i).equals(current)) {
+                continue;
+            }
+            log.debug("Pruning release {} in {}", names.get(i), releasesDir);
+            FileUtils.deleteRecursivelyAndSilently(releasesDir.resolve(names.get(i)));
+        }
+    }
+
+    private Mono<Void> updateCurrentRelease(String projectName, String release) {
+        return Mono.defer(() -> client.get(Project.class, projectName)
+                .flatMap(project -> {
+                    project.getStatus().setCurrentRelease(release);
+                    return client.update(project);
+                }))
+            .retryWhen(Retry.backoff(8, Duration.ofMillis(100))
+                .filter(OptimisticLockingFailureException.class::isInstance))
+            .then();
+    }
+
+    private Path getReleasesDir(String projectName) {
+        return getPluginDataRoot().resolve("releases").resolve(projectName);
+    }
+
+    private Path getPluginDataRoot() {
+        return backupRootGetter.get().getParent().resolve("static-pages");
+    }
+}
@@ -0,0 +1,186 @@
+package cc.ryanc.staticpages.service;
+
+import static cc.ryanc.staticpages.utils.FileUtils.checkDirectoryTraversal;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import cc.ryanc.staticpages.model.ProjectResource;
+import cc.ryanc.staticpages.service.AssetPrecompressor.ContentCoding;
+import cc.ryanc.staticpages.service.ProjectRewriteRules.ProjectRules;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves a request path of a project to a file in the project directory.
+ *
+ * <p>Candidates are tried in order: the request path itself, the directory index of the request
+ * path and then the targets of the matching rewrite rules. Existence is decided by
+ * {@link ProjectFileIndex}, so only the winning file is read from disk. The result, including
+ * misses, is remembered in {@link RewriteResolutionCache}.
+ *
+ * <p>When the client accepts it, a fresh precompressed sibling of the resolved file is served
+ * instead of the file itself. The entity tag is taken from {@link ProjectManifestStore}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectResourceResolver {
+    private static final String INDEX_FILE = "index.html";
+
+    private final PageProjectService pageProjectService;
+    private final RewriteResolutionCache resolutionCache;
+    private final ProjectFileIndex fileIndex;
+    private final ProjectManifestStore manifestStore;
+    private final ProjectIoScheduler ioScheduler;
+
+    /**
+     * Resolves the file of the request path.
+     *
+     * @param acceptEncoding the value of the {@code Accept-Encoding} request header
+     */
+    public Mono<ProjectResource> resolve(ProjectRules project, PathContainer requestPath,
+        @Nullable String acceptEncoding) {
+        return Mono.fromCallable(() -> {
+                var projectDir = pageProjectService.determinePath(project.directory());
+                var resource = doResolve(project, projectDir, requestPath);
+                if (resource == null) {
+                    return null;
+                }
+                var hash = manifestStore.getHash(project.name(), projectDir, resource.file(),
+                    resource.size(), resource.lastModified().toEpochMilli());
+                return negotiateEncoding(project, projectDir, resource.withETag(hash),
+                    acceptEncoding);
+            })
+            .subscribeOn(ioScheduler.interactive());
+    }
+
+    @Nullable
+    private ProjectResource doResolve(ProjectRules project, Path projectDir,
+        PathContainer requestPath) {
+        var rawPath = requestPath.value();
+        var cached = resolutionCache.get(project, rawPath);
+        if (cached != null) {
+            if (cached.isNotFound()) {
+                return null;
+            }
+            var resource = readRegularFile(project, projectDir, cached.file());
+            if (resource != null) {
+                return resource;
+            }
+            resolutionCache.evict(rawPath);
+        }
+
+        for (String candidate : candidates(project, requestPath)) {
+            var file = toFile(projectDir, project.rootPath(), candidate);
+            if (file == null || !fileIndex.exists(project.name(), projectDir, file)) {
+                continue;
+            }
+            var resource = readRegularFile(project, projectDir, file);
+            if (resource == null) {
+                // The file was removed outside the plugin, the index is stale
+                fileIndex.invalidate(project.name());
+                continue;
+            }
+            resolutionCache.putResolved(project, rawPath, file);
+            return resource;
+        }
+        resolutionCache.putNotFound(project, rawPath);
+        return null;
+    }
+
+    private ProjectResource negotiateEncoding(ProjectRules project, Path projectDir,
+        ProjectResource resource, @Nullable String acceptEncoding) {
+        if (acceptEncoding == null || !AssetPrecompressor.isCompressible(resource.mediaType())) {
+            return resource;
+        }
+        for (ContentCoding coding : ContentCoding.values()) {
+            if (!AssetPrecompressor.acceptsEncoding(acceptEncoding, coding)) {
+                continue;
+            }
+            var variant = coding.variantOf(resource.file());
+            if (!fileIndex.exists(project.name(), projectDir, variant)) {
+                continue;
+            }
+            var variantResource = readRegularFile(project, projectDir, variant);
+            // A variant older than the file itself is stale
+            if (variantResource != null
+                && !variantResource.lastModified().isBefore(resource.lastModified())) {
+                return resource.withEncodedVariant(variant, variantResource.size(),
+                    coding.coding());
+            }
+        }
+        return resource;
+    }
+
+    private static List<String> candidates(ProjectRules project, PathContainer requestPath) {
+        var normalizedPath = normalizePath(requestPath);
+        var candidates = new ArrayList<String>();
+        candidates.add(normalizedPath.value());
+        candidates.add(normalizedPath.value() + "/" + INDEX_FILE);
+        candidates.addAll(project.matchTargets(normalizedPath));
+        return candidates;
+    }
+
+    /**
+     * Maps a request path within the project root to a file in the project directory.
+     *
+     * @return the file or null if the path is not within the project directory
+     */
+    @Nullable
+    static Path toFile(Path projectDir, String rootPath, String rawPath) {
+        var decodedPath = UriUtils.decode(rawPath, UTF_8);
+        if (!decodedPath.startsWith(rootPath)) {
+            return null;
+        }
+        var relativePath = StringUtils.stripStart(decodedPath.substring(rootPath.length()), "/");
+        var file = projectDir.resolve(relativePath).normalize();
+        try {
+            checkDirectoryTraversal(projectDir, file);
+        } catch (ServerWebInputException e) {
+            return null;
+        }
+        if (ProjectManifestStore.isMetadataPath(projectDir, file)) {
+            return null;
+        }
+        return file;
+    }
+
+    @Nullable
+    private static ProjectResource readRegularFile(ProjectRules project, Path projectDir,
+        Path file) {
+        try {
+            // A single stat call for the existence check and the response metadata
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return null;
+            }
+            var mediaType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+            var path = project.rootPath() + "/" + ProjectFileIndex.toKey(projectDir, file);
+            return new ProjectResource(project.name(), path, file, attributes.size(),
+                attributes.lastModifiedTime().toInstant(), mediaType, null, null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static PathContainer normalizePath(PathContainer pathContainer) {
+        if (pathContainer.value().endsWith("/")) {
+            // Remove trailing slash
+            return pathContainer.subPath(0, pathContainer.elements().size() - 1);
+        }
+        return pathContainer;
+    }
+}
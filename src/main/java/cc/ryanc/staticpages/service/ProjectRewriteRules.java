@@ -2,25 +2,47 @@ package cc.ryanc.staticpages.service;
 
 import cc.ryanc.staticpages.extensions.Project;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import lombok.Builder;
-import lombok.Getter;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.pattern.PathPattern;
 import org.springframework.web.util.pattern.PathPatternParser;
+import run.halo.app.extension.MetadataUtil;
 import run.halo.app.infra.utils.PathUtils;
 
+/**
+ * Holds the compiled rewrite and response header rules of all projects.
+ *
+ * <p>Rules are parsed once when a project is reconciled and published as an immutable
+ * {@link RewriteIndex}, so the request path only reads a volatile reference and evaluates the
+ * rules of the project that owns the request.
+ */
 @Component
 public class ProjectRewriteRules {
-    private final Map<SimpleProject, List<PathPattern>> projectPatterns = new ConcurrentHashMap<>();
-    @Getter
-    private final Map<PathPattern, String> rewriteRules = new ConcurrentHashMap<>();
+    static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /**
+     * Matches a dot or dash followed by a content hash right before the extension of an asset,
+     * never a page. The hash is either lowercase hex of at least 8 characters with a digit, e.g.
+     * {@code main.3f9a1c2e.js}, or base64url of at least 8 characters mixing upper and lower
+     * case letters with a letter following a digit, e.g. {@code index-B2x9QkLm.css}. Words
+     * ending in a number such as {@code chapter10} or {@code Chapter10} are neither.
+     */
+    private static final Pattern FINGERPRINT = Pattern.compile(
+        "[.-](?:(?=[a-f0-9]*\\d)[a-f0-9]{8,}"
+            + "|(?=[A-Za-z0-9_]*\\d[A-Za-z])(?=[A-Za-z0-9_]*[a-z])(?=[A-Za-z0-9_]*[A-Z])"
+            + "[A-Za-z0-9_]{8,})"
+            + "\\.(?:m?js|css|woff2?|ttf|otf|eot|png|jpe?g|gif|webp|avif|svg|ico|wasm)$");
+
+    private final Map<String, ProjectRules> projectRules = new ConcurrentHashMap<>();
     private final PathPatternParser patternParser = PathPatternParser.defaultInstance;
+    private volatile RewriteIndex index = RewriteIndex.EMPTY;
 
     private static List<Project.Rewrite> getRulesWithDefault(Project project) {
         var rules = new ArrayList<Project.Rewrite>();
@@ -39,79 +61,134 @@ public class ProjectRewriteRules {
         return rules;
     }
 
-    public void updateRules(Project project) {
-        var rules = getRulesWithDefault(project);
-
-        var simpleProject = SimpleProject.builder()
-            .name(project.getMetadata().getName())
-            .rootPath(project.getSpec().getDirectory())
-            .build();
-        removeRule(simpleProject);
-        for (Project.Rewrite rule : rules) {
-            var source = sourceInProject(project, rule.getSource());
+    public synchronized void updateRules(Project project) {
+        var rules = new ArrayList<RewriteRule>();
+        for (Project.Rewrite rule : getRulesWithDefault(project)) {
+            var source = patternParser.parse(sourceInProject(project, rule.getSource()));
             var targetPath = sourceInProject(project, rule.getTarget());
-            addRule(simpleProject, source, targetPath);
+            rules.add(new RewriteRule(source, targetPath));
+        }
+        // Stable sort keeps the declared order for rules with the same specificity
+        rules.sort(Comparator.comparing(RewriteRule::source, PathPattern.SPECIFICITY_COMPARATOR));
+
+        var headerRules = new ArrayList<ResponseHeaderRule>();
+        if (project.getSpec().getHeaders() != null) {
+            for (Project.HeaderRule rule : project.getSpec().getHeaders()) {
+                var source = patternParser.parse(sourceInProject(project, rule.getSource()));
+                var headers = new HttpHeaders();
+                if (rule.getHeaders() != null) {
+                    rule.getHeaders().forEach(header -> headers.set(header.getName(),
+                        header.getValue()));
+                }
+                headerRules.add(new ResponseHeaderRule(source, HttpHeaders.readOnlyHttpHeaders(
+                    headers)));
+            }
         }
-    }
 
-    public void removeRules(Project project) {
-        var simpleProject = SimpleProject.builder()
-            .name(project.getMetadata().getName())
-            .rootPath(project.getSpec().getDirectory())
-            .build();
-        removeRule(simpleProject);
+        var name = project.getMetadata().getName();
+        var rootPath = PathUtils.combinePath(project.getSpec().getDirectory());
+        // Files are served from the source directory until a move across file stores completes
+        var directory = MetadataUtil.nullSafeAnnotations(project).getOrDefault(
+            ProjectDirectoryMover.MOVING_FROM_ANNO, project.getSpec().getDirectory());
+        projectRules.put(name, new ProjectRules(name, rootPath, directory, List.copyOf(rules),
+            List.copyOf(headerRules), project.getSpec().isImmutableAssets()));
+        rebuildIndex();
     }
 
-    public Set<String> getProjectRootPaths() {
-        return projectPatterns.keySet()
-            .stream()
-            .map(SimpleProject::rootPath)
-            .collect(Collectors.toSet());
+    public synchronized void removeRules(Project project) {
+        if (projectRules.remove(project.getMetadata().getName()) != null) {
+            rebuildIndex();
+        }
     }
 
-    void addRule(SimpleProject project, String key, String value) {
-        PathPattern pattern = patternParser.parse(key);
-        projectPatterns.compute(project, (k, v) -> {
-            if (v == null) {
-                v = new ArrayList<>();
-            }
-            v.add(pattern);
-            return v;
-        });
-        rewriteRules.put(pattern, value);
+    /**
+     * Finds the project whose root path is a segment-wise prefix of the given request path.
+     *
+     * @param requestPath request path within application
+     * @return the compiled rules of the owning project or null if no project matches
+     */
+    @Nullable
+    public ProjectRules findProject(String requestPath) {
+        return index.findProject(requestPath);
     }
 
-    void removeRule(SimpleProject project) {
-        var patterns = projectPatterns.remove(project);
-        if (patterns == null) {
-            return;
-        }
-        for (PathPattern pattern : patterns) {
-            rewriteRules.remove(pattern);
-        }
+    static boolean isFingerprinted(String filePath) {
+        var fileName = filePath.substring(filePath.lastIndexOf('/') + 1);
+        return FINGERPRINT.matcher(fileName).find();
     }
 
     String sourceInProject(Project project, String source) {
         return PathUtils.combinePath(project.getSpec().getDirectory(), source);
     }
 
-    @Builder
-    record SimpleProject(String name, String rootPath) {
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
+    private void rebuildIndex() {
+        this.index = new RewriteIndex(ProjectRootTrie.build(projectRules.values()));
+    }
+
+    public record RewriteRule(PathPattern source, String target) {
+    }
+
+    public record ResponseHeaderRule(PathPattern source, HttpHeaders headers) {
+    }
+
+    /**
+     * Compiled rules of a single project. Rewrite rules are ordered from the most specific
+     * pattern to the least specific one, header rules keep their declared order.
+     *
+     * @param rootPath the request path the project is served at
+     * @param directory the directory the files are served from, it differs from the root path
+     * while the project directory is moved
+     */
+    public record ProjectRules(String name, String rootPath, String directory,
+                               List<RewriteRule> rules,
+                               List<ResponseHeaderRule> headerRules, boolean immutableAssets) {
+
+        /**
+         * Applies the headers of all rules matching the given file path in declared order, a
+         * later rule overrides a header set by an earlier one.
+         *
+         * <p>With {@code spec.immutableAssets}, fingerprinted assets such as
+         * {@code app.3f9a1c2e.js} are marked as immutable unless a rule sets
+         * {@code Cache-Control} for them.
+         *
+         * @param filePath the path of the served file, starting with the project root path
+         */
+        public void applyHeaders(String filePath, HttpHeaders responseHeaders) {
+            boolean cacheControlSet = false;
+            if (!headerRules.isEmpty()) {
+                var path = PathContainer.parsePath(filePath);
+                for (ResponseHeaderRule rule : headerRules) {
+                    if (rule.source().matches(path)) {
+                        responseHeaders.putAll(rule.headers());
+                        cacheControlSet |= rule.headers().containsKey(HttpHeaders.CACHE_CONTROL);
+                    }
+                }
             }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
+            if (immutableAssets && !cacheControlSet && isFingerprinted(filePath)) {
+                responseHeaders.setCacheControl(IMMUTABLE_CACHE_CONTROL);
             }
-            SimpleProject that = (SimpleProject) o;
-            return Objects.equals(name, that.name);
         }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(name);
+        /**
+         * Collects the targets of all rules matching the given path in evaluation order.
+         */
+        public List<String> matchTargets(PathContainer path) {
+            var targets = new ArrayList<String>(2);
+            for (RewriteRule rule : rules) {
+                if (rule.source().matches(path)) {
+                    targets.add(rule.target());
+                }
+            }
+            return targets;
+        }
+    }
+
+    record RewriteIndex(ProjectRootTrie roots) {
+        static final RewriteIndex EMPTY = new RewriteIndex(ProjectRootTrie.EMPTY);
+
+        @Nullable
+        ProjectRules findProject(String requestPath) {
+            return roots.find(requestPath);
         }
     }
 }
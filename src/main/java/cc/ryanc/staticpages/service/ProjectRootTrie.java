@@ -0,0 +1,129 @@
+package cc.ryanc.staticpages.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import cc.ryanc.staticpages.service.ProjectRewriteRules.ProjectRules;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * An immutable segment-based trie of project root paths.
+ *
+ * <p>Lookups walk the request path segment by segment without allocating, and a project only
+ * claims a path on a segment boundary, so {@code /docs} never claims {@code /docs-old}. When
+ * project roots are nested, the deepest root wins.
+ */
+final class ProjectRootTrie {
+    static final ProjectRootTrie EMPTY = new ProjectRootTrie(new Node("", null, new Node[0]));
+
+    private final Node root;
+
+    private ProjectRootTrie(Node root) {
+        this.root = root;
+    }
+
+    static ProjectRootTrie build(Iterable<ProjectRules> projects) {
+        var builder = new NodeBuilder("");
+        for (ProjectRules project : projects) {
+            var node = builder;
+            for (String segment : StringUtils.split(project.rootPath(), '/')) {
+                // Request paths are matched in their raw (encoded) form
+                var encoded = UriUtils.encodePathSegment(segment, UTF_8);
+                node = node.children.computeIfAbsent(encoded, NodeBuilder::new);
+            }
+            node.value = project;
+        }
+        return new ProjectRootTrie(builder.build());
+    }
+
+    /**
+     * Finds the project with the deepest root path that is a segment-wise prefix of the given
+     * raw request path.
+     */
+    @Nullable
+    ProjectRules find(String path) {
+        var node = root;
+        var matched = node.value;
+        int length = path.length();
+        int start = 0;
+        while (node.children.length > 0) {
+            while (start < length && path.charAt(start) == '/') {
+                start++;
+            }
+            if (start >= length) {
+                break;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.child(path, start, end);
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                matched = node.value;
+            }
+            start = end;
+        }
+        return matched;
+    }
+
+    /**
+     * Compares the segment with the region {@code [start, end)} of the path in the same way as
+     * {@link String#compareTo(String)}.
+     */
+    static int compareRegion(String segment, String path, int start, int end) {
+        int regionLength = end - start;
+        int limit = Math.min(segment.length(), regionLength);
+        for (int i = 0; i < limit; i++) {
+            int diff = segment.charAt(i) - path.charAt(start + i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return segment.length() - regionLength;
+    }
+
+    private record Node(String segment, @Nullable ProjectRules value, Node[] children) {
+
+        @Nullable
+        Node child(String path, int start, int end) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compareRegion(children[mid].segment, path, start, end);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class NodeBuilder {
+        private final String segment;
+        // Sorted so that the frozen children can be binary searched
+        private final Map<String, NodeBuilder> children = new TreeMap<>();
+        private ProjectRules value;
+
+        NodeBuilder(String segment) {
+            this.segment = segment;
+        }
+
+        Node build() {
+            var frozen = children.values().stream()
+                .map(NodeBuilder::build)
+                .toArray(Node[]::new);
+            return new Node(segment, value, frozen);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package cc.ryanc.staticpages.service;
+
+import cc.ryanc.staticpages.event.ProjectFilesChangedEvent;
+import cc.ryanc.staticpages.service.ProjectRewriteRules.ProjectRules;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which file a request path resolved to, and which paths could not be resolved at
+ * all, so repeated requests skip the path and rewrite candidates.
+ *
+ * <p>Entries are evicted in LRU order once {@link #MAX_ENTRIES} is reached and expire after
+ * {@link #TTL}, misses already after {@link #NOT_FOUND_TTL} because files added outside the
+ * plugin raise no event. An entry is only valid for the exact {@link ProjectRules} instance it was
+ * resolved against, so rule changes invalidate it implicitly; file changes of a project bump
+ * the project generation which invalidates all entries of that project in O(1).
+ */
+@Component
+public class RewriteResolutionCache {
+    static final int MAX_ENTRIES = 10_000;
+    static final Duration TTL = Duration.ofMinutes(10);
+    static final Duration NOT_FOUND_TTL = Duration.ofSeconds(30);
+
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private final Duration notFoundTtl;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public RewriteResolutionCache() {
+        this(NOT_FOUND_TTL);
+    }
+
+    RewriteResolutionCache(Duration notFoundTtl) {
+        this.notFoundTtl = notFoundTtl;
+    }
+
+    /**
+     * Gets the cached resolution of the given request path.
+     *
+     * @return null if nothing is cached, otherwise the resolution which is
+     * {@link Resolution#isNotFound() not found} for negatively cached paths
+     */
+    @Nullable
+    public Resolution get(ProjectRules project, String requestPath) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(requestPath);
+        }
+        if (entry == null) {
+            return null;
+        }
+        if (entry.project() != project
+            || entry.generation() != generation(project.name())
+            || System.nanoTime() - entry.expiresAt() > 0) {
+            evict(requestPath, entry);
+            return null;
+        }
+        return entry.resolution();
+    }
+
+    public void putResolved(ProjectRules project, String requestPath, Path file) {
+        put(project, requestPath, new Resolution(file));
+    }
+
+    public void putNotFound(ProjectRules project, String requestPath) {
+        put(project, requestPath, Resolution.NOT_FOUND);
+    }
+
+    public void evict(String requestPath) {
+        synchronized (entries) {
+            entries.remove(requestPath);
+        }
+    }
+
+    public void invalidate(String projectName) {
+        generations.merge(projectName, 1L, Long::sum);
+    }
+
+    @EventListener(ProjectFilesChangedEvent.class)
+    public void onProjectFilesChanged(ProjectFilesChangedEvent event) {
+        invalidate(event.getProjectName());
+    }
+
+    private void put(ProjectRules project, String requestPath, Resolution resolution) {
+        var ttl = resolution.isNotFound() ? notFoundTtl : TTL;
+        var entry = new Entry(project, generation(project.name()), resolution,
+            System.nanoTime() + ttl.toNanos());
+        synchronized (entries) {
+            entries.put(requestPath, entry);
+        }
+    }
+
+    private void evict(String requestPath, Entry staleEntry) {
+        synchronized (entries) {
+            entries.remove(requestPath, staleEntry);
+        }
+    }
+
+    private long generation(String projectName) {
+        return generations.getOrDefault(projectName, 0L);
+    }
+
+    /**
+     * The resolved file of a request path, a null file means that nothing could be resolved.
+     */
+    public record Resolution(@Nullable Path file) {
+        static final Resolution NOT_FOUND = new Resolution(null);
+
+        public boolean isNotFound() {
+            return file == null;
+        }
+    }
+
+    private record Entry(ProjectRules project, long generation, Resolution resolution,
+                         long expiresAt) {
+    }
+}
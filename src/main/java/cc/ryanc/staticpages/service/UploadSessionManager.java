@@ -0,0 +1,364 @@
+package cc.ryanc.staticpages.service;
+
+import cc.ryanc.staticpages.model.UploadSession;
+import cc.ryanc.staticpages.utils.FileUtils;
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import run.halo.app.infra.BackupRootGetter;
+import run.halo.app.infra.utils.JsonUtils;
+
+/**
+ * Manages resumable chunked uploads.
+ *
+ * <p>The content of a session is spooled to {@code <work-dir>/static-pages/uploads/<id>.part}.
+ * Chunks are written at their offset, so they may arrive in any order and concurrently, and a
+ * chunk is only acknowledged once its length and optional SHA-256 checksum are verified. The
+ * session, including the acknowledged chunks, is persisted next to the spool file, so uploads
+ * can be resumed after a dropped connection or a restart. A session is completed once at a
+ * time and takes no more chunks meanwhile. Sessions without activity for {@link #SESSION_TTL}
+ * are removed by a sweep every {@link #SWEEP_INTERVAL}. At most
+ * {@link #MAX_SESSIONS_PER_PROJECT} sessions are open per project, so the spool files of a
+ * project cannot pile up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadSessionManager implements InitializingBean, DisposableBean {
+    static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    static final Duration SESSION_TTL = Duration.ofHours(24);
+    static final Duration SWEEP_INTERVAL = Duration.ofHours(1);
+    static final int MAX_SESSIONS_PER_PROJECT = 4;
+
+    private static final Pattern SESSION_ID_PATTERN = Pattern.compile("^[0-9a-f-]{36}$");
+    private static final String SPOOL_SUFFIX = ".part";
+    private static final String SESSION_SUFFIX = ".json";
+
+    private final BackupRootGetter backupRootGetter;
+    private final ProjectIoScheduler ioScheduler;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Set<String> completing = ConcurrentHashMap.newKeySet();
+    /**
+     * Serialize the saves of each session, locks rather than monitors so that a virtual thread
+     * writing the session does not pin its carrier.
+     */
+    private final Map<String, ReentrantLock> saveLocks = new ConcurrentHashMap<>();
+
+    private Disposable sweeper;
+
+    @Override
+    public void afterPropertiesSet() {
+        sweeper = Flux.interval(SWEEP_INTERVAL, SWEEP_INTERVAL)
+            .onBackpressureDrop()
+            .concatMap(tick -> Mono.fromRunnable(this::removeExpired)
+                .subscribeOn(ioScheduler.bulk())
+                .onErrorResume(e -> {
+                    log.warn("Failed to remove expired upload sessions", e);
+                    return Mono.empty();
+                }))
+            .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (sweeper != null) {
+            sweeper.dispose();
+        }
+    }
+
+    /**
+     * Starts a session, the settings of the final upload are fixed at this point.
+     *
+     * @param chunkSize the requested chunk size, or null for the default
+     */
+    public Mono<UploadSession> create(String projectName, String filename, long size,
+        @Nullable Integer chunkSize, boolean unzip, @Nullable String dir,
+        List<String> deletions) {
+        if (size < 0) {
+            return Mono.error(new ServerWebInputException("文件大小不合法"));
+        }
+        if (chunkSize != null && (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE)) {
+            return Mono.error(new ServerWebInputException(
+                "分片大小必须在 1 到 " + MAX_CHUNK_SIZE + " 字节之间"));
+        }
+        return Mono.fromCallable(() -> {
+                removeExpired();
+                var open = sessions.values().stream()
+                    .filter(other -> other.getProjectName().equals(projectName))
+                    .count();
+                if (open >= MAX_SESSIONS_PER_PROJECT) {
+                    throw new ServerWebInputException(
+                        "未完成的上传会话过多，请先完成或删除已有的会话");
+                }
+                var session = new UploadSession();
+                session.setId(UUID.randomUUID().toString());
+                session.setProjectName(projectName);
+                session.setFilename(filename);
+                session.setSize(size);
+                session.setChunkSize(Objects.requireNonNullElse(chunkSize, DEFAULT_CHUNK_SIZE));
+                session.setUnzip(unzip);
+                session.setDir(dir);
+                session.setDeletions(deletions);
+                session.setCreationTimestamp(Instant.now());
+                FileUtils.createIfAbsent(getUploadsDir());
+                Files.createFile(getSpoolFile(session));
+                save(session);
+                sessions.put(session.getId(), session);
+                return session;
+            })
+            .subscribeOn(ioScheduler.interactive());
+    }
+
+    public Mono<UploadSession> get(String projectName, String id) {
+        return Mono.fromCallable(() -> getSession(projectName, id))
+            .subscribeOn(ioScheduler.interactive());
+    }
+
+    /**
+     * Writes a chunk at the given offset and acknowledges it.
+     *
+     * @param offset the offset of the chunk, a multiple of the chunk size
+     * @param sha256 the hex encoded SHA-256 checksum of the chunk, or null to skip verification
+     */
+    public Mono<UploadSession> writeChunk(String projectName, String id, long offset,
+        @Nullable String sha256, Flux<DataBuffer> content) {
+        return get(projectName, id).flatMap(session -> {
+            if (completing.contains(session.getId())) {
+                return Mono.error(completingError());
+            }
+            if (offset < 0 || offset >= session.getSize()
+                || offset % session.getChunkSize() != 0) {
+                return Mono.error(new ServerWebInputException("分片偏移量不合法: " + offset));
+            }
+            var chunk = (int) (offset / session.getChunkSize());
+            var expectedLength = session.getChunkLength(chunk);
+            var digest = newSha256Digest();
+            var received = new AtomicLong();
+            // Never write past the chunk, it would overwrite the next one
+            var body = DataBufferUtils.takeUntilByteCount(content, expectedLength)
+                .doOnNext(buffer -> {
+                    received.addAndGet(buffer.readableByteCount());
+                    try (var iterator = buffer.readableByteBuffers()) {
+                        iterator.forEachRemaining(digest::update);
+                    }
+                });
+            return Mono.usingWhen(
+                    Mono.fromCallable(() -> AsynchronousFileChannel.open(getSpoolFile(session),
+                            StandardOpenOption.WRITE))
+                        .subscribeOn(ioScheduler.interactive()),
+                    channel -> DataBufferUtils.write(body, channel, offset)
+                        .doOnNext(DataBufferUtils.releaseConsumer())
+                        .then(),
+                    channel -> Mono.fromRunnable(() -> FileUtils.closeQuietly(channel))
+                )
+                .then(Mono.fromCallable(() -> {
+                    if (received.get() != expectedLength) {
+                        throw new ServerWebInputException(
+                            "分片长度不正确，应为 " + expectedLength + " 字节");
+                    }
+                    var actual = HexFormat.of().formatHex(digest.digest());
+                    if (sha256 != null && !sha256.equalsIgnoreCase(actual)) {
+                        throw new ServerWebInputException("分片校验失败，请重新上传该分片");
+                    }
+                    if (completing.contains(session.getId())) {
+                        throw completingError();
+                    }
+                    var lock = saveLocks.computeIfAbsent(session.getId(),
+                        key -> new ReentrantLock());
+                    lock.lock();
+                    try {
+                        session.getReceivedChunks().add(chunk);
+                        save(session);
+                    } finally {
+                        lock.unlock();
+                    }
+                    return session;
+                }).subscribeOn(ioScheduler.interactive()));
+        });
+    }
+
+    /**
+     * Verifies that all chunks were received and claims the session for completing it, so a
+     * retried or concurrent request cannot deploy the upload twice. The claim is given up by
+     * {@link #release(UploadSession)} if completing fails, or ends with
+     * {@link #delete(UploadSession)}.
+     */
+    public Mono<UploadSession> complete(String projectName, String id) {
+        return get(projectName, id).handle((session, sink) -> {
+            if (!session.isComplete()) {
+                sink.error(new ServerWebInputException(
+                    "上传尚未完成，已连续接收 " + session.getUploadedBytes() + " 字节"));
+                return;
+            }
+            if (!completing.add(session.getId())) {
+                sink.error(completingError());
+                return;
+            }
+            sink.next(session);
+        });
+    }
+
+    /**
+     * Gives up the claim of {@link #complete(String, String)}, the session may be completed
+     * again.
+     */
+    public void release(UploadSession session) {
+        completing.remove(session.getId());
+    }
+
+    public Mono<Void> delete(UploadSession session) {
+        return Mono.fromRunnable(() -> {
+                sessions.remove(session.getId());
+                saveLocks.remove(session.getId());
+                deleteFiles(session.getId());
+                completing.remove(session.getId());
+            })
+            .subscribeOn(ioScheduler.interactive())
+            .then();
+    }
+
+    public Path getSpoolFile(UploadSession session) {
+        return getUploadsDir().resolve(session.getId() + SPOOL_SUFFIX);
+    }
+
+    private UploadSession getSession(String projectName, String id) throws IOException {
+        if (!SESSION_ID_PATTERN.matcher(id).matches()) {
+            throw new ServerWebInputException("上传会话不存在或已过期");
+        }
+        var session = sessions.get(id);
+        if (session == null) {
+            session = load(id);
+            if (session != null) {
+                sessions.putIfAbsent(id, session);
+                session = sessions.get(id);
+            }
+        }
+        if (session == null || !session.getProjectName().equals(projectName)) {
+            throw new ServerWebInputException("上传会话不存在或已过期");
+        }
+        return session;
+    }
+
+    @Nullable
+    private UploadSession load(String id) throws IOException {
+        var sessionFile = getUploadsDir().resolve(id + SESSION_SUFFIX);
+        try {
+            return JsonUtils.mapper().readValue(sessionFile.toFile(), UploadSession.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            if (Files.notExists(sessionFile)) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private void save(UploadSession session) throws IOException {
+        var sessionFile = getUploadsDir().resolve(session.getId() + SESSION_SUFFIX);
+        var tempFile = sessionFile.resolveSibling(sessionFile.getFileName() + ".tmp");
+        JsonUtils.mapper().writeValue(tempFile.toFile(), session);
+        Files.move(tempFile, sessionFile, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Removes the sessions without activity for {@link #SESSION_TTL}, and spool files whose
+     * session was never saved.
+     */
+    void removeExpired() {
+        var uploadsDir = getUploadsDir();
+        if (!Files.isDirectory(uploadsDir)) {
+            return;
+        }
+        var expiredBefore = Instant.now().minus(SESSION_TTL);
+        try (Stream<Path> files = Files.list(uploadsDir)) {
+            files.map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(SESSION_SUFFIX) || name.endsWith(SPOOL_SUFFIX))
+                .map(name -> name.substring(0, name.lastIndexOf('.')))
+                .distinct()
+                .filter(id -> !completing.contains(id))
+                .filter(id -> isExpired(id, expiredBefore))
+                .forEach(id -> {
+                    log.debug("Removing expired upload session {}", id);
+                    sessions.remove(id);
+                    saveLocks.remove(id);
+                    deleteFiles(id);
+                });
+        } catch (IOException e) {
+            log.warn("Failed to remove expired upload sessions", e);
+        }
+    }
+
+    private boolean isExpired(String id, Instant expiredBefore) {
+        var sessionFile = getUploadsDir().resolve(id + SESSION_SUFFIX);
+        var file = Files.exists(sessionFile) ? sessionFile
+            : getUploadsDir().resolve(id + SPOOL_SUFFIX);
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(expiredBefore);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static ResponseStatusException completingError() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "上传会话正在完成中");
+    }
+
+    private void deleteFiles(String id) {
+        try {
+            Files.deleteIfExists(getUploadsDir().resolve(id + SPOOL_SUFFIX));
+            Files.deleteIfExists(getUploadsDir().resolve(id + SESSION_SUFFIX));
+        } catch (IOException e) {
+            log.warn("Failed to delete files of upload session {}", id, e);
+        }
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private Path getUploadsDir() {
+        return backupRootGetter.get().getParent().resolve("static-pages").resolve("uploads");
+    }
+}
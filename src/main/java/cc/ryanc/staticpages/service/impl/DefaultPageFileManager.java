@@ -1,21 +1,51 @@
 package cc.ryanc.staticpages.service.impl;
 
+import cc.ryanc.staticpages.model.ProjectFileText;
 import cc.ryanc.staticpages.service.PageFileManager;
+import cc.ryanc.staticpages.service.ProjectIoScheduler;
 import cc.ryanc.staticpages.utils.FileUtils;
+import cc.ryanc.staticpages.utils.PathLocks;
 import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collection;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.util.FileSystemUtils;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class DefaultPageFileManager implements PageFileManager {
+    /**
+     * The permissions of a file written for the first time, those of the usual umask 022.
+     */
+    private static final Set<PosixFilePermission> NEW_FILE_PERMISSIONS =
+        PosixFilePermissions.fromString("rw-r--r--");
+
+    private final ProjectIoScheduler ioScheduler;
+    private final PathLocks locks = new PathLocks(64);
 
     private static void validateRegularFile(Path path) {
         if (!Files.isRegularFile(path)) {
@@ -23,65 +53,187 @@ public class DefaultPageFileManager implements PageFileManager {
         }
     }
 
+    private static void validateReadableFile(Path path) {
+        validateRegularFile(path);
+        if (!Files.isReadable(path)) {
+            throw new ServerWebInputException("文件不可读");
+        }
+    }
+
     @Override
-    public Mono<String> readString(Path path) {
+    public Mono<ProjectFileText> readString(Path path, long maxSize) {
         return Mono.fromCallable(() -> {
-                validateRegularFile(path);
-                if (!Files.isReadable(path)) {
-                    throw new ServerWebInputException("文件不可读");
-                }
+                validateReadableFile(path);
                 try {
-                    return Files.readString(path, StandardCharsets.UTF_8);
+                    // Taken before reading, a concurrent replace makes the version stale
+                    // rather than letting a later write overwrite unseen changes
+                    var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attributes.size() > maxSize) {
+                        throw new ServerWebInputException(
+                            "文件大小超过在线编辑上限 " + maxSize + " 字节");
+                    }
+                    var content = Files.readString(path, StandardCharsets.UTF_8);
+                    return new ProjectFileText(content, FileUtils.versionOf(attributes));
                 } catch (IOException e) {
                     log.error("Failed to read file", e);
                     throw new ServerWebInputException("此文件类型不支持读取", null, e);
                 }
             })
-            .subscribeOn(Schedulers.boundedElastic());
+            .subscribeOn(ioScheduler.interactive());
     }
 
     @Override
-    public Mono<Void> writeString(Path path, String content) {
-        return Mono.fromRunnable(() -> {
+    public Mono<String> writeString(Path path, String content,
+        @Nullable Collection<String> expectedVersions) {
+        return Mono.fromCallable(() -> {
                 validateRegularFile(path);
                 if (!Files.isWritable(path)) {
                     throw new ServerWebInputException("文件不可写");
                 }
                 try {
-                    Files.writeString(path, content, StandardCharsets.UTF_8);
+                    // Replaces the file, it may be hard linked into older releases
+                    var tempFile = createReplacement(path);
+                    try {
+                        Files.writeString(tempFile, content, StandardCharsets.UTF_8);
+                        var lock = locks.get(path);
+                        lock.lock();
+                        try {
+                            if (expectedVersions != null
+                                && !expectedVersions.contains(FileUtils.versionOf(path))) {
+                                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                                    "文件已被修改，请重新加载后再保存");
+                            }
+                            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING,
+                                StandardCopyOption.ATOMIC_MOVE);
+                            return FileUtils.versionOf(path);
+                        } finally {
+                            lock.unlock();
+                        }
+                    } finally {
+                        Files.deleteIfExists(tempFile);
+                    }
                 } catch (IOException e) {
                     log.error("Failed to write file", e);
                     throw new ServerWebInputException("写入文件失败, 请稍后重试", null, e);
                 }
             })
-            .subscribeOn(Schedulers.boundedElastic())
+            .subscribeOn(ioScheduler.interactive());
+    }
+
+    /**
+     * Creates the temporary file that is moved over the given file. Temporary files are only
+     * accessible by their owner, so the permissions of the replaced file are carried over.
+     */
+    private static Path createReplacement(Path path) throws IOException {
+        var tempFile = Files.createTempFile(path.getParent(), ".write-", ".tmp");
+        var view = Files.getFileAttributeView(tempFile, PosixFileAttributeView.class);
+        if (view == null) {
+            return tempFile;
+        }
+        try {
+            Set<PosixFilePermission> permissions;
+            try {
+                permissions = Files.getPosixFilePermissions(path);
+            } catch (NoSuchFileException e) {
+                permissions = NEW_FILE_PERMISSIONS;
+            }
+            view.setPermissions(permissions);
+            return tempFile;
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<DataBuffer> read(Path path, long position, long length) {
+        return Mono.fromRunnable(() -> validateReadableFile(path))
+            .subscribeOn(ioScheduler.interactive())
+            .thenMany(DataBufferUtils.takeUntilByteCount(
+                DataBufferUtils.readAsynchronousFileChannel(
+                    () -> AsynchronousFileChannel.open(path, StandardOpenOption.READ), position,
+                    DefaultDataBufferFactory.sharedInstance, FileUtils.COPY_BUFFER_SIZE),
+                length));
+    }
+
+    @Override
+    public Mono<Void> write(Path path, Publisher<DataBuffer> content) {
+        // Replaces the file, it may be hard linked into older releases
+        return Mono.usingWhen(
+                Mono.fromCallable(() -> {
+                        if (Files.isDirectory(path)) {
+                            throw new ServerWebInputException("仅支持操作文件类型");
+                        }
+                        FileUtils.createIfAbsent(path.getParent());
+                        return createReplacement(path);
+                    })
+                    .subscribeOn(ioScheduler.interactive()),
+                tempFile -> DataBufferUtils.write(content, tempFile)
+                    .then(Mono.fromCallable(() -> {
+                            var lock = locks.get(path);
+                            lock.lock();
+                            try {
+                                return Files.move(tempFile, path,
+                                    StandardCopyOption.REPLACE_EXISTING,
+                                    StandardCopyOption.ATOMIC_MOVE);
+                            } finally {
+                                lock.unlock();
+                            }
+                        })
+                        .subscribeOn(ioScheduler.interactive())),
+                tempFile -> FileUtils.deleteFileSilently(tempFile, ioScheduler.interactive())
+            )
             .then();
     }
 
     @Override
     public Mono<Void> createFile(Path filePath, boolean dir) {
         return Mono.fromRunnable(() -> {
-                if (Files.exists(filePath)) {
-                    throw new ServerWebInputException("文件已存在");
-                }
+                var lock = locks.get(filePath);
+                lock.lock();
                 try {
-                    if (!Files.exists(filePath.getParent())) {
-                        Files.createDirectories(filePath.getParent());
-                    }
-                    if (dir) {
-                        Files.createDirectory(filePath);
-                    } else {
-                        Files.createFile(filePath);
-                    }
-                } catch (IOException e) {
-                    log.error("Failed to create file", e);
-                    throw new ServerWebInputException("创建文件失败, 请稍后重试", null, e);
+                    doCreateFile(filePath, dir);
+                } finally {
+                    lock.unlock();
                 }
             })
-            .subscribeOn(Schedulers.boundedElastic())
+            .subscribeOn(ioScheduler.interactive())
             .then();
     }
 
+    private static void doCreateFile(Path filePath, boolean dir) {
+        if (Files.exists(filePath)) {
+            throw new ServerWebInputException("文件已存在");
+        }
+        try {
+            if (!Files.exists(filePath.getParent())) {
+                Files.createDirectories(filePath.getParent());
+            }
+            if (dir) {
+                Files.createDirectory(filePath);
+            } else {
+                Files.createFile(filePath);
+            }
+        } catch (IOException e) {
+            log.error("Failed to create file", e);
+            throw new ServerWebInputException("创建文件失败, 请稍后重试", null, e);
+        }
+    }
+
+    @Override
+    public Mono<Boolean> delete(Path path) {
+        return Mono.fromCallable(() -> {
+                var lock = locks.get(path);
+                lock.lock();
+                try {
+                    return FileSystemUtils.deleteRecursively(path);
+                } finally {
+                    lock.unlock();
+                }
+            })
+            .subscribeOn(ioScheduler.interactive());
+    }
+
     @Override
     public Mono<Void> move(Path source, Path target) {
         return Mono.fromRunnable(() -> {
@@ -94,6 +246,18 @@ public class DefaultPageFileManager implements PageFileManager {
                     if (!Files.exists(target.getParent())) {
                         Files.createDirectories(target.getParent());
                     }
+                    if (Files.isSymbolicLink(source)) {
+                        // The project directory is a link to its current release
+                        Files.deleteIfExists(target);
+                        Files.move(source, target);
+                        return;
+                    }
+                    if (FileUtils.isSameFileStore(source, target)) {
+                        // A rename, the directory is never visible half moved
+                        Files.deleteIfExists(target);
+                        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                        return;
+                    }
                     if (Files.isDirectory(source) && !Files.exists(target)) {
                         Files.createDirectories(target);
                     }
@@ -104,7 +268,7 @@ public class DefaultPageFileManager implements PageFileManager {
                     throw new IllegalStateException("移动文件或文件夹失败, 请稍后重试", e);
                 }
             })
-            .subscribeOn(Schedulers.boundedElastic())
+            .subscribeOn(ioScheduler.bulk())
             .then();
     }
 }
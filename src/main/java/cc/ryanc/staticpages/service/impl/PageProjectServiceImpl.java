@@ -1,35 +1,58 @@
 package cc.ryanc.staticpages.service.impl;
 
 import static cc.ryanc.staticpages.utils.FileUtils.checkDirectoryTraversal;
-import static java.nio.file.StandardOpenOption.CREATE;
 
+import cc.ryanc.staticpages.event.ProjectFilesChangedEvent;
 import cc.ryanc.staticpages.extensions.Project;
+import cc.ryanc.staticpages.model.EditorSetting;
 import cc.ryanc.staticpages.model.ProjectFile;
+import cc.ryanc.staticpages.model.ProjectFileContent;
+import cc.ryanc.staticpages.model.ProjectFilePage;
+import cc.ryanc.staticpages.model.ProjectFileQuery;
+import cc.ryanc.staticpages.model.ProjectFileText;
+import cc.ryanc.staticpages.model.ProjectManifestEntry;
+import cc.ryanc.staticpages.model.ProjectRelease;
 import cc.ryanc.staticpages.model.UploadContext;
+import cc.ryanc.staticpages.model.UploadSession;
+import cc.ryanc.staticpages.service.AssetPrecompressor;
 import cc.ryanc.staticpages.service.PageFileManager;
 import cc.ryanc.staticpages.service.PageProjectService;
+import cc.ryanc.staticpages.service.ProjectIoScheduler;
+import cc.ryanc.staticpages.service.ProjectManifestStore;
+import cc.ryanc.staticpages.service.ProjectReleaseManager;
+import cc.ryanc.staticpages.service.UploadSessionManager;
+import cc.ryanc.staticpages.utils.ArchiveSource;
 import cc.ryanc.staticpages.utils.FileUtils;
-import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.util.FileSystemUtils;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebInputException;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import run.halo.app.extension.ReactiveExtensionClient;
 import run.halo.app.infra.BackupRootGetter;
+import run.halo.app.plugin.ReactiveSettingFetcher;
 
 @Component
 @RequiredArgsConstructor
@@ -37,55 +60,17 @@ public class PageProjectServiceImpl implements PageProjectService {
     private final ReactiveExtensionClient client;
     private final BackupRootGetter backupRootGetter;
     private final PageFileManager pageFileManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AssetPrecompressor assetPrecompressor;
+    private final ProjectReleaseManager releaseManager;
+    private final ProjectManifestStore manifestStore;
+    private final UploadSessionManager uploadSessionManager;
+    private final ReactiveSettingFetcher settingFetcher;
+    private final ProjectIoScheduler ioScheduler;
 
-    private static String getType(File file) {
-        String name = file.getName();
-        if (file.isDirectory()) {
-            return "directory";
-        } else {
-            int lastIndexOf = name.lastIndexOf(".");
-            if (lastIndexOf == -1) {
-                // empty extension
-                return "";
-            }
-            return name.substring(lastIndexOf + 1);
-        }
-    }
-
-    private static Flux<ProjectFile> doListFiles(Path pathToList) {
-        return Flux.<ProjectFile>create(sink -> {
-                File directory = pathToList.toFile();
-                if (!directory.exists()) {
-                    sink.complete();
-                    return;
-                }
-                if (!directory.isDirectory()) {
-                    sink.error(new ServerWebInputException("The path is not a directory."));
-                    return;
-                }
-                File[] files = directory.listFiles();
-                if (files == null) {
-                    sink.complete();
-                    return;
-                }
-                for (File file : files) {
-                    if (sink.isCancelled()) {
-                        break;
-                    }
-                    var projectFile = new ProjectFile()
-                        .setPath(file.getAbsolutePath())
-                        .setDirectory(file.isDirectory())
-                        .setName(file.getName())
-                        .setSize(file.length())
-                        .setType(getType(file))
-                        .setCanRead(file.canRead())
-                        .setCanWrite(file.canWrite())
-                        .setLastModifiedTime(Instant.ofEpochMilli(file.lastModified()));
-                    sink.next(projectFile);
-                }
-                sink.complete();
-            })
-            .subscribeOn(Schedulers.boundedElastic());
+    private Mono<ProjectFilePage> doListFiles(Path pathToList, ProjectFileQuery query) {
+        return Mono.fromCallable(() -> ProjectFileListing.list(pathToList, query))
+            .subscribeOn(ioScheduler.interactive());
     }
 
     static Path concatPath(Path root, String... segments) {
@@ -108,56 +93,201 @@ public class PageProjectServiceImpl implements PageProjectService {
     @Override
     public Mono<Path> upload(UploadContext uploadContext) {
         return client.get(Project.class, uploadContext.getName())
-            .map(project -> extractProjectFilePath(project, uploadContext.getDir()))
-            .flatMap(storePath -> writeToFile(storePath, uploadContext));
+            .flatMap(project -> {
+                var storePath = extractProjectFilePath(project, uploadContext.getDir());
+                var projectDir = determineProjectPath(project.getSpec().getDirectory());
+                var deploy = uploadContext.isUnzip() && storePath.equals(projectDir);
+                var deletions = Objects.requireNonNullElse(uploadContext.getDeletions(),
+                    List.<String>of());
+                if (!deploy && !deletions.isEmpty()) {
+                    return Mono.error(
+                        new ServerWebInputException("仅在解压部署整个项目时支持删除文件"));
+                }
+                var upload = deploy
+                    // A deploy of the whole project
+                    ? releaseManager.deploy(project, projectDir, archiveSourceOf(uploadContext),
+                        deletions)
+                        .thenReturn(projectDir)
+                    : writeToFile(project, projectDir, storePath, uploadContext);
+                return upload
+                    .flatMap(path -> precompressIfEnabled(project, path)
+                        .then(publishFilesChanged(project, path))
+                        .thenReturn(path));
+            });
     }
 
     @Override
-    public Flux<ProjectFile> listFiles(String name, String directoryPath) {
+    public Mono<UploadSession> createUploadSession(String projectName, String filename,
+        long size, @Nullable Integer chunkSize, boolean unzip, @Nullable String dir,
+        List<String> deletions) {
+        return client.get(Project.class, projectName)
+            .flatMap(project -> {
+                // Rejected up front rather than once the whole upload is on disk
+                var maxSize = ProjectReleaseManager.extractionLimitsOf(project).maxTotalSize();
+                if (size > maxSize) {
+                    return Mono.error(new ServerWebInputException(
+                        "上传的文件大小超过限制 " + maxSize + " 字节"));
+                }
+                return uploadSessionManager.create(projectName, filename, size, chunkSize,
+                    unzip, dir, deletions);
+            });
+    }
+
+    @Override
+    public Mono<Path> completeUploadSession(String projectName, String sessionId) {
+        return uploadSessionManager.complete(projectName, sessionId)
+            .flatMap(session -> {
+                var spoolFile = uploadSessionManager.getSpoolFile(session);
+                var context = UploadContext.builder()
+                    .name(projectName)
+                    .filename(session.getFilename())
+                    .unzip(session.isUnzip())
+                    .dir(session.getDir())
+                    .deletions(session.getDeletions());
+                if (session.isUnzip()) {
+                    // Extracted from the spool file directly, it is not copied again
+                    context.archive(spoolFile);
+                } else {
+                    context.content(DataBufferUtils.read(spoolFile,
+                        DefaultDataBufferFactory.sharedInstance, FileUtils.COPY_BUFFER_SIZE));
+                }
+                // The session is kept on failure so that completing can be retried
+                return upload(context.build())
+                    .flatMap(path -> uploadSessionManager.delete(session).thenReturn(path))
+                    .doFinally(signal -> uploadSessionManager.release(session));
+            });
+    }
+
+    @Override
+    public Mono<ProjectFilePage> listFiles(String name, ProjectFileQuery query) {
         return client.get(Project.class, name)
-            .map(project -> extractProjectFilePath(project, directoryPath))
-            .flatMapMany(PageProjectServiceImpl::doListFiles);
+            .map(project -> extractProjectFilePath(project, query.path()))
+            .flatMap(path -> doListFiles(path, query));
     }
 
     @Override
-    public Mono<Boolean> deleteFile(String projectName, String path) {
+    public Flux<ProjectFile> walkFiles(String projectName, @Nullable String path, int maxDepth,
+        @Nullable String glob) {
         return client.get(Project.class, projectName)
             .map(project -> extractProjectFilePath(project, path))
-            .flatMap(filePath -> Mono.fromCallable(
-                    () -> FileSystemUtils.deleteRecursively(filePath))
-                .subscribeOn(Schedulers.boundedElastic())
-            );
+            .flatMapMany(directory -> ProjectFileListing.walk(directory, maxDepth, glob,
+                ioScheduler.interactive()));
     }
 
     @Override
-    public Mono<String> readFileContent(String projectName, String path) {
+    public Mono<Boolean> deleteFile(String projectName, String path) {
+        return client.get(Project.class, projectName)
+            .flatMap(project -> {
+                var filePath = extractProjectFilePath(project, path);
+                return pageFileManager.delete(filePath)
+                    .flatMap(deleted -> publishFilesChanged(project, filePath).thenReturn(deleted));
+            });
+    }
+
+    @Override
+    public Mono<ProjectFileText> readFileContent(String projectName, String path) {
         return client.get(Project.class, projectName)
             .map(project -> extractProjectFilePath(project, path))
-            .flatMap(pageFileManager::readString);
+            .zipWith(getMaxEditableBytes())
+            .flatMap(tuple -> pageFileManager.readString(tuple.getT1(), tuple.getT2()));
+    }
+
+    @Override
+    public Mono<String> writeContent(String projectName, String path, String content,
+        @Nullable Collection<String> expectedVersions) {
+        return client.get(Project.class, projectName)
+            .zipWith(getMaxEditableBytes())
+            .flatMap(tuple -> {
+                var project = tuple.getT1();
+                var maxSize = tuple.getT2();
+                if (content.length() > maxSize
+                    || content.getBytes(StandardCharsets.UTF_8).length > maxSize) {
+                    return Mono.error(new ServerWebInputException(
+                        "文件大小超过在线编辑上限 " + maxSize + " 字节"));
+                }
+                var filePath = extractProjectFilePath(project, path);
+                return pageFileManager.writeString(filePath, content, expectedVersions)
+                    .flatMap(version -> precompressIfEnabled(project, filePath)
+                        .then(publishFilesChanged(project, filePath))
+                        .thenReturn(version));
+            });
     }
 
     @Override
-    public Mono<Void> writeContent(String projectName, String path, String content) {
+    public Mono<ProjectFileContent> readFile(String projectName, String path,
+        @Nullable HttpRange range) {
         return client.get(Project.class, projectName)
             .map(project -> extractProjectFilePath(project, path))
-            .flatMap(filePath -> pageFileManager.writeString(filePath, content));
+            .flatMap(filePath -> Mono.fromCallable(() -> {
+                    if (!Files.isRegularFile(filePath)) {
+                        throw new ServerWebInputException("仅支持操作文件类型");
+                    }
+                    return Files.size(filePath);
+                })
+                .subscribeOn(ioScheduler.interactive())
+                .map(size -> {
+                    if (range == null) {
+                        return new ProjectFileContent(size, 0, size,
+                            pageFileManager.read(filePath, 0, size));
+                    }
+                    long start;
+                    long end;
+                    try {
+                        start = range.getRangeStart(size);
+                        end = range.getRangeEnd(size);
+                    } catch (IllegalArgumentException e) {
+                        throw new ResponseStatusException(
+                            HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, e.getMessage());
+                    }
+                    var length = end - start + 1;
+                    return new ProjectFileContent(size, start, length,
+                        pageFileManager.read(filePath, start, length));
+                }));
+    }
+
+    @Override
+    public Mono<Void> writeFile(String projectName, String path, Flux<DataBuffer> content) {
+        return client.get(Project.class, projectName)
+            .flatMap(project -> {
+                var filePath = extractProjectFilePath(project, path);
+                var projectDir = determineProjectPath(project.getSpec().getDirectory());
+                return Mono.fromCallable(() -> getRemainingQuota(project, projectDir))
+                    .subscribeOn(ioScheduler.bulk())
+                    .flatMap(remainingQuota -> pageFileManager.write(filePath,
+                        limitSize(content, remainingQuota)))
+                    .then(precompressIfEnabled(project, filePath))
+                    .then(publishFilesChanged(project, filePath));
+            });
+    }
+
+    private Mono<Long> getMaxEditableBytes() {
+        return settingFetcher.fetch(EditorSetting.GROUP, EditorSetting.class)
+            .defaultIfEmpty(new EditorSetting(null))
+            .map(EditorSetting::getMaxEditableBytes);
     }
 
     @Override
     public Mono<Path> createFile(String projectName, String path, boolean dir) {
         return client.get(Project.class, projectName)
-            .map(project -> extractProjectFilePath(project, path))
-            .flatMap(filePath -> pageFileManager.createFile(filePath, dir).thenReturn(filePath));
+            .flatMap(project -> {
+                var filePath = extractProjectFilePath(project, path);
+                return pageFileManager.createFile(filePath, dir)
+                    .then(publishFilesChanged(project, filePath))
+                    .thenReturn(filePath);
+            });
     }
 
     @Override
     public Mono<Void> deleteProject(Project project) {
         Assert.notNull(project, "The project must not be null.");
-        return Mono.fromCallable(() -> {
+        var projectName = project.getMetadata().getName();
+        return ioScheduler.limit(projectName, Mono.fromCallable(() -> {
                 var path = determineProjectPath(project.getSpec().getDirectory());
                 FileSystemUtils.deleteRecursively(path);
+                releaseManager.deleteReleases(projectName);
                 return Mono.empty();
             })
+            .subscribeOn(ioScheduler.bulk()))
             .then();
     }
 
@@ -166,6 +296,74 @@ public class PageProjectServiceImpl implements PageProjectService {
         return determineProjectPath(directory);
     }
 
+    @Override
+    public Flux<ProjectManifestEntry> getManifest(String projectName) {
+        return client.get(Project.class, projectName)
+            .flatMapIterable(project -> {
+                var projectDir = determineProjectPath(project.getSpec().getDirectory());
+                try {
+                    return manifestStore.getEntries(projectName, projectDir);
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                }
+            })
+            .subscribeOn(ioScheduler.interactive());
+    }
+
+    @Override
+    public Flux<ProjectRelease> listReleases(String projectName) {
+        return client.get(Project.class, projectName)
+            .flatMapIterable(project -> {
+                var projectDir = determineProjectPath(project.getSpec().getDirectory());
+                try {
+                    return releaseManager.listReleases(projectName, projectDir);
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                }
+            })
+            .subscribeOn(ioScheduler.interactive());
+    }
+
+    @Override
+    public Mono<Void> activateRelease(String projectName, String release) {
+        return client.get(Project.class, projectName)
+            .flatMap(project -> {
+                var projectDir = determineProjectPath(project.getSpec().getDirectory());
+                // Serialized with deploys, which switch the project directory as well
+                return ioScheduler.limit(projectName,
+                        releaseManager.activate(project, projectDir, release))
+                    .then(publishFilesChanged(project, projectDir));
+            });
+    }
+
+    @Override
+    public Mono<String> rollbackRelease(String projectName) {
+        return client.get(Project.class, projectName)
+            .flatMap(project -> {
+                var projectDir = determineProjectPath(project.getSpec().getDirectory());
+                return ioScheduler.limit(projectName,
+                        releaseManager.rollback(project, projectDir))
+                    .flatMap(release -> publishFilesChanged(project, projectDir)
+                        .thenReturn(release));
+            });
+    }
+
+    private Mono<Void> precompressIfEnabled(Project project, Path path) {
+        if (!project.getSpec().isPrecompress()) {
+            return Mono.empty();
+        }
+        return assetPrecompressor.precompress(path);
+    }
+
+    private Mono<Void> publishFilesChanged(Project project, @Nullable Path path) {
+        var projectName = project.getMetadata().getName();
+        var projectDir = determineProjectPath(project.getSpec().getDirectory());
+        // Listeners may re-read the changed files from disk
+        return Mono.<Void>fromRunnable(() -> eventPublisher.publishEvent(
+                new ProjectFilesChangedEvent(this, projectName, projectDir, path)))
+            .subscribeOn(ioScheduler.interactive());
+    }
+
     Path extractProjectFilePath(Project project, String extractPath) {
         var segments = pathSegments(extractPath);
         return concatPath(determineProjectPath(project.getSpec().getDirectory()), segments);
@@ -176,29 +374,73 @@ public class PageProjectServiceImpl implements PageProjectService {
         return concatPath(getStaticRootPath(), pathSegments(projectDir));
     }
 
-    private Mono<Path> writeToFile(Path storePath, UploadContext uploadContext) {
-        return Mono.fromCallable(() -> {
-                try {
-                    Files.createDirectories(storePath);
-                    return storePath;
-                } catch (IOException e) {
-                    throw Exceptions.propagate(e);
-                }
-            })
-            .subscribeOn(Schedulers.boundedElastic())
-            .flatMap(rootPath -> {
+    private Mono<Path> writeToFile(Project project, Path projectDir, Path storePath,
+        UploadContext uploadContext) {
+        return Mono.fromCallable(() -> getRemainingQuota(project, projectDir))
+            .subscribeOn(ioScheduler.bulk())
+            .flatMap(remainingQuota -> {
                 if (uploadContext.isUnzip()) {
-                    return FileUtils.unzipTo(uploadContext.getFilePart().content(), rootPath)
-                        .thenReturn(rootPath);
+                    var limits = ProjectReleaseManager.extractionLimitsOf(project)
+                        .withMaxTotalSize(remainingQuota);
+                    // Serialized with deploys once the archive is received and extracted
+                    return FileUtils.extractTo(archiveSourceOf(uploadContext), storePath,
+                            releaseManager.getStagingRoot(), limits, ioScheduler.bulk(),
+                            replace -> ioScheduler.limit(project.getMetadata().getName(),
+                                replace))
+                        .thenReturn(storePath);
                 }
-                var filePath = rootPath.resolve(uploadContext.getFilePart().filename());
-                return writeToFile(uploadContext.getFilePart().content(), filePath);
+                return Mono.fromCallable(() -> {
+                        try {
+                            Files.createDirectories(storePath);
+                            return storePath;
+                        } catch (IOException e) {
+                            throw Exceptions.propagate(e);
+                        }
+                    })
+                    .subscribeOn(ioScheduler.interactive())
+                    .flatMap(rootPath -> {
+                        var filePath = rootPath.resolve(uploadContext.getFilename());
+                        var content = limitSize(uploadContext.getContent(), remainingQuota);
+                        return writeToFile(content, filePath);
+                    });
             });
     }
 
+    private static ArchiveSource archiveSourceOf(UploadContext uploadContext) {
+        if (uploadContext.getArchive() != null) {
+            return ArchiveSource.ofFile(uploadContext.getArchive(), uploadContext.getFilename());
+        }
+        return ArchiveSource.of(uploadContext.getContent(), uploadContext.getFilename());
+    }
+
+    /**
+     * Gets the bytes that may still be uploaded into the project. Files replaced by the upload
+     * are not subtracted, so the check errs on the safe side.
+     */
+    private static long getRemainingQuota(Project project, Path projectDir) throws IOException {
+        var quota = project.getSpec().getStorageQuota();
+        if (quota == null) {
+            return Long.MAX_VALUE;
+        }
+        var used = FileUtils.sizeOf(projectDir);
+        ProjectReleaseManager.checkStorageQuota(project, used);
+        return quota - used;
+    }
+
+    private static Flux<DataBuffer> limitSize(Flux<DataBuffer> content, long maxSize) {
+        var received = new AtomicLong();
+        return content.handle((buffer, sink) -> {
+            if (received.addAndGet(buffer.readableByteCount()) > maxSize) {
+                DataBufferUtils.release(buffer);
+                sink.error(new ServerWebInputException("上传的文件超出项目存储配额"));
+                return;
+            }
+            sink.next(buffer);
+        });
+    }
+
     private Mono<Path> writeToFile(Flux<DataBuffer> content, Path targetPath) {
-        return Mono.defer(() -> DataBufferUtils.write(content, targetPath, CREATE))
-            .thenReturn(targetPath);
+        return pageFileManager.write(targetPath, content).thenReturn(targetPath);
     }
 
     private Path getStaticRootPath() {
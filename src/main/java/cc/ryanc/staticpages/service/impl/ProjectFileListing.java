@@ -0,0 +1,348 @@
+package cc.ryanc.staticpages.service.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import cc.ryanc.staticpages.model.ProjectFile;
+import cc.ryanc.staticpages.model.ProjectFilePage;
+import cc.ryanc.staticpages.model.ProjectFileQuery;
+import cc.ryanc.staticpages.service.ProjectManifestStore;
+import cc.ryanc.staticpages.utils.FileUtils;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Lists a project directory page by page, or walks its tree.
+ *
+ * <p>Entries are read from a directory stream with a single attribute read per entry. Only the
+ * entries of the requested page are kept in a bounded heap while streaming, so listing a
+ * directory of many thousand files holds no more than a page in memory. The cursor encodes the
+ * sort key of the last entry of a page, the next page starts after it, so files added or
+ * removed in between neither repeat nor shift entries.
+ */
+final class ProjectFileListing {
+
+    private ProjectFileListing() {
+    }
+
+    static ProjectFilePage list(Path directory, ProjectFileQuery query) throws IOException {
+        if (Files.notExists(directory)) {
+            return new ProjectFilePage(new ArrayList<>(), null);
+        }
+        if (!Files.isDirectory(directory)) {
+            throw new ServerWebInputException("The path is not a directory.");
+        }
+        var comparator = comparator(query.descending());
+        var after = decodeCursor(query);
+        var keyword = StringUtils.lowerCase(StringUtils.trimToNull(query.keyword()), Locale.ROOT);
+        var limit = query.limit() > 0 ? query.limit() : Integer.MAX_VALUE;
+        // The largest entry is on top and dropped once one more than a page is kept
+        var heap = new PriorityQueue<Entry>(
+            Comparator.comparing(Entry::key, comparator).reversed());
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                var name = path.getFileName().toString();
+                if (ProjectManifestStore.METADATA_DIR.equals(name)) {
+                    continue;
+                }
+                if (keyword != null && !name.toLowerCase(Locale.ROOT).contains(keyword)) {
+                    continue;
+                }
+                var attrs = readAttributes(path);
+                if (attrs == null) {
+                    continue;
+                }
+                var entry = new Entry(path, attrs, SortKey.of(query.sort(), name, attrs));
+                if (after != null && comparator.compare(entry.key(), after) <= 0) {
+                    continue;
+                }
+                heap.add(entry);
+                if (heap.size() > limit + 1L) {
+                    heap.poll();
+                }
+            }
+        }
+        var entries = new ArrayList<>(heap);
+        entries.sort(Comparator.comparing(Entry::key, comparator));
+        String nextCursor = null;
+        if (entries.size() > limit) {
+            entries.subList(limit, entries.size()).clear();
+            nextCursor = encodeCursor(query, entries.get(limit - 1).key());
+        }
+        var items = new ArrayList<ProjectFile>(entries.size());
+        for (Entry entry : entries) {
+            items.add(toProjectFile(entry.path(), entry.attrs()));
+        }
+        return new ProjectFilePage(items, nextCursor);
+    }
+
+    /**
+     * Walks the directory tree and emits the entries as they are visited, in directory order.
+     *
+     * <p>The walk runs on a thread of the scheduler and waits for demand before each entry, so
+     * a slow client pauses the walk rather than having the tree buffered for it.
+     *
+     * @param maxDepth the depth to descend to, 1 for the entries of the directory only
+     * @param glob only emits the entries whose path relative to the directory matches it, the
+     * walk still descends into directories that do not match
+     */
+    static Flux<ProjectFile> walk(Path directory, int maxDepth, @Nullable String glob,
+        Scheduler scheduler) {
+        var matcher = matcherOf(glob);
+        return Flux.<ProjectFile>create(sink -> {
+                var demand = new Demand();
+                sink.onRequest(demand::request);
+                sink.onDispose(demand::cancel);
+                try {
+                    if (Files.notExists(directory)) {
+                        sink.complete();
+                        return;
+                    }
+                    if (!Files.isDirectory(directory)) {
+                        sink.error(new ServerWebInputException("The path is not a directory."));
+                        return;
+                    }
+                    // The project directory is a link to its current release
+                    var realDirectory = directory.toRealPath();
+                    Files.walkFileTree(realDirectory, Set.of(), maxDepth,
+                        new SimpleFileVisitor<>() {
+                            @Override
+                            public FileVisitResult preVisitDirectory(Path dir,
+                                BasicFileAttributes attrs) throws IOException {
+                                if (dir.equals(realDirectory)) {
+                                    return FileVisitResult.CONTINUE;
+                                }
+                                if (ProjectManifestStore.METADATA_DIR.equals(
+                                    dir.getFileName().toString())) {
+                                    return FileVisitResult.SKIP_SUBTREE;
+                                }
+                                return emit(dir, attrs);
+                            }
+
+                            @Override
+                            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                                throws IOException {
+                                return emit(file, attrs);
+                            }
+
+                            @Override
+                            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                                // Removed in the meantime or not accessible
+                                return FileVisitResult.CONTINUE;
+                            }
+
+                            private FileVisitResult emit(Path path, BasicFileAttributes attrs)
+                                throws IOException {
+                                var relative = realDirectory.relativize(path);
+                                if (matcher != null && !matcher.matches(relative)) {
+                                    return FileVisitResult.CONTINUE;
+                                }
+                                if (!demand.await()) {
+                                    return FileVisitResult.TERMINATE;
+                                }
+                                sink.next(toProjectFile(
+                                    directory.resolve(relative.toString()), attrs));
+                                return FileVisitResult.CONTINUE;
+                            }
+                        });
+                    sink.complete();
+                } catch (IOException e) {
+                    sink.error(e);
+                }
+            })
+            // Requests must not queue behind the walk waiting for them
+            .subscribeOn(scheduler, false);
+    }
+
+    @Nullable
+    private static PathMatcher matcherOf(@Nullable String glob) {
+        if (StringUtils.isBlank(glob)) {
+            return null;
+        }
+        try {
+            return FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        } catch (IllegalArgumentException e) {
+            throw new ServerWebInputException("无效的 glob 表达式: " + glob);
+        }
+    }
+
+    /**
+     * Reads the attributes of the target of a link, or of the link itself if it is broken.
+     *
+     * @return null if the file was removed in the meantime
+     */
+    @Nullable
+    static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class,
+                    LinkOption.NOFOLLOW_LINKS);
+            } catch (IOException ignored) {
+                return null;
+            }
+        }
+    }
+
+    static ProjectFile toProjectFile(Path path, BasicFileAttributes attrs) {
+        var name = path.getFileName().toString();
+        return new ProjectFile()
+            .setPath(path.toAbsolutePath().toString())
+            .setDirectory(attrs.isDirectory())
+            .setName(name)
+            .setSize(attrs.size())
+            .setType(getType(name, attrs.isDirectory()))
+            .setCanRead(Files.isReadable(path))
+            .setCanWrite(Files.isWritable(path))
+            .setLastModifiedTime(attrs.lastModifiedTime().toInstant())
+            .setVersion(FileUtils.versionOf(attrs));
+    }
+
+    private static String getType(String name, boolean directory) {
+        if (directory) {
+            return "directory";
+        }
+        int lastIndexOf = name.lastIndexOf(".");
+        if (lastIndexOf == -1) {
+            // empty extension
+            return "";
+        }
+        return name.substring(lastIndexOf + 1);
+    }
+
+    private static Comparator<SortKey> comparator(boolean descending) {
+        Comparator<SortKey> byValue = Comparator.comparingLong(SortKey::value)
+            .thenComparing(SortKey::name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(SortKey::name);
+        if (descending) {
+            byValue = byValue.reversed();
+        }
+        return Comparator.comparing(SortKey::directory, Comparator.reverseOrder())
+            .thenComparing(byValue);
+    }
+
+    private static String encodeCursor(ProjectFileQuery query, SortKey key) {
+        var value = cursorPrefix(query) + (key.directory() ? "d" : "f") + ":" + key.value()
+            + ":" + key.name();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(UTF_8));
+    }
+
+    @Nullable
+    private static SortKey decodeCursor(ProjectFileQuery query) {
+        if (StringUtils.isBlank(query.cursor())) {
+            return null;
+        }
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(query.cursor()), UTF_8);
+            var prefix = cursorPrefix(query);
+            if (!value.startsWith(prefix)) {
+                throw new IllegalArgumentException("The cursor is of another order");
+            }
+            var parts = value.substring(prefix.length()).split(":", 3);
+            return new SortKey("d".equals(parts[0]), Long.parseLong(parts[1]), parts[2]);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ServerWebInputException("分页游标无效或与排序方式不一致");
+        }
+    }
+
+    /**
+     * A cursor is only valid for the order it was created in.
+     */
+    private static String cursorPrefix(ProjectFileQuery query) {
+        return query.sort().name() + ":" + (query.descending() ? "desc" : "asc") + ":";
+    }
+
+    private record Entry(Path path, BasicFileAttributes attrs, SortKey key) {
+    }
+
+    /**
+     * The outstanding requests of the subscriber of a walk.
+     */
+    private static class Demand {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private long requested;
+        private boolean cancelled;
+
+        void request(long n) {
+            lock.lock();
+            try {
+                requested = Operators.addCap(requested, n);
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Waits for a request and takes it.
+         *
+         * @return false if the subscriber is gone
+         */
+        boolean await() throws InterruptedIOException {
+            lock.lock();
+            try {
+                while (requested == 0 && !cancelled) {
+                    changed.await();
+                }
+                if (cancelled) {
+                    return false;
+                }
+                if (requested != Long.MAX_VALUE) {
+                    requested--;
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while walking the directory");
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private record SortKey(boolean directory, long value, String name) {
+
+        static SortKey of(ProjectFileQuery.Sort sort, String name, BasicFileAttributes attrs) {
+            var value = switch (sort) {
+                case NAME -> 0L;
+                case SIZE -> attrs.size();
+                case LAST_MODIFIED_TIME -> attrs.lastModifiedTime().toMillis();
+            };
+            return new SortKey(attrs.isDirectory(), value, name);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package cc.ryanc.staticpages.utils;
+
+import java.util.Locale;
+import org.springframework.lang.Nullable;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Archive formats accepted for uploads that are extracted.
+ */
+public enum ArchiveFormat {
+    ZIP,
+    TAR,
+    TAR_GZIP;
+
+    /**
+     * Determines the format by the file name, falling back to zip.
+     */
+    public static ArchiveFormat of(@Nullable String filename) {
+        if (filename == null) {
+            return ZIP;
+        }
+        var name = filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+            return TAR_GZIP;
+        }
+        if (name.endsWith(".tar")) {
+            return TAR;
+        }
+        if (name.endsWith(".tar.zst") || name.endsWith(".tzst")) {
+            throw new ServerWebInputException("暂不支持 zstd 压缩的归档，请使用 .tar.gz 或 .zip");
+        }
+        return ZIP;
+    }
+}
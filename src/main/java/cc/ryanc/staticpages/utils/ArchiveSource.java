@@ -0,0 +1,42 @@
+package cc.ryanc.staticpages.utils;
+
+import java.nio.file.Path;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * An uploaded archive to extract, either received as a stream or spooled to a file already.
+ */
+@FunctionalInterface
+public interface ArchiveSource {
+
+    /**
+     * Extracts the archive into the empty target path.
+     *
+     * @param scheduler the scheduler of the blocking file operations
+     */
+    Mono<Void> extractTo(Path targetPath, ExtractionLimits limits, Scheduler scheduler);
+
+    /**
+     * An archive that is extracted while it is received.
+     *
+     * @param filename the name of the uploaded archive which determines its format
+     */
+    static ArchiveSource of(Publisher<DataBuffer> content, @Nullable String filename) {
+        return (targetPath, limits, scheduler) ->
+            FileUtils.extract(content, filename, targetPath, limits, scheduler);
+    }
+
+    /**
+     * An archive that was spooled to a file, it is extracted from the file in place.
+     *
+     * @param filename the name of the uploaded archive which determines its format
+     */
+    static ArchiveSource ofFile(Path file, @Nullable String filename) {
+        return (targetPath, limits, scheduler) ->
+            FileUtils.extract(file, filename, targetPath, limits, scheduler);
+    }
+}
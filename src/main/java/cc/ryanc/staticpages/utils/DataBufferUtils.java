@@ -1,36 +1,29 @@
 package cc.ryanc.staticpages.utils;
 
-import static org.springframework.core.io.buffer.DataBufferUtils.releaseConsumer;
-import static org.springframework.core.io.buffer.DataBufferUtils.write;
+import static org.springframework.core.io.buffer.DataBufferUtils.subscriberInputStream;
 
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import lombok.experimental.UtilityClass;
 import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-import reactor.util.context.Context;
 
 @UtilityClass
 public class DataBufferUtils {
 
+    /**
+     * Number of buffers requested ahead of the reader, the upstream is paused beyond that.
+     */
+    static final int DEMAND = 16;
+
+    /**
+     * Adapts the content to a blocking {@link InputStream}.
+     *
+     * <p>The stream requests at most {@link #DEMAND} buffers ahead of the reader and releases each
+     * buffer as soon as it is consumed. Reads block until content arrives, so the stream must be
+     * read on a thread that may block. Closing the stream cancels the upstream.
+     */
     public static Mono<InputStream> toInputStream(Publisher<DataBuffer> content) {
-        return Mono.create(sink -> {
-            try {
-                var pos = new PipedOutputStream();
-                var pis = new PipedInputStream(pos);
-                var disposable = write(content, pos)
-                    .subscribeOn(Schedulers.boundedElastic())
-                    .subscribe(releaseConsumer(), sink::error, () -> FileUtils.closeQuietly(pos),
-                        Context.of(sink.contextView()));
-                sink.onDispose(disposable);
-                sink.success(pis);
-            } catch (IOException e) {
-                sink.error(e);
-            }
-        });
+        return Mono.fromSupplier(() -> subscriberInputStream(content, DEMAND));
     }
 }
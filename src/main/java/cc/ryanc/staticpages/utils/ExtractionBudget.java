@@ -0,0 +1,147 @@
+package cc.ryanc.staticpages.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Accounts the work of a single extraction against its {@link ExtractionLimits}.
+ *
+ * <p>Bytes are counted as they are actually written rather than taken from the sizes declared
+ * in the archive, which may be forged. For streamed archives the decompressed stream is
+ * counted as well, so skipped entries and headers cannot inflate unchecked. It is safe to use
+ * from concurrent extraction rails.
+ */
+final class ExtractionBudget {
+    /**
+     * The compression ratio is only checked past this size, small archives of highly
+     * compressible text are legitimate.
+     */
+    static final long RATIO_CHECK_THRESHOLD = 16 * 1024 * 1024;
+
+    /**
+     * The bytes an archive stream may carry per entry beyond the content, for headers,
+     * padding and extended attributes.
+     */
+    static final long ENTRY_OVERHEAD = 16 * 1024;
+
+    private final ExtractionLimits limits;
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong compressed = new AtomicLong();
+    private final AtomicLong decompressed = new AtomicLong();
+
+    ExtractionBudget(ExtractionLimits limits) {
+        this.limits = limits;
+    }
+
+    void addEntry() {
+        if (entries.incrementAndGet() > limits.maxEntries()) {
+            throw new ServerWebInputException(
+                "压缩包中的文件数量超过限制 " + limits.maxEntries());
+        }
+    }
+
+    /**
+     * Counts the bytes of the archive itself. An archive cannot be much larger than what it
+     * extracts to, so an oversized or endless upload is aborted before it fills the disk.
+     */
+    void addCompressed(long bytes) {
+        var total = compressed.addAndGet(bytes);
+        if (total - overhead() > limits.maxTotalSize()) {
+            throw new ServerWebInputException(
+                "压缩包大小超过限制 " + limits.maxTotalSize() + " 字节");
+        }
+    }
+
+    void addWritten(long bytes) {
+        var total = written.addAndGet(bytes);
+        if (total > limits.maxTotalSize()) {
+            throw new ServerWebInputException(
+                "解压后的文件总大小超过限制 " + limits.maxTotalSize() + " 字节");
+        }
+        checkRatio(total);
+    }
+
+    /**
+     * Counts the bytes of a decompressed archive stream, including the headers and the
+     * content of entries that are skipped rather than written.
+     */
+    void addDecompressed(long bytes) {
+        var total = decompressed.addAndGet(bytes);
+        if (total - overhead() > limits.maxTotalSize()) {
+            throw new ServerWebInputException(
+                "解压后的文件总大小超过限制 " + limits.maxTotalSize() + " 字节");
+        }
+        checkRatio(total);
+    }
+
+    /**
+     * The bytes allowed for the entries counted so far and the next one beyond their content,
+     * subtracted rather than added so that a limit near {@link Long#MAX_VALUE} cannot overflow.
+     */
+    private long overhead() {
+        return (entries.get() + 1) * ENTRY_OVERHEAD;
+    }
+
+    private void checkRatio(long total) {
+        if (total > RATIO_CHECK_THRESHOLD
+            && total > compressed.get() * limits.maxCompressionRatio()) {
+            throw new ServerWebInputException("压缩包的压缩比异常，已中止解压");
+        }
+    }
+
+    /**
+     * Wraps the archive stream to count the compressed bytes read from it.
+     */
+    InputStream countCompressed(InputStream is) {
+        return new CountingInputStream(is, this::addCompressed);
+    }
+
+    /**
+     * Wraps the decompressed archive stream to count every byte read or skipped from it.
+     */
+    InputStream countDecompressed(InputStream is) {
+        return new CountingInputStream(is, this::addDecompressed);
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private static final long SKIP_STEP = 64 * 1024;
+
+        private final LongConsumer counter;
+
+        CountingInputStream(InputStream in, LongConsumer counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var b = super.read();
+            if (b >= 0) {
+                counter.accept(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            var read = super.read(buffer, offset, length);
+            if (read > 0) {
+                counter.accept(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // In steps, skipping a decompressed stream inflates everything skipped
+            var skipped = super.skip(Math.min(n, SKIP_STEP));
+            counter.accept(skipped);
+            return skipped;
+        }
+    }
+}
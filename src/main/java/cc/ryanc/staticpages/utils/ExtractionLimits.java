@@ -0,0 +1,22 @@
+package cc.ryanc.staticpages.utils;
+
+/**
+ * Limits applied while an uploaded archive is extracted, so a single deploy can neither fill
+ * the disk nor keep the node busy with a decompression bomb.
+ *
+ * @param maxTotalSize the maximum number of bytes written in total
+ * @param maxEntries the maximum number of entries in the archive
+ * @param maxCompressionRatio the maximum ratio of the bytes written to the archive size
+ */
+public record ExtractionLimits(long maxTotalSize, int maxEntries, int maxCompressionRatio) {
+    public static final ExtractionLimits DEFAULT =
+        new ExtractionLimits(4L * 1024 * 1024 * 1024, 200_000, 100);
+
+    /**
+     * Lowers the total size limit, e.g. to the space left in the quota of a project.
+     */
+    public ExtractionLimits withMaxTotalSize(long maxTotalSize) {
+        return new ExtractionLimits(Math.min(this.maxTotalSize, maxTotalSize), maxEntries,
+            maxCompressionRatio);
+    }
+}
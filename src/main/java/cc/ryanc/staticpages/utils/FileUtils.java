@@ -5,107 +5,450 @@ import static org.springframework.util.FileSystemUtils.copyRecursively;
 import static org.springframework.util.FileSystemUtils.deleteRecursively;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.FileSystemUtils;
 import org.springframework.web.server.ServerWebInputException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 @Slf4j
 @UtilityClass
 public class FileUtils {
+    public static final int COPY_BUFFER_SIZE = 64 * 1024;
 
-    public static Mono<Void> unzipTo(Publisher<DataBuffer> content, Path storePath) {
-        return Mono.usingWhen(createTempDir("halo-staticpage"),
-                tempDir -> unzip(content, tempDir)
-                    .then(Mono.defer(() -> {
-                        try {
-                            copyRecursively(tempDir, storePath);
-                        } catch (IOException e) {
-                            deleteRecursivelyAndSilently(tempDir);
-                            return Mono.error(e);
-                        }
-                        return Mono.empty();
-                    }))
-                    .subscribeOn(Schedulers.boundedElastic()),
-                tempDir -> Mono.fromSupplier(() -> {
-                    try {
-                        return FileSystemUtils.deleteRecursively(tempDir);
-                    } catch (IOException ignored) {
-                        return false;
-                    }
-                }).subscribeOn(Schedulers.boundedElastic())
+    /**
+     * Extracts the archive content into the store path.
+     *
+     * <p>The content is extracted into a staging directory under the staging root first. When
+     * the staging root is on the same file store as the store path, the files already in the
+     * store path are hard linked into the staging directory, which then replaces the store path
+     * by renaming. The content is written once and readers never see a partially extracted
+     * tree. Otherwise the extracted files are copied into the store path.
+     *
+     * @param stagingRoot a directory owned by the plugin, preferably on the file store of the
+     * store path
+     * @param scheduler the scheduler of the blocking file operations
+     * @param replacement wraps replacing the store path once the archive is extracted, e.g. to
+     * serialize it with other operations on the store path
+     */
+    public static Mono<Void> extractTo(ArchiveSource source, Path storePath, Path stagingRoot,
+        ExtractionLimits limits, Scheduler scheduler, UnaryOperator<Mono<Void>> replacement) {
+        return Mono.usingWhen(createTempDir(stagingRoot, "deploy-", scheduler),
+                stagingDir -> source.extractTo(stagingDir, limits, scheduler)
+                    .then(replacement.apply(Mono.<Void>fromCallable(() -> {
+                            replaceWith(stagingDir, storePath);
+                            return null;
+                        })
+                        .subscribeOn(scheduler))),
+                stagingDir -> Mono.fromRunnable(() -> deleteRecursivelyAndSilently(stagingDir))
+                    .subscribeOn(scheduler)
             )
             .then();
     }
 
-    public static Mono<Path> createTempDir(String prefix) {
+    /**
+     * Replaces the target directory with the staging directory, keeping the files of the target
+     * directory that do not exist in the staging directory.
+     */
+    static void replaceWith(Path stagingDir, Path targetDir) throws IOException {
+        if (!isSameFileStore(stagingDir, targetDir)) {
+            log.debug("Copying {} to {} across file stores", stagingDir, targetDir);
+            copyRecursively(stagingDir, targetDir);
+            return;
+        }
+        if (isEmpty(targetDir)) {
+            Files.deleteIfExists(targetDir);
+            createIfAbsent(targetDir.getParent());
+            Files.move(stagingDir, targetDir, StandardCopyOption.ATOMIC_MOVE);
+            return;
+        }
+        linkMissing(targetDir, stagingDir);
+        var retiredDir = stagingDir.resolveSibling(stagingDir.getFileName() + ".retired");
+        Files.move(targetDir, retiredDir, StandardCopyOption.ATOMIC_MOVE);
+        try {
+            Files.move(stagingDir, targetDir, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(retiredDir, targetDir, StandardCopyOption.ATOMIC_MOVE);
+            throw e;
+        }
+        deleteRecursivelyAndSilently(retiredDir);
+    }
+
+    /**
+     * Links every file of the source directory that is missing in the target directory into
+     * the target directory, falling back to a copy where hard links are not supported.
+     */
+    public static void linkMissing(Path source, Path target) throws IOException {
+        linkMissing(source, target, Set.of());
+    }
+
+    /**
+     * Same as {@link #linkMissing(Path, Path)} but skips the given files and directories.
+     *
+     * @param excludes paths relative to the source directory, separated by slashes
+     */
+    public static void linkMissing(Path source, Path target, Set<String> excludes)
+        throws IOException {
+        // The source may be a link to a release directory
+        var sourceDir = source.toRealPath();
+        Files.walkFileTree(sourceDir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+                throws IOException {
+                if (isExcluded(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                var targetDir = target.resolve(sourceDir.relativize(dir));
+                if (Files.exists(targetDir, LinkOption.NOFOLLOW_LINKS)
+                    && !Files.isDirectory(targetDir, LinkOption.NOFOLLOW_LINKS)) {
+                    // Replaced by a file of the new content
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                Files.createDirectories(targetDir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                throws IOException {
+                var targetFile = target.resolve(sourceDir.relativize(file));
+                if (isExcluded(file) || Files.exists(targetFile, LinkOption.NOFOLLOW_LINKS)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (attrs.isSymbolicLink()) {
+                    Files.copy(file, targetFile, LinkOption.NOFOLLOW_LINKS);
+                    return FileVisitResult.CONTINUE;
+                }
+                try {
+                    Files.createLink(targetFile, file);
+                } catch (UnsupportedOperationException | IOException e) {
+                    Files.copy(file, targetFile, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            private boolean isExcluded(Path path) {
+                var key = sourceDir.relativize(path).toString();
+                return excludes.contains(File.separatorChar == '/' ? key
+                    : key.replace(File.separatorChar, '/'));
+            }
+        });
+    }
+
+    public static boolean isSameFileStore(Path path, Path other) throws IOException {
+        var existing = other;
+        while (existing != null && Files.notExists(existing)) {
+            existing = existing.getParent();
+        }
+        return existing != null
+            && Files.getFileStore(path).equals(Files.getFileStore(existing));
+    }
+
+    public static Mono<Path> createTempDir(Path parent, String prefix, Scheduler scheduler) {
+        return Mono.fromCallable(() -> {
+                createIfAbsent(parent);
+                return Files.createTempDirectory(parent, prefix);
+            })
+            .subscribeOn(scheduler);
+    }
+
+    public static Mono<Path> createTempDir(String prefix, Scheduler scheduler) {
         return Mono.fromCallable(() -> Files.createTempDirectory(prefix))
-            .subscribeOn(Schedulers.boundedElastic());
+            .subscribeOn(scheduler);
+    }
+
+    /**
+     * Extracts the archive content into the empty target path.
+     *
+     * <p>Zip and tar archives are extracted in a single streaming pass while they are received,
+     * see {@link #unzip(Path, Path, ExtractionLimits, Scheduler)} for archives spooled to a file
+     * already. The extraction is aborted with a {@link ServerWebInputException} as soon as it
+     * exceeds one of the limits, the caller is responsible for removing the partially extracted
+     * target path.
+     *
+     * @param filename the name of the uploaded archive which determines its format
+     * @param scheduler the scheduler of the blocking file operations
+     */
+    public static Mono<Void> extract(Publisher<DataBuffer> content, @Nullable String filename,
+        Path targetPath, ExtractionLimits limits, Scheduler scheduler) {
+        return switch (ArchiveFormat.of(filename)) {
+            case ZIP -> unzip(content, targetPath, limits, scheduler);
+            case TAR -> untar(content, targetPath, false, limits, scheduler);
+            case TAR_GZIP -> untar(content, targetPath, true, limits, scheduler);
+        };
+    }
+
+    /**
+     * Extracts an archive spooled to a file into the empty target path, zip files are extracted
+     * in parallel.
+     *
+     * @param filename the name of the uploaded archive which determines its format
+     * @param scheduler the scheduler of the blocking file operations
+     */
+    public static Mono<Void> extract(Path archive, @Nullable String filename, Path targetPath,
+        ExtractionLimits limits, Scheduler scheduler) {
+        var format = ArchiveFormat.of(filename);
+        if (format == ArchiveFormat.ZIP) {
+            return unzip(archive, targetPath, limits, scheduler);
+        }
+        return Mono.<Void>fromCallable(() -> {
+                try (var is = Files.newInputStream(archive)) {
+                    untar(is, targetPath, format == ArchiveFormat.TAR_GZIP, limits);
+                }
+                return null;
+            })
+            .subscribeOn(scheduler);
     }
 
-    public static Mono<Void> unzip(Publisher<DataBuffer> content, @NonNull Path targetPath) {
+    public static Mono<Void> untar(Publisher<DataBuffer> content, Path targetPath,
+        boolean gzip, ExtractionLimits limits, Scheduler scheduler) {
         return Mono.usingWhen(
             toInputStream(content),
-            is -> {
-                try (var zis = new ZipInputStream(is)) {
-                    FileUtils.unzip(zis, targetPath);
-                    return Mono.empty();
-                } catch (IOException e) {
-                    return Mono.error(e);
-                }
-            },
-            is -> Mono.fromRunnable(() -> FileUtils.closeQuietly(is))
+            is -> Mono.<Void>fromCallable(() -> {
+                    untar(is, targetPath, gzip, limits);
+                    return null;
+                })
+                .subscribeOn(scheduler),
+            is -> Mono.fromRunnable(() -> closeQuietly(is))
         );
     }
 
-    public static void unzip(@NonNull ZipInputStream zis, @NonNull Path targetPath)
+    /**
+     * Extracts a tar stream into the empty target path. Links and special files are skipped.
+     */
+    public static void untar(InputStream is, Path targetPath, ExtractionLimits limits)
         throws IOException {
-        // 1. unzip file to folder
-        // 2. return the folder path
-        Assert.notNull(zis, "Zip input stream must not be null");
-        Assert.notNull(targetPath, "Target path must not be null");
+        untar(is, targetPath, false, limits);
+    }
+
+    private static void untar(InputStream is, Path targetPath, boolean gzip,
+        ExtractionLimits limits) throws IOException {
+        var budget = new ExtractionBudget(limits);
+        var counted = budget.countCompressed(is);
+        var source = gzip ? new GZIPInputStream(counted, COPY_BUFFER_SIZE) : counted;
+        untar(budget.countDecompressed(source), targetPath, budget);
+    }
 
-        // Create a path if absent
+    private static void untar(InputStream is, Path targetPath, ExtractionBudget budget)
+        throws IOException {
         createIfAbsent(targetPath);
+        ensureEmpty(targetPath);
+        var reader = new TarArchiveReader(is);
+        var buffer = new byte[COPY_BUFFER_SIZE];
+        TarArchiveReader.Entry entry;
+        while ((entry = reader.next()) != null) {
+            budget.addEntry();
+            var entryPath = targetPath.resolve(entry.name()).normalize();
+            checkDirectoryTraversal(targetPath, entryPath);
+            switch (entry.type()) {
+                case DIRECTORY -> Files.createDirectories(entryPath);
+                case FILE -> {
+                    Files.createDirectories(entryPath.getParent());
+                    try (var es = reader.entryStream();
+                         var os = Files.newOutputStream(entryPath)) {
+                        int read;
+                        while ((read = es.read(buffer)) != -1) {
+                            budget.addWritten(read);
+                            os.write(buffer, 0, read);
+                        }
+                    }
+                }
+                default -> log.debug("Skipped tar entry {}", entry.name());
+            }
+        }
+    }
 
-        // The Folder must be empty
+    /**
+     * Extracts the zip content while it is received, each entry is written as it arrives and
+     * nothing is spooled. The bytes received and written are accounted like for tar archives.
+     */
+    public static Mono<Void> unzip(Publisher<DataBuffer> content, @NonNull Path targetPath,
+        ExtractionLimits limits, Scheduler scheduler) {
+        return Mono.usingWhen(
+            toInputStream(content),
+            is -> Mono.<Void>fromCallable(() -> {
+                    var budget = new ExtractionBudget(limits);
+                    try (var zis = new ZipInputStream(budget.countCompressed(is))) {
+                        unzip(zis, targetPath, budget);
+                    }
+                    return null;
+                })
+                .subscribeOn(scheduler),
+            is -> Mono.fromRunnable(() -> closeQuietly(is))
+        );
+    }
+
+    private static void unzip(ZipInputStream zis, Path targetPath, ExtractionBudget budget)
+        throws IOException {
+        createIfAbsent(targetPath);
         ensureEmpty(targetPath);
+        var buffer = new byte[COPY_BUFFER_SIZE];
+        ZipEntry entry;
+        while ((entry = zis.getNextEntry()) != null) {
+            budget.addEntry();
+            var entryPath = targetPath.resolve(entry.getName()).normalize();
+            checkDirectoryTraversal(targetPath, entryPath);
+            if (entry.isDirectory()) {
+                createEntryDirectories(entryPath, entry.getName());
+                continue;
+            }
+            createEntryDirectories(entryPath.getParent(), entry.getName());
+            try (var os = newEntryOutputStream(entryPath, entry.getName())) {
+                int read;
+                while ((read = zis.read(buffer)) != -1) {
+                    budget.addWritten(read);
+                    os.write(buffer, 0, read);
+                }
+            }
+        }
+    }
 
-        ZipEntry zipEntry = zis.getNextEntry();
+    /**
+     * Creates the file of a zip entry, the same path must not be extracted twice.
+     */
+    private static OutputStream newEntryOutputStream(Path entryPath, String name)
+        throws IOException {
+        try {
+            return Files.newOutputStream(entryPath, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE);
+        } catch (FileAlreadyExistsException e) {
+            throw duplicateEntryError(name);
+        }
+    }
 
-        while (zipEntry != null) {
-            // Resolve the entry path
-            Path entryPath = targetPath.resolve(zipEntry.getName());
+    private static void createEntryDirectories(Path dir, String name) throws IOException {
+        try {
+            Files.createDirectories(dir);
+        } catch (FileAlreadyExistsException e) {
+            // A file of the archive is in the way
+            throw duplicateEntryError(name);
+        }
+    }
 
-            checkDirectoryTraversal(targetPath, entryPath);
+    private static ServerWebInputException duplicateEntryError(String name) {
+        return new ServerWebInputException("压缩包中存在重复或冲突的路径: " + name);
+    }
 
-            if (Files.notExists(entryPath.getParent())) {
-                Files.createDirectories(entryPath.getParent());
-            }
+    /**
+     * Extracts a zip file into the empty target path.
+     *
+     * <p>Entries are read through the central directory and inflated and written concurrently,
+     * one rail per core. Directories are created once up front, so the concurrent writes do not
+     * race on creating shared parents.
+     *
+     * <p>The entry count and the declared sizes are checked against the limits before anything
+     * is written, the bytes actually inflated are accounted while writing.
+     */
+    public static Mono<Void> unzip(Path zipFile, @NonNull Path targetPath,
+        ExtractionLimits limits, Scheduler scheduler) {
+        var budget = new ExtractionBudget(limits);
+        return Mono.usingWhen(
+            Mono.fromCallable(() -> new ZipFile(zipFile.toFile()))
+                .subscribeOn(scheduler),
+            zip -> Mono.fromCallable(() -> {
+                    var files = prepareEntries(zip, targetPath, budget, limits);
+                    // The headers of the entries add to the size of the archive
+                    budget.addCompressed(Files.size(zipFile));
+                    return files;
+                })
+                .subscribeOn(scheduler)
+                .flatMapMany(Flux::fromIterable)
+                .parallel()
+                .runOn(scheduler)
+                .doOnNext(entry -> extractEntry(zip, entry, targetPath, budget))
+                .sequential()
+                .then(),
+            zip -> Mono.fromRunnable(() -> closeQuietly(zip))
+        );
+    }
 
-            if (zipEntry.isDirectory()) {
-                // Create directory
-                Files.createDirectory(entryPath);
+    /**
+     * Validates the entry paths and creates all directories.
+     *
+     * @return the file entries
+     */
+    private static List<ZipEntry> prepareEntries(ZipFile zip, Path targetPath,
+        ExtractionBudget budget, ExtractionLimits limits) throws IOException {
+        createIfAbsent(targetPath);
+        ensureEmpty(targetPath);
+        var directories = new TreeSet<Path>();
+        var files = new ArrayList<ZipEntry>();
+        var declaredSize = 0L;
+        var entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            var entry = entries.nextElement();
+            budget.addEntry();
+            if (entry.getSize() > 0) {
+                declaredSize += entry.getSize();
+            }
+            if (declaredSize > limits.maxTotalSize()) {
+                throw new ServerWebInputException(
+                    "解压后的文件总大小超过限制 " + limits.maxTotalSize() + " 字节");
+            }
+            var entryPath = targetPath.resolve(entry.getName());
+            checkDirectoryTraversal(targetPath, entryPath);
+            if (entry.isDirectory()) {
+                directories.add(entryPath.normalize());
             } else {
-                // Copy file
-                Files.copy(zis, entryPath);
+                directories.add(entryPath.normalize().getParent());
+                files.add(entry);
             }
+        }
+        for (Path directory : directories) {
+            Files.createDirectories(directory);
+        }
+        return files;
+    }
 
-            zipEntry = zis.getNextEntry();
+    private static void extractEntry(ZipFile zip, ZipEntry entry, Path targetPath,
+        ExtractionBudget budget) {
+        var entryPath = targetPath.resolve(entry.getName());
+        // Small entries do not need a full sized buffer
+        var bufferSize = entry.getSize() < 0 ? COPY_BUFFER_SIZE
+            : Math.clamp(entry.getSize(), 1, COPY_BUFFER_SIZE);
+        try (var is = zip.getInputStream(entry);
+             var os = newEntryOutputStream(entryPath, entry.getName())) {
+            var buffer = new byte[bufferSize];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                budget.addWritten(read);
+                os.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
         }
     }
 
@@ -168,6 +511,46 @@ public class FileUtils {
         }
     }
 
+    /**
+     * Sums the sizes of the regular files under the path, following a link at the path itself.
+     *
+     * @return the total size in bytes, or 0 if the path does not exist
+     */
+    public static long sizeOf(Path path) throws IOException {
+        if (Files.notExists(path)) {
+            return 0;
+        }
+        var total = new long[1];
+        Files.walkFileTree(path.toRealPath(), new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    total[0] += attrs.size();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return total[0];
+    }
+
+    /**
+     * Gets a token that changes whenever the file is modified or replaced, for optimistic
+     * concurrency control of edits.
+     */
+    public static String versionOf(BasicFileAttributes attrs) {
+        var modified = attrs.lastModifiedTime().toInstant();
+        var version = Long.toHexString(attrs.size()) + "-"
+            + Long.toHexString(modified.getEpochSecond()) + "-"
+            + Integer.toHexString(modified.getNano());
+        // A replaced file is another inode, even if size and time are the same
+        var fileKey = attrs.fileKey();
+        return fileKey == null ? version : version + "-" + Integer.toHexString(fileKey.hashCode());
+    }
+
+    public static String versionOf(Path file) throws IOException {
+        return versionOf(Files.readAttributes(file, BasicFileAttributes.class));
+    }
+
     public static void checkDirectoryTraversal(@NonNull Path parentPath,
         @NonNull Path pathToCheck) {
         Assert.notNull(parentPath, "Parent path must not be null");
@@ -180,7 +563,7 @@ public class FileUtils {
         throw new ServerWebInputException("Directory traversal detected: " + pathToCheck);
     }
 
-    public static Mono<Boolean> deleteFileSilently(Path file) {
+    public static Mono<Boolean> deleteFileSilently(Path file, Scheduler scheduler) {
         return Mono.fromSupplier(
                 () -> {
                     if (file == null || !Files.isRegularFile(file)) {
@@ -192,7 +575,7 @@ public class FileUtils {
                         return false;
                     }
                 })
-            .subscribeOn(Schedulers.boundedElastic());
+            .subscribeOn(scheduler);
     }
 
     public static void closeQuietly(final Closeable closeable) {
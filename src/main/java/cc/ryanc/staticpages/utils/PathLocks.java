@@ -0,0 +1,28 @@
+package cc.ryanc.staticpages.utils;
+
+import java.nio.file.Path;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed number of locks striped by path. Mutations of the same path are serialized, while
+ * mutations of different paths rarely contend and memory does not grow with the number of
+ * paths.
+ */
+public final class PathLocks {
+    private final Lock[] stripes;
+
+    public PathLocks(int stripes) {
+        this.stripes = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock get(Path path) {
+        var hash = path.toAbsolutePath().normalize().hashCode();
+        // Spread the bits, path hashes of siblings differ in the low bits only
+        hash ^= hash >>> 16;
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+}
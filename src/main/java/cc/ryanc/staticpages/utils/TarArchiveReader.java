@@ -0,0 +1,298 @@
+package cc.ryanc.staticpages.utils;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * A minimal streaming reader of tar archives.
+ *
+ * <p>Supports ustar headers with name prefixes, GNU long names and pax extended headers for
+ * paths and sizes, which covers archives created by GNU tar, bsdtar and common libraries.
+ * Entries are read in a single pass, the content of an entry must be consumed through
+ * {@link #entryStream()} before moving to the next entry or it is skipped.
+ */
+final class TarArchiveReader {
+    private static final int BLOCK_SIZE = 512;
+
+    /**
+     * The maximum size of the data of a long name or pax header, which is read into memory.
+     */
+    static final int MAX_HEADER_DATA_SIZE = 1024 * 1024;
+
+    private final InputStream in;
+    private final byte[] header = new byte[BLOCK_SIZE];
+
+    /**
+     * Bytes of the current entry not read yet, excluding padding.
+     */
+    private long remaining;
+    private long padding;
+
+    TarArchiveReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the header of the next entry.
+     *
+     * @return the entry or null at the end of the archive
+     */
+    Entry next() throws IOException {
+        skipRemaining();
+        String longName = null;
+        Long paxSize = null;
+        while (true) {
+            if (!readBlock()) {
+                return null;
+            }
+            if (isZeroBlock()) {
+                // End of archive marker
+                return null;
+            }
+            verifyChecksum();
+            var type = (char) header[156];
+            var size = parseNumber(124, 12);
+            switch (type) {
+                case 'L' -> {
+                    // GNU long name of the next entry
+                    longName = trimNul(new String(readData(size), UTF_8));
+                    continue;
+                }
+                case 'x' -> {
+                    var pax = parsePaxRecords(readData(size));
+                    var path = pax.get("path");
+                    if (path != null) {
+                        longName = path;
+                    }
+                    var paxSizeValue = pax.get("size");
+                    if (paxSizeValue != null) {
+                        paxSize = parsePaxSize(paxSizeValue);
+                    }
+                    continue;
+                }
+                case 'g' -> {
+                    // Global pax headers carry nothing we use
+                    skipFully(size + (BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE);
+                    continue;
+                }
+                default -> {
+                    // An entry
+                }
+            }
+            if (paxSize != null) {
+                size = paxSize;
+            }
+            var name = longName != null ? longName : headerName();
+            remaining = size;
+            padding = (BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE;
+            var entryType = switch (type) {
+                case '0', '\0', '7' -> EntryType.FILE;
+                case '5' -> EntryType.DIRECTORY;
+                default -> EntryType.OTHER;
+            };
+            if (entryType == EntryType.FILE && name.endsWith("/")) {
+                // Old archives mark directories by the trailing slash only
+                entryType = EntryType.DIRECTORY;
+            }
+            return new Entry(name, size, entryType);
+        }
+    }
+
+    /**
+     * Gets a stream of the content of the current entry, it ends at the end of the entry and
+     * does not close the archive stream.
+     */
+    InputStream entryStream() {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                var b = in.read();
+                if (b < 0) {
+                    throw new EOFException("Unexpected end of tar archive");
+                }
+                remaining--;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                var read = in.read(buffer, offset, (int) Math.min(length, remaining));
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of tar archive");
+                }
+                remaining -= read;
+                return read;
+            }
+        };
+    }
+
+    private void skipRemaining() throws IOException {
+        skipFully(remaining + padding);
+        remaining = 0;
+        padding = 0;
+    }
+
+    private byte[] readData(long size) throws IOException {
+        if (size > MAX_HEADER_DATA_SIZE) {
+            throw new ServerWebInputException("归档中的扩展头过大: " + size + " 字节");
+        }
+        var data = in.readNBytes((int) size);
+        if (data.length != size) {
+            throw new EOFException("Unexpected end of tar archive");
+        }
+        skipFully((BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE);
+        return data;
+    }
+
+    private boolean readBlock() throws IOException {
+        var read = in.readNBytes(header, 0, BLOCK_SIZE);
+        if (read == 0) {
+            return false;
+        }
+        if (read != BLOCK_SIZE) {
+            throw new EOFException("Unexpected end of tar archive");
+        }
+        return true;
+    }
+
+    private void skipFully(long count) throws IOException {
+        in.skipNBytes(count);
+    }
+
+    private boolean isZeroBlock() {
+        for (byte b : header) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void verifyChecksum() throws IOException {
+        long expected = parseNumber(148, 8);
+        long actual = 0;
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            // The checksum field itself counts as spaces
+            actual += (i >= 148 && i < 156) ? ' ' : (header[i] & 0xff);
+        }
+        if (actual != expected) {
+            throw new IOException("Not a tar archive or the archive is corrupted");
+        }
+    }
+
+    private String headerName() {
+        var name = field(0, 100);
+        var magic = field(257, 6);
+        if (magic.startsWith("ustar")) {
+            var prefix = field(345, 155);
+            if (!prefix.isEmpty()) {
+                return prefix + "/" + name;
+            }
+        }
+        return name;
+    }
+
+    private String field(int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, UTF_8);
+    }
+
+    /**
+     * Parses an octal number field, or a base-256 one as written by GNU tar for large values.
+     */
+    private long parseNumber(int offset, int length) throws IOException {
+        if ((header[offset] & 0x80) != 0) {
+            long value = header[offset] & 0x7f;
+            for (int i = offset + 1; i < offset + length; i++) {
+                value = (value << 8) | (header[i] & 0xff);
+            }
+            return value;
+        }
+        var text = field(offset, length).trim();
+        if (text.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(text, 8);
+        } catch (NumberFormatException e) {
+            throw new IOException("Not a tar archive or the archive is corrupted");
+        }
+    }
+
+    /**
+     * Parses pax records, which are {@code "<length> <key>=<value>\n"} with the length in bytes
+     * of the whole record. A value may contain newlines, so records are split by their length.
+     */
+    static Map<String, String> parsePaxRecords(byte[] data) throws IOException {
+        var records = new HashMap<String, String>();
+        int offset = 0;
+        while (offset < data.length && data[offset] != 0) {
+            int space = offset;
+            while (space < data.length && data[space] >= '0' && data[space] <= '9') {
+                space++;
+            }
+            if (space == offset || space - offset > 9 || space >= data.length
+                || data[space] != ' ') {
+                throw new IOException("Malformed pax extended header");
+            }
+            var length = Integer.parseInt(new String(data, offset, space - offset, US_ASCII));
+            var end = offset + length;
+            if (end <= space + 1 || end > data.length || data[end - 1] != '\n') {
+                throw new IOException("Malformed pax extended header");
+            }
+            var record = new String(data, space + 1, end - space - 2, UTF_8);
+            var equals = record.indexOf('=');
+            if (equals <= 0) {
+                throw new IOException("Malformed pax extended header");
+            }
+            records.put(record.substring(0, equals), record.substring(equals + 1));
+            offset = end;
+        }
+        return records;
+    }
+
+    private static long parsePaxSize(String value) throws IOException {
+        try {
+            var size = Long.parseLong(value);
+            if (size < 0) {
+                throw new NumberFormatException(value);
+            }
+            return size;
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed pax extended header");
+        }
+    }
+
+    private static String trimNul(String value) {
+        var end = value.indexOf('\0');
+        return end < 0 ? value : value.substring(0, end);
+    }
+
+    enum EntryType {
+        FILE,
+        DIRECTORY,
+        /**
+         * Links, devices and other entries that are not extracted.
+         */
+        OTHER
+    }
+
+    record Entry(String name, long size, EntryType type) {
+    }
+}
@@ -0,0 +1,27 @@
+package cc.ryanc.staticpages.endpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+
+class PageProjectEndpointTest {
+
+    @Test
+    void getIfMatchVersions() {
+        assertThat(PageProjectEndpoint.getIfMatchVersions(MockServerRequest.builder().build()))
+            .isNull();
+        assertThat(PageProjectEndpoint.getIfMatchVersions(ifMatch("*"))).isNull();
+        assertThat(PageProjectEndpoint.getIfMatchVersions(ifMatch("\"a-1\"")))
+            .containsExactly("a-1");
+        assertThat(PageProjectEndpoint.getIfMatchVersions(ifMatch("\"a-1\", W/\"b-2\", \"c-3\"")))
+            .containsExactly("a-1", "c-3");
+        // Weak tags never match with the strong comparison
+        assertThat(PageProjectEndpoint.getIfMatchVersions(ifMatch("W/\"a-1\""))).isEmpty();
+    }
+
+    private static MockServerRequest ifMatch(String value) {
+        return MockServerRequest.builder().header(HttpHeaders.IF_MATCH, value).build();
+    }
+}
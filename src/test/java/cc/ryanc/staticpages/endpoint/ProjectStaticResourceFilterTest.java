@@ -0,0 +1,115 @@
+package cc.ryanc.staticpages.endpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import cc.ryanc.staticpages.extensions.Project;
+import cc.ryanc.staticpages.model.ProjectResource;
+import cc.ryanc.staticpages.service.ProjectResourceResolver;
+import cc.ryanc.staticpages.service.ProjectRewriteRules;
+import java.nio.file.Path;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.Metadata;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectStaticResourceFilterTest {
+
+    @Mock
+    private ProjectResourceResolver resourceResolver;
+
+    @Mock
+    private ProjectStaticResourceHandler resourceHandler;
+
+    @Mock
+    private WebFilterChain chain;
+
+    private ProjectStaticResourceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        var rewriteRules = new ProjectRewriteRules();
+        rewriteRules.updateRules(project("docs"));
+        // A project must not shadow Halo's own routes
+        rewriteRules.updateRules(project("apis"));
+        filter = new ProjectStaticResourceFilter(rewriteRules, resourceResolver, resourceHandler);
+        lenient().when(chain.filter(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void skipsReservedFirstSegment() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/apis/index.html"));
+
+        filter.filter(exchange, chain).block();
+
+        verify(chain).filter(exchange);
+        verifyNoInteractions(resourceResolver, resourceHandler);
+    }
+
+    @Test
+    void fallsThroughWhenNothingResolves() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/docs/missing"));
+        when(resourceResolver.resolve(any(), any(), any())).thenReturn(Mono.empty());
+
+        filter.filter(exchange, chain).block();
+
+        verify(chain).filter(exchange);
+        verifyNoInteractions(resourceHandler);
+    }
+
+    @Test
+    void servesHeadRequests() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.head("/docs/a.html"));
+        var resource = new ProjectResource("docs", "/docs/a.html", Path.of("a.html"), 1,
+            Instant.now(), MediaType.TEXT_HTML, null, null);
+        when(resourceResolver.resolve(any(), any(), any())).thenReturn(Mono.just(resource));
+        when(resourceHandler.handle(eq(exchange), any(), eq(resource))).thenReturn(Mono.empty());
+
+        filter.filter(exchange, chain).block();
+
+        verify(resourceHandler).handle(eq(exchange), any(), eq(resource));
+        verify(chain, never()).filter(any());
+    }
+
+    @Test
+    void passesOtherMethodsOn() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/docs/a.html"));
+
+        filter.filter(exchange, chain).block();
+
+        verify(chain).filter(exchange);
+        verifyNoInteractions(resourceResolver);
+    }
+
+    @Test
+    void matchesReservedSegmentsOnly() {
+        assertThat(ProjectStaticResourceFilter.isReserved("/console")).isTrue();
+        assertThat(ProjectStaticResourceFilter.isReserved("/apis/v1")).isTrue();
+        assertThat(ProjectStaticResourceFilter.isReserved("/apis-docs/v1")).isFalse();
+        assertThat(ProjectStaticResourceFilter.isReserved("/docs/apis")).isFalse();
+    }
+
+    private static Project project(String name) {
+        var project = new Project();
+        project.setMetadata(new Metadata());
+        project.getMetadata().setName(name);
+        project.setSpec(new Project.Spec());
+        project.getSpec().setDirectory(name);
+        return project;
+    }
+}
@@ -0,0 +1,176 @@
+package cc.ryanc.staticpages.endpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import cc.ryanc.staticpages.extensions.Project;
+import cc.ryanc.staticpages.model.ProjectResource;
+import cc.ryanc.staticpages.service.ProjectAssetCache;
+import cc.ryanc.staticpages.service.ProjectIoScheduler;
+import cc.ryanc.staticpages.service.ProjectRewriteRules;
+import cc.ryanc.staticpages.service.ProjectRewriteRules.ProjectRules;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.Metadata;
+
+class ProjectStaticResourceHandlerTest {
+    private static final MediaType JAVASCRIPT = MediaType.valueOf("application/javascript");
+
+    @TempDir
+    private Path projectDir;
+
+    private final ProjectIoScheduler ioScheduler = new ProjectIoScheduler();
+
+    private final ProjectStaticResourceHandler handler =
+        new ProjectStaticResourceHandler(new ProjectAssetCache(ioScheduler));
+
+    private ProjectRules rules;
+
+    private Path file;
+
+    private Path gzipVariant;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(projectDir.resolve("app.js"), "console.log('app')");
+        gzipVariant = Files.writeString(projectDir.resolve("app.js.gz"), "gzipped app");
+
+        var project = new Project();
+        project.setMetadata(new Metadata());
+        project.getMetadata().setName("docs");
+        project.setSpec(new Project.Spec());
+        project.getSpec().setDirectory("docs");
+        var rewriteRules = new ProjectRewriteRules();
+        rewriteRules.updateRules(project);
+        rules = rewriteRules.findProject("/docs/");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioScheduler.destroy();
+    }
+
+    @Test
+    void answersNotModifiedForMatchingETag() throws IOException {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/docs/app.js")
+            .ifNoneMatch("\"abc\""));
+
+        handler.handle(exchange, rules, resource("abc")).block();
+
+        var response = exchange.getResponse();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBodyAsString().block()).isNullOrEmpty();
+    }
+
+    @Test
+    void tagsEncodedVariantsWithTheirOwnStrongETag() throws IOException {
+        var variant = resource("abc")
+            .withEncodedVariant(gzipVariant, Files.size(gzipVariant), "gzip");
+        // The tag of the identity representation does not match the variant
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/docs/app.js")
+            .ifNoneMatch("\"abc\""));
+
+        handler.handle(exchange, rules, variant).block();
+
+        var response = exchange.getResponse();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"abc-gzip\"");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+            .isEqualTo("gzip");
+        assertThat(response.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getBodyAsString().block()).isEqualTo("gzipped app");
+    }
+
+    @Test
+    void servesWholeFileWhenIfRangeDoesNotMatch() throws IOException {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/docs/app.js")
+            .header(HttpHeaders.RANGE, "bytes=0-6")
+            .header(HttpHeaders.IF_RANGE, "\"other\""));
+
+        handler.handle(exchange, rules, resource("abc")).block();
+
+        var response = exchange.getResponse();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBodyAsString().block()).isEqualTo("console.log('app')");
+    }
+
+    @Test
+    void servesRangeOfEncodedVariant() throws IOException {
+        var variant = resource("abc")
+            .withEncodedVariant(gzipVariant, Files.size(gzipVariant), "gzip");
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/docs/app.js")
+            .header(HttpHeaders.RANGE, "bytes=0-6")
+            .header(HttpHeaders.IF_RANGE, "\"abc-gzip\""));
+
+        handler.handle(exchange, rules, variant).block();
+
+        var response = exchange.getResponse();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE))
+            .isEqualTo("bytes 0-6/" + Files.size(gzipVariant));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+            .isEqualTo("gzip");
+        assertThat(response.getBodyAsString().block()).isEqualTo("gzipped");
+    }
+
+    @Test
+    void sendsFilesAboveCacheThresholdWithZeroCopy() throws IOException {
+        var large = Files.write(projectDir.resolve("large.js"), new byte[2 * 1024 * 1024]);
+        var response = new ZeroCopyResponse();
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/docs/large.js"));
+        var zeroCopyExchange = new ServerWebExchangeDecorator(exchange) {
+            @Override
+            public MockServerHttpResponse getResponse() {
+                return response;
+            }
+        };
+
+        handler.handle(zeroCopyExchange, rules, resource(large, "abc")).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.file).isEqualTo(large);
+        assertThat(response.count).isEqualTo(Files.size(large));
+    }
+
+    private ProjectResource resource(String eTag) throws IOException {
+        return resource(file, eTag);
+    }
+
+    private static ProjectResource resource(Path file, String eTag) throws IOException {
+        // HTTP dates have a resolution of seconds
+        var lastModified = Files.getLastModifiedTime(file).toInstant()
+            .truncatedTo(ChronoUnit.SECONDS);
+        return new ProjectResource("docs", "/docs/" + file.getFileName(), file, Files.size(file),
+            lastModified, JAVASCRIPT, null, eTag);
+    }
+
+    /**
+     * A response that records the file sent with zero-copy transfer.
+     */
+    private static class ZeroCopyResponse extends MockServerHttpResponse
+        implements ZeroCopyHttpOutputMessage {
+        private Path file;
+        private long count;
+
+        @Override
+        public Mono<Void> writeWith(Path file, long position, long count) {
+            this.file = file;
+            this.count = count;
+            return setComplete();
+        }
+    }
+}
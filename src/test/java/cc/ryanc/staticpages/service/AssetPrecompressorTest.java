@@ -0,0 +1,62 @@
+package cc.ryanc.staticpages.service;
+
+import static cc.ryanc.staticpages.service.AssetPrecompressor.acceptsEncoding;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import cc.ryanc.staticpages.service.AssetPrecompressor.ContentCoding;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AssetPrecompressorTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void acceptsExplicitCodingOverWildcard() {
+        assertThat(acceptsEncoding("gzip, deflate, br", ContentCoding.GZIP)).isTrue();
+        assertThat(acceptsEncoding("deflate", ContentCoding.GZIP)).isFalse();
+        assertThat(acceptsEncoding("gzip;q=0, *", ContentCoding.GZIP)).isFalse();
+        assertThat(acceptsEncoding("*;q=0, gzip", ContentCoding.GZIP)).isTrue();
+        assertThat(acceptsEncoding("*;q=0, gzip", ContentCoding.BR)).isFalse();
+        assertThat(acceptsEncoding("*", ContentCoding.BR)).isTrue();
+        assertThat(acceptsEncoding("GZIP;q=0.5", ContentCoding.GZIP)).isTrue();
+        assertThat(acceptsEncoding(null, ContentCoding.GZIP)).isFalse();
+    }
+
+    @Test
+    void precompressesCompressibleFiles() throws IOException {
+        var content = "<p>static pages</p>\n".repeat(200);
+        Files.writeString(tempDir.resolve("index.html"), content);
+        Files.writeString(tempDir.resolve("small.css"), "a{}");
+        Files.write(tempDir.resolve("image.png"), new byte[4096]);
+        var metadataDir = Files.createDirectory(tempDir.resolve(ProjectManifestStore.METADATA_DIR));
+        Files.writeString(metadataDir.resolve("manifest.json"), "{}".repeat(1024));
+
+        var ioScheduler = new ProjectIoScheduler();
+        try {
+            new AssetPrecompressor(ioScheduler).precompress(tempDir).block();
+        } finally {
+            ioScheduler.destroy();
+        }
+
+        var variant = tempDir.resolve("index.html.gz");
+        assertThat(variant).exists();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(variant))) {
+            assertThat(new String(in.readAllBytes())).isEqualTo(content);
+        }
+        assertThat(Files.getLastModifiedTime(variant))
+            .isEqualTo(Files.getLastModifiedTime(tempDir.resolve("index.html")));
+        assertThat(tempDir.resolve("small.css.gz")).doesNotExist();
+        assertThat(tempDir.resolve("image.png.gz")).doesNotExist();
+        assertThat(metadataDir.resolve("manifest.json.gz")).doesNotExist();
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).noneMatch(file -> file.toString().endsWith(".tmp"));
+        }
+    }
+}
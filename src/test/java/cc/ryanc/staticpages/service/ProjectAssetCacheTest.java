@@ -0,0 +1,110 @@
+package cc.ryanc.staticpages.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import cc.ryanc.staticpages.event.ProjectFilesChangedEvent;
+import cc.ryanc.staticpages.model.ProjectResource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+class ProjectAssetCacheTest {
+
+    @TempDir
+    private Path projectDir;
+
+    private final ProjectIoScheduler ioScheduler = new ProjectIoScheduler();
+
+    @AfterEach
+    void tearDown() {
+        ioScheduler.destroy();
+    }
+
+    @Test
+    void servesFromCacheUntilFileChanges() throws IOException {
+        var cache = new ProjectAssetCache(ioScheduler);
+        var file = Files.writeString(projectDir.resolve("a.js"), "a1");
+
+        assertThat(read(cache, resource(file))).isEqualTo("a1");
+        assertThat(read(cache, resource(file))).isEqualTo("a1");
+        assertThat(cache.getStats().hits()).isEqualTo(1);
+
+        Files.writeString(file, "a2 changed");
+        assertThat(read(cache, resource(file))).isEqualTo("a2 changed");
+        assertThat(cache.getStats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondCapacity() throws IOException {
+        var cache = new ProjectAssetCache(ioScheduler, 8);
+        var a = resource(Files.writeString(projectDir.resolve("a.js"), "aaaa"));
+        var b = resource(Files.writeString(projectDir.resolve("b.js"), "bbbb"));
+        var c = resource(Files.writeString(projectDir.resolve("c.js"), "cccc"));
+        read(cache, a);
+        read(cache, b);
+        // Makes b the least recently used entry
+        read(cache, a);
+
+        read(cache, c);
+
+        var stats = cache.getStats();
+        assertThat(stats.evictions()).isEqualTo(1);
+        assertThat(stats.entries()).isEqualTo(2);
+        assertThat(stats.cachedBytes()).isEqualTo(8);
+        read(cache, a);
+        assertThat(cache.getStats().hits()).isEqualTo(2);
+        read(cache, b);
+        assertThat(cache.getStats().misses()).isEqualTo(4);
+    }
+
+    @Test
+    void cachesOnlyFilesUpToEntryLimit() {
+        var cache = new ProjectAssetCache(ioScheduler);
+        var file = projectDir.resolve("app.js");
+        var limit = ProjectAssetCache.MAX_ENTRY_BYTES;
+
+        assertThat(cache.isCacheable(resource(file, limit, Instant.EPOCH))).isTrue();
+        assertThat(cache.isCacheable(resource(file, limit + 1, Instant.EPOCH))).isFalse();
+    }
+
+    @Test
+    void dropsEntriesOnFilesChanged() throws IOException {
+        var cache = new ProjectAssetCache(ioScheduler);
+        Files.createDirectories(projectDir.resolve("assets"));
+        var a = resource(Files.writeString(projectDir.resolve("assets/a.js"), "a"));
+        var b = resource(Files.writeString(projectDir.resolve("b.js"), "b"));
+        read(cache, a);
+        read(cache, b);
+
+        cache.onProjectFilesChanged(new ProjectFilesChangedEvent(this, "docs", projectDir,
+            projectDir.resolve("assets")));
+        assertThat(cache.getStats().entries()).isEqualTo(1);
+
+        cache.onProjectFilesChanged(
+            new ProjectFilesChangedEvent(this, "docs", projectDir, null));
+        assertThat(cache.getStats().entries()).isZero();
+        assertThat(cache.getStats().cachedBytes()).isZero();
+    }
+
+    private static ProjectResource resource(Path file) throws IOException {
+        return resource(file, Files.size(file), Files.getLastModifiedTime(file).toInstant());
+    }
+
+    private static ProjectResource resource(Path file, long size, Instant lastModified) {
+        return new ProjectResource("docs", "/docs/" + file.getFileName(), file, size,
+            lastModified, MediaType.valueOf("application/javascript"), null, null);
+    }
+
+    private static String read(ProjectAssetCache cache, ProjectResource resource) {
+        var content = cache.get(resource).block();
+        var bytes = new byte[content.remaining()];
+        content.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package cc.ryanc.staticpages.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.FileSystemUtils;
+import run.halo.app.infra.BackupRootGetter;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectBlobStoreTest {
+
+    @Mock
+    private BackupRootGetter backupRootGetter;
+
+    @TempDir
+    private Path tempDir;
+
+    private final ProjectIoScheduler ioScheduler = new ProjectIoScheduler();
+
+    private ProjectBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        when(backupRootGetter.get()).thenReturn(tempDir.resolve("backups"));
+        blobStore = new ProjectBlobStore(backupRootGetter, ioScheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioScheduler.destroy();
+    }
+
+    @Test
+    void reusesStoredContent() throws IOException {
+        var first = release("first", "same");
+        var second = release("second", "same");
+
+        assertThat(blobStore.deduplicate(first)).isZero();
+        assertThat(blobStore.deduplicate(second)).isEqualTo(1);
+
+        var blob = blobStore.getBlobPath(ProjectManifestStore.sha256(first.resolve("a.js")));
+        assertThat(Files.isSameFile(first.resolve("a.js"), blob)).isTrue();
+        assertThat(Files.isSameFile(second.resolve("a.js"), blob)).isTrue();
+        assertThat(nlink(blob)).isEqualTo(3);
+        assertThat(second.resolve("a.js")).hasContent("same");
+        // Metadata and empty files stay as they are
+        assertThat(nlink(second.resolve(ProjectManifestStore.METADATA_DIR)
+            .resolve("manifest.json"))).isEqualTo(1);
+        assertThat(nlink(second.resolve("empty.txt"))).isEqualTo(1);
+    }
+
+    @Test
+    void collectsBlobsLinkedFromNowhere() throws IOException {
+        var first = release("first", "shared");
+        var second = release("second", "shared");
+        blobStore.deduplicate(first);
+        blobStore.deduplicate(second);
+        var blob = blobStore.getBlobPath(ProjectManifestStore.sha256(first.resolve("a.js")));
+
+        FileSystemUtils.deleteRecursively(first);
+        assertThat(blobStore.collectGarbage()).isZero();
+        assertThat(blob).exists();
+
+        FileSystemUtils.deleteRecursively(second);
+        assertThat(blobStore.collectGarbage()).isEqualTo(1);
+        assertThat(blob).doesNotExist();
+    }
+
+    private Path release(String name, String content) throws IOException {
+        var dir = Files.createDirectories(tempDir.resolve("static-pages/releases").resolve(name));
+        Files.writeString(dir.resolve("a.js"), content);
+        Files.createFile(dir.resolve("empty.txt"));
+        var metadataDir = Files.createDirectory(dir.resolve(ProjectManifestStore.METADATA_DIR));
+        Files.writeString(metadataDir.resolve("manifest.json"), content);
+        return dir;
+    }
+
+    private static int nlink(Path file) throws IOException {
+        return ((Number) Files.getAttribute(file, "unix:nlink")).intValue();
+    }
+}
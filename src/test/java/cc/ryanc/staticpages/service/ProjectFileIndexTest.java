@@ -0,0 +1,98 @@
+package cc.ryanc.staticpages.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import cc.ryanc.staticpages.event.ProjectFilesChangedEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProjectFileIndexTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    private Path projectDir;
+
+    private final ProjectIoScheduler ioScheduler = new ProjectIoScheduler();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(projectDir.resolve("guide"));
+        Files.writeString(projectDir.resolve("index.html"), "index");
+        Files.writeString(projectDir.resolve("guide/a.html"), "a");
+        Files.createDirectories(projectDir.resolve(ProjectManifestStore.METADATA_DIR));
+        Files.writeString(projectDir.resolve(ProjectManifestStore.METADATA_DIR)
+            .resolve("manifest.json"), "{}");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioScheduler.destroy();
+    }
+
+    @Test
+    void indexesRegularFiles() {
+        var index = new ProjectFileIndex(ioScheduler);
+
+        assertThat(index.exists("docs", projectDir, projectDir.resolve("index.html"))).isTrue();
+        assertThat(index.exists("docs", projectDir, projectDir.resolve("guide/a.html"))).isTrue();
+        assertThat(index.exists("docs", projectDir, projectDir.resolve("guide"))).isFalse();
+        assertThat(index.exists("docs", projectDir,
+            projectDir.resolve(ProjectManifestStore.METADATA_DIR).resolve("manifest.json")))
+            .isFalse();
+    }
+
+    @Test
+    void refreshesOnFilesChanged() throws IOException {
+        var index = new ProjectFileIndex(ioScheduler);
+        var file = projectDir.resolve("guide/b.html");
+        assertThat(index.exists("docs", projectDir, file)).isFalse();
+
+        Files.writeString(file, "b");
+        index.onProjectFilesChanged(new ProjectFilesChangedEvent(this, "docs", projectDir, file));
+        assertThat(index.exists("docs", projectDir, file)).isTrue();
+
+        Files.delete(file);
+        index.onProjectFilesChanged(
+            new ProjectFilesChangedEvent(this, "docs", projectDir, projectDir.resolve("guide")));
+        assertThat(index.exists("docs", projectDir, file)).isFalse();
+        assertThat(index.exists("docs", projectDir, projectDir.resolve("guide/a.html"))).isTrue();
+    }
+
+    @Test
+    void trustsMissesUntilExpired() throws IOException {
+        var index = new ProjectFileIndex(ioScheduler, Duration.ofHours(1));
+        var file = projectDir.resolve("added.html");
+        assertThat(index.exists("docs", projectDir, file)).isFalse();
+
+        // Added outside the plugin, no event is raised
+        Files.writeString(file, "added");
+        assertThat(index.exists("docs", projectDir, file)).isFalse();
+    }
+
+    @Test
+    void findsFilesAddedOutsideThePluginOnceExpired() throws IOException {
+        var index = new ProjectFileIndex(ioScheduler, Duration.ZERO);
+        var file = projectDir.resolve("added.html");
+        assertThat(index.exists("docs", projectDir, file)).isFalse();
+
+        Files.writeString(file, "added");
+        // Answered from the stale index until the rebuild in the background is done
+        await(() -> index.exists("docs", projectDir, file));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("waiting for the condition").isLessThan(deadline);
+            LockSupport.parkNanos(Duration.ofMillis(1).toNanos());
+        }
+    }
+}
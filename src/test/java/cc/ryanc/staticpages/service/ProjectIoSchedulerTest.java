@@ -0,0 +1,80 @@
+package cc.ryanc.staticpages.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class ProjectIoSchedulerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final ProjectIoScheduler ioScheduler = new ProjectIoScheduler();
+
+    @AfterEach
+    void tearDown() {
+        ioScheduler.destroy();
+    }
+
+    @Test
+    void releasesPermitsOnError() {
+        var limit = ioScheduler.getStats().bulkLimit();
+        for (int i = 0; i <= limit; i++) {
+            var failing = ioScheduler.limit("docs",
+                Mono.error(new IllegalStateException("failed")));
+            assertThatThrownBy(() -> failing.block(TIMEOUT))
+                .isInstanceOf(IllegalStateException.class);
+        }
+
+        assertIdle();
+        assertThat(ioScheduler.limit("docs", Mono.just("done")).block(TIMEOUT))
+            .isEqualTo("done");
+    }
+
+    @Test
+    void releasesPermitsOnCancel() {
+        var running = ioScheduler.limit("docs", Mono.never()).subscribe();
+        await(() -> ioScheduler.getStats().bulkOperations() == 1);
+        // Waits behind the running operation of the same project
+        var queued = ioScheduler.limit("docs", Mono.never()).subscribe();
+        await(() -> ioScheduler.getStats().bulkQueued() == 1);
+
+        queued.dispose();
+        running.dispose();
+
+        await(() -> ioScheduler.getStats().bulkOperations() == 0);
+        assertIdle();
+        assertThat(ioScheduler.limit("docs", Mono.just("done")).block(TIMEOUT))
+            .isEqualTo("done");
+    }
+
+    @Test
+    void forgetsIdleProjects() {
+        for (int i = 0; i < 10; i++) {
+            ioScheduler.limit("project-" + i, Mono.just(i)).block(TIMEOUT);
+        }
+
+        assertThat(ioScheduler.getProjectQueueCount()).isZero();
+    }
+
+    private void assertIdle() {
+        await(() -> ioScheduler.getProjectQueueCount() == 0);
+        var stats = ioScheduler.getStats();
+        assertThat(stats.bulkOperations()).isZero();
+        assertThat(stats.bulkQueued()).isZero();
+        assertThat(stats.bulkQueuedByProject()).isEmpty();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("waiting for the condition").isLessThan(deadline);
+            LockSupport.parkNanos(Duration.ofMillis(1).toNanos());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package cc.ryanc.staticpages.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import cc.ryanc.staticpages.event.ProjectFilesChangedEvent;
+import cc.ryanc.staticpages.model.ProjectManifestEntry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import run.halo.app.infra.utils.JsonUtils;
+
+class ProjectManifestStoreTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    private Path projectDir;
+
+    private final ProjectIoScheduler ioScheduler = new ProjectIoScheduler();
+
+    private ProjectManifestStore manifestStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(projectDir.resolve("guide"));
+        Files.writeString(projectDir.resolve("index.html"), "index");
+        Files.writeString(projectDir.resolve("guide/a.html"), "a");
+        manifestStore = new ProjectManifestStore(ioScheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioScheduler.destroy();
+    }
+
+    @Test
+    void reusesHashesOfFilesWithSameSizeAndModifiedTime() throws IOException {
+        var file = projectDir.resolve("index.html");
+        var hash = hashOf("index.html");
+        var lastModified = Files.getLastModifiedTime(file);
+
+        // Same size and modified time, the content is not read again
+        Files.writeString(file, "INDEX");
+        Files.setLastModifiedTime(file, lastModified);
+        assertThat(hashOf("index.html")).isEqualTo(hash);
+
+        Files.setLastModifiedTime(file,
+            FileTime.fromMillis(lastModified.toMillis() + Duration.ofSeconds(1).toMillis()));
+        assertThat(hashOf("index.html")).isNotEqualTo(hash)
+            .isEqualTo(ProjectManifestStore.sha256(file));
+    }
+
+    @Test
+    void refreshesChangedFilesInTheBackground() throws IOException {
+        manifestStore.getEntries("docs", projectDir);
+        var file = projectDir.resolve("guide/b.html");
+        Files.writeString(file, "b");
+
+        manifestStore.onProjectFilesChanged(
+            new ProjectFilesChangedEvent(this, "docs", projectDir, file));
+
+        await(() -> savedPaths().contains("guide/b.html"));
+    }
+
+    @Test
+    void removesEntriesOfDeletedDirectories() throws IOException {
+        manifestStore.getEntries("docs", projectDir);
+        assertThat(savedPaths()).contains("guide/a.html");
+        Files.delete(projectDir.resolve("guide/a.html"));
+        Files.delete(projectDir.resolve("guide"));
+
+        manifestStore.onProjectFilesChanged(
+            new ProjectFilesChangedEvent(this, "docs", projectDir, projectDir.resolve("guide")));
+
+        await(() -> savedPaths().equals(List.of("index.html")));
+    }
+
+    private String hashOf(String path) throws IOException {
+        return manifestStore.getEntries("docs", projectDir).stream()
+            .filter(entry -> entry.path().equals(path))
+            .map(ProjectManifestEntry::hash)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private List<String> savedPaths() {
+        var manifestFile = projectDir.resolve(ProjectManifestStore.METADATA_DIR)
+            .resolve(ProjectManifestStore.MANIFEST_FILE);
+        try {
+            List<ProjectManifestEntry> entries = JsonUtils.mapper()
+                .readValue(manifestFile.toFile(), new TypeReference<>() {
+                });
+            return entries.stream().map(ProjectManifestEntry::path).toList();
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("waiting for the condition").isLessThan(deadline);
+            LockSupport.parkNanos(Duration.ofMillis(1).toNanos());
+        }
+    }
+}
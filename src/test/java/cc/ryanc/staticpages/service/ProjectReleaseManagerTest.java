@@ -0,0 +1,136 @@
+package cc.ryanc.staticpages.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import cc.ryanc.staticpages.extensions.Project;
+import cc.ryanc.staticpages.model.ProjectRelease;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.app.infra.BackupRootGetter;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectReleaseManagerTest {
+
+    @Mock
+    private ReactiveExtensionClient client;
+
+    @Mock
+    private BackupRootGetter backupRootGetter;
+
+    @Mock
+    private ProjectBlobStore blobStore;
+
+    @TempDir
+    private Path tempDir;
+
+    private final ProjectIoScheduler ioScheduler = new ProjectIoScheduler();
+
+    @AfterEach
+    void tearDown() {
+        ioScheduler.destroy();
+    }
+
+    @Test
+    void ordersReleasesByTimestampAndSuffix() {
+        var names = Stream.of("20240101000000000", "20240101000000000-2",
+                "20240101000000000-10", "20240102000000000")
+            .sorted(ProjectReleaseManager.NEWEST_FIRST)
+            .toList();
+
+        assertThat(names).containsExactly("20240102000000000", "20240101000000000-10",
+            "20240101000000000-2", "20240101000000000");
+    }
+
+    @Test
+    void pointToSwitchesLink() throws IOException {
+        var first = Files.createDirectories(tempDir.resolve("releases/20240101000000000"));
+        var second = Files.createDirectories(tempDir.resolve("releases/20240102000000000"));
+        var projectDir = tempDir.resolve("static/docs");
+
+        ProjectReleaseManager.pointTo(projectDir, first);
+        assertThat(ProjectReleaseManager.getCurrentRelease(projectDir))
+            .isEqualTo("20240101000000000");
+
+        ProjectReleaseManager.pointTo(projectDir, second);
+        assertThat(ProjectReleaseManager.getCurrentRelease(projectDir))
+            .isEqualTo("20240102000000000");
+        try (var files = Files.list(projectDir.getParent())) {
+            assertThat(files).containsExactly(projectDir);
+        }
+    }
+
+    @Test
+    void pointToRetiresDirectoryDeployedInPlace() throws IOException {
+        var releasesDir = Files.createDirectories(tempDir.resolve("releases"));
+        var release = Files.createDirectory(releasesDir.resolve("20990101000000000"));
+        var projectDir = Files.createDirectories(tempDir.resolve("static/docs"));
+        Files.writeString(projectDir.resolve("index.html"), "old");
+
+        ProjectReleaseManager.pointTo(projectDir, release);
+
+        assertThat(Files.isSymbolicLink(projectDir)).isTrue();
+        try (var dirs = Files.list(releasesDir)) {
+            var retired = dirs.filter(dir -> !dir.equals(release)).toList();
+            assertThat(retired).hasSize(1);
+            assertThat(retired.get(0).resolve("index.html")).hasContent("old");
+        }
+    }
+
+    @Test
+    void prunesOldReleasesButKeepsCurrent() throws IOException {
+        var releasesDir = Files.createDirectories(tempDir.resolve("releases"));
+        for (String name : List.of("20240101000000000", "20240101000000000-1",
+            "20240101000000000-2", "20240101000000000-10", "20240102000000000")) {
+            Files.createDirectory(releasesDir.resolve(name));
+        }
+
+        ProjectReleaseManager.prune(releasesDir, "20240101000000000", 2);
+
+        try (var dirs = Files.list(releasesDir)) {
+            assertThat(dirs.map(dir -> dir.getFileName().toString()))
+                .containsExactlyInAnyOrder("20240102000000000", "20240101000000000-10",
+                    "20240101000000000");
+        }
+    }
+
+    @Test
+    void rollsBackToPreviousRelease() throws IOException {
+        when(backupRootGetter.get()).thenReturn(tempDir.resolve("backups"));
+        var project = ProjectRewriteRulesTest.project("docs", "docs");
+        when(client.get(Project.class, "docs")).thenReturn(Mono.just(project));
+        when(client.update(any(Project.class))).thenReturn(Mono.just(project));
+        var releasesDir = Files.createDirectories(
+            tempDir.resolve("static-pages/releases/docs"));
+        for (String name : List.of("20240101000000000", "20240101000000000-2",
+            "20240101000000000-10")) {
+            Files.createDirectory(releasesDir.resolve(name));
+        }
+        var projectDir = tempDir.resolve("static/docs");
+        ProjectReleaseManager.pointTo(projectDir, releasesDir.resolve("20240101000000000-10"));
+        var releaseManager =
+            new ProjectReleaseManager(client, backupRootGetter, blobStore, ioScheduler);
+
+        assertThat(releaseManager.listReleases("docs", projectDir))
+            .extracting(ProjectRelease::name)
+            .containsExactly("20240101000000000-10", "20240101000000000-2",
+                "20240101000000000");
+        assertThat(releaseManager.rollback(project, projectDir).block())
+            .isEqualTo("20240101000000000-2");
+        assertThat(ProjectReleaseManager.getCurrentRelease(projectDir))
+            .isEqualTo("20240101000000000-2");
+        assertThat(project.getStatus().getCurrentRelease()).isEqualTo("20240101000000000-2");
+    }
+}
@@ -0,0 +1,108 @@
+package cc.ryanc.staticpages.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+
+import cc.ryanc.staticpages.extensions.Project;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.server.PathContainer;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectResourceResolverTest {
+
+    @Mock
+    private PageProjectService pageProjectService;
+
+    @Mock
+    private ProjectManifestStore manifestStore;
+
+    @TempDir
+    private Path projectDir;
+
+    private final ProjectIoScheduler ioScheduler = new ProjectIoScheduler();
+
+    private ProjectRewriteRules.ProjectRules rules;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(projectDir.resolve("index.html"), "index");
+        Files.writeString(projectDir.resolve("a.html"), "a");
+        lenient().when(pageProjectService.determinePath("docs")).thenReturn(projectDir);
+
+        var project = ProjectRewriteRulesTest.project("docs", "docs");
+        var fallback = new Project.Rewrite();
+        fallback.setSource("/**");
+        fallback.setTarget("/index.html");
+        project.getSpec().setRewrites(List.of(fallback));
+        var rewriteRules = new ProjectRewriteRules();
+        rewriteRules.updateRules(project);
+        rules = rewriteRules.findProject("/docs/");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioScheduler.destroy();
+    }
+
+    @Test
+    void resolvesFileAndRewriteTarget() {
+        var resolver = resolver(new ProjectFileIndex(ioScheduler), new RewriteResolutionCache());
+
+        assertThat(resolve(resolver, "/docs/a.html")).isEqualTo(projectDir.resolve("a.html"));
+        assertThat(resolve(resolver, "/docs/missing"))
+            .isEqualTo(projectDir.resolve("index.html"));
+    }
+
+    @Test
+    void fallsThroughWhenIndexedFileWasRemoved() throws IOException {
+        var resolver = resolver(new ProjectFileIndex(ioScheduler), new RewriteResolutionCache());
+        assertThat(resolve(resolver, "/docs/missing"))
+            .isEqualTo(projectDir.resolve("index.html"));
+
+        // Removed outside the plugin, the index still lists it
+        Files.delete(projectDir.resolve("a.html"));
+
+        assertThat(resolve(resolver, "/docs/a.html"))
+            .isEqualTo(projectDir.resolve("index.html"));
+    }
+
+    @Test
+    void servesFilesAddedOutsideThePlugin() throws IOException {
+        var resolver = resolver(new ProjectFileIndex(ioScheduler, Duration.ZERO),
+            new RewriteResolutionCache(Duration.ZERO));
+        assertThat(resolve(resolver, "/docs/b.html"))
+            .isEqualTo(projectDir.resolve("index.html"));
+
+        Files.writeString(projectDir.resolve("b.html"), "b");
+
+        // The index is rebuilt in the background
+        var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!projectDir.resolve("b.html").equals(resolve(resolver, "/docs/b.html"))) {
+            assertThat(System.nanoTime()).as("waiting for the rebuild").isLessThan(deadline);
+            LockSupport.parkNanos(Duration.ofMillis(1).toNanos());
+        }
+    }
+
+    private ProjectResourceResolver resolver(ProjectFileIndex index,
+        RewriteResolutionCache resolutionCache) {
+        return new ProjectResourceResolver(pageProjectService, resolutionCache, index,
+            manifestStore, ioScheduler);
+    }
+
+    private Path resolve(ProjectResourceResolver resolver, String path) {
+        var resource = resolver.resolve(rules, PathContainer.parsePath(path), null).block();
+        return resource == null ? null : resource.file();
+    }
+}
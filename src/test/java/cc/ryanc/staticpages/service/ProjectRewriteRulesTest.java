@@ -0,0 +1,133 @@
+package cc.ryanc.staticpages.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import cc.ryanc.staticpages.extensions.Project;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import run.halo.app.extension.Metadata;
+
+class ProjectRewriteRulesTest {
+
+    private final ProjectRewriteRules rewriteRules = new ProjectRewriteRules();
+
+    static Project project(String name, String directory) {
+        var project = new Project();
+        project.setMetadata(new Metadata());
+        project.getMetadata().setName(name);
+        project.setSpec(new Project.Spec());
+        project.getSpec().setDirectory(directory);
+        return project;
+    }
+
+    @Test
+    void findProjectOnSegmentBoundary() {
+        rewriteRules.updateRules(project("docs", "docs"));
+
+        assertThat(rewriteRules.findProject("/docs")).isNotNull();
+        assertThat(rewriteRules.findProject("/docs/")).isNotNull();
+        assertThat(rewriteRules.findProject("/docs/guide/index.html")).isNotNull();
+        assertThat(rewriteRules.findProject("/docs-old/index.html")).isNull();
+        assertThat(rewriteRules.findProject("/doc")).isNull();
+        assertThat(rewriteRules.findProject("/")).isNull();
+    }
+
+    @Test
+    void findDeepestProjectWhenNested() {
+        rewriteRules.updateRules(project("docs", "docs"));
+        rewriteRules.updateRules(project("docs-v2", "docs/v2"));
+
+        assertThat(rewriteRules.findProject("/docs/v2/a.html"))
+            .extracting(ProjectRewriteRules.ProjectRules::name)
+            .isEqualTo("docs-v2");
+        assertThat(rewriteRules.findProject("/docs/v1/a.html"))
+            .extracting(ProjectRewriteRules.ProjectRules::name)
+            .isEqualTo("docs");
+
+        rewriteRules.removeRules(project("docs-v2", "docs/v2"));
+        assertThat(rewriteRules.findProject("/docs/v2/a.html"))
+            .extracting(ProjectRewriteRules.ProjectRules::name)
+            .isEqualTo("docs");
+    }
+
+    @Test
+    void servesFromSourceDirectoryWhileMoving() {
+        var project = project("docs", "docs-new");
+        project.getMetadata().setAnnotations(new HashMap<>(
+            Map.of(ProjectDirectoryMover.MOVING_FROM_ANNO, "docs")));
+        rewriteRules.updateRules(project);
+
+        var rules = rewriteRules.findProject("/docs-new/index.html");
+        assertThat(rules).isNotNull();
+        assertThat(rules.directory()).isEqualTo("docs");
+
+        project.getMetadata().getAnnotations().remove(ProjectDirectoryMover.MOVING_FROM_ANNO);
+        rewriteRules.updateRules(project);
+        assertThat(rewriteRules.findProject("/docs-new/index.html"))
+            .extracting(ProjectRewriteRules.ProjectRules::directory)
+            .isEqualTo("docs-new");
+    }
+
+    @Test
+    void compareRegion() {
+        assertThat(ProjectRootTrie.compareRegion("docs", "/docs/a", 1, 5)).isZero();
+        assertThat(ProjectRootTrie.compareRegion("docs", "/docs-old", 1, 9)).isNegative();
+        assertThat(ProjectRootTrie.compareRegion("docs", "/doc", 1, 4)).isPositive();
+    }
+
+    @Test
+    void isFingerprinted() {
+        assertThat(ProjectRewriteRules.isFingerprinted("/docs/assets/main.3f9a1c2e.js")).isTrue();
+        assertThat(ProjectRewriteRules.isFingerprinted("/docs/assets/index-B2x9QkLm.css"))
+            .isTrue();
+        assertThat(ProjectRewriteRules.isFingerprinted("/docs/index.html")).isFalse();
+        assertThat(ProjectRewriteRules.isFingerprinted("/docs/jquery-3.7.1.min.js")).isFalse();
+        assertThat(ProjectRewriteRules.isFingerprinted("/docs/bootstrap-datepicker.js"))
+            .isFalse();
+        assertThat(ProjectRewriteRules.isFingerprinted("/docs/guide-chapter10.html")).isFalse();
+        assertThat(ProjectRewriteRules.isFingerprinted("/docs/tutorial-part10.html")).isFalse();
+        assertThat(ProjectRewriteRules.isFingerprinted("/docs/guide-chapter10.js")).isFalse();
+        assertThat(ProjectRewriteRules.isFingerprinted("/docs/logo-Chapter10.png")).isFalse();
+        // Pages are never immutable, whatever their name
+        assertThat(ProjectRewriteRules.isFingerprinted("/docs/about.3f9a1c2e.html")).isFalse();
+    }
+
+    @Test
+    void applyHeaders() {
+        var project = project("docs", "docs");
+        var rule = new Project.HeaderRule();
+        rule.setSource("/guide/*.html");
+        var header = new Project.Header();
+        header.setName("Cache-Control");
+        header.setValue("no-cache");
+        rule.setHeaders(List.of(header));
+        project.getSpec().setHeaders(List.of(rule));
+        project.getSpec().setImmutableAssets(true);
+        rewriteRules.updateRules(project);
+
+        var rules = rewriteRules.findProject("/docs/index.html");
+        assertThat(rules).isNotNull();
+        var headers = new HttpHeaders();
+        rules.applyHeaders("/docs/guide/index.html", headers);
+        assertThat(headers.getCacheControl()).isEqualTo("no-cache");
+
+        headers = new HttpHeaders();
+        rules.applyHeaders("/docs/assets/main.3f9a1c2e.js", headers);
+        assertThat(headers.getCacheControl())
+            .isEqualTo(ProjectRewriteRules.IMMUTABLE_CACHE_CONTROL);
+    }
+
+    @Test
+    void applyHeadersWithoutImmutableAssets() {
+        rewriteRules.updateRules(project("docs", "docs"));
+
+        var rules = rewriteRules.findProject("/docs/index.html");
+        assertThat(rules).isNotNull();
+        var headers = new HttpHeaders();
+        rules.applyHeaders("/docs/assets/main.3f9a1c2e.js", headers);
+        assertThat(headers.getCacheControl()).isNull();
+    }
+}
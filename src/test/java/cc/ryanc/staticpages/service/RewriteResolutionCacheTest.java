@@ -0,0 +1,83 @@
+package cc.ryanc.staticpages.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import cc.ryanc.staticpages.event.ProjectFilesChangedEvent;
+import cc.ryanc.staticpages.extensions.Project;
+import cc.ryanc.staticpages.service.ProjectRewriteRules.ProjectRules;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RewriteResolutionCacheTest {
+    private static final Path PROJECT_DIR = Path.of("/static/docs");
+
+    private final ProjectRewriteRules rewriteRules = new ProjectRewriteRules();
+
+    private final RewriteResolutionCache cache = new RewriteResolutionCache();
+
+    private Project project;
+
+    private ProjectRules rules;
+
+    @BeforeEach
+    void setUp() {
+        project = ProjectRewriteRulesTest.project("docs", "docs");
+        rewriteRules.updateRules(project);
+        rules = rewriteRules.findProject("/docs/");
+    }
+
+    @Test
+    void cachesResolvedFilesAndMisses() {
+        assertThat(cache.get(rules, "/docs/a.html")).isNull();
+
+        cache.putResolved(rules, "/docs/a.html", PROJECT_DIR.resolve("a.html"));
+        cache.putNotFound(rules, "/docs/missing");
+
+        assertThat(cache.get(rules, "/docs/a.html"))
+            .extracting(RewriteResolutionCache.Resolution::file)
+            .isEqualTo(PROJECT_DIR.resolve("a.html"));
+        assertThat(cache.get(rules, "/docs/missing"))
+            .matches(RewriteResolutionCache.Resolution::isNotFound);
+    }
+
+    @Test
+    void dropsEntriesResolvedAgainstOlderRules() {
+        cache.putResolved(rules, "/docs/a.html", PROJECT_DIR.resolve("a.html"));
+
+        rewriteRules.updateRules(project);
+
+        assertThat(cache.get(rewriteRules.findProject("/docs/"), "/docs/a.html")).isNull();
+    }
+
+    @Test
+    void invalidatesProjectOnFilesChanged() {
+        var otherRules = updateRules("blog");
+        cache.putNotFound(rules, "/docs/missing");
+        cache.putNotFound(otherRules, "/blog/missing");
+
+        cache.onProjectFilesChanged(
+            new ProjectFilesChangedEvent(this, "docs", PROJECT_DIR, PROJECT_DIR.resolve("b")));
+
+        assertThat(cache.get(rules, "/docs/missing")).isNull();
+        assertThat(cache.get(otherRules, "/blog/missing")).isNotNull();
+    }
+
+    @Test
+    void expiresMissesBeforeResolvedFiles() {
+        var cache = new RewriteResolutionCache(Duration.ZERO);
+        cache.putResolved(rules, "/docs/a.html", PROJECT_DIR.resolve("a.html"));
+        cache.putNotFound(rules, "/docs/missing");
+        LockSupport.parkNanos(Duration.ofMillis(1).toNanos());
+
+        assertThat(cache.get(rules, "/docs/missing")).isNull();
+        assertThat(cache.get(rules, "/docs/a.html")).isNotNull();
+    }
+
+    private ProjectRules updateRules(String name) {
+        rewriteRules.updateRules(ProjectRewriteRulesTest.project(name, name));
+        return rewriteRules.findProject("/" + name + "/");
+    }
+}
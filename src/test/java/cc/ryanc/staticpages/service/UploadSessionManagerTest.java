@@ -0,0 +1,174 @@
+package cc.ryanc.staticpages.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+
+import cc.ryanc.staticpages.model.UploadSession;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import run.halo.app.infra.BackupRootGetter;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionManagerTest {
+
+    @Mock
+    private BackupRootGetter backupRootGetter;
+
+    @TempDir
+    private Path tempDir;
+
+    private final ProjectIoScheduler ioScheduler = new ProjectIoScheduler();
+
+    private UploadSessionManager sessionManager;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(backupRootGetter.get()).thenReturn(tempDir.resolve("backups"));
+        sessionManager = new UploadSessionManager(backupRootGetter, ioScheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioScheduler.destroy();
+    }
+
+    @Test
+    void resumesAfterRestart() throws IOException {
+        var session = create("0123456789");
+        write(session, 4, "4567", sha256("4567"));
+        assertThat(session.getUploadedBytes()).isZero();
+
+        // Loaded from disk by another instance
+        var restarted = new UploadSessionManager(backupRootGetter, ioScheduler);
+        var resumed = restarted.get("docs", session.getId()).block();
+        assertThat(resumed.getReceivedChunks()).containsExactly(1);
+        restarted.writeChunk("docs", session.getId(), 0, null, content("0123")).block();
+        assertThat(resumed.getUploadedBytes()).isEqualTo(8);
+        restarted.writeChunk("docs", session.getId(), 8, sha256("89"), content("89")).block();
+
+        var completed = restarted.complete("docs", session.getId()).block();
+        assertThat(restarted.getSpoolFile(completed)).hasContent("0123456789");
+    }
+
+    @Test
+    void rejectsInvalidChunks() {
+        var session = create("0123456789");
+
+        assertThatThrownBy(() -> write(session, 3, "3456", null))
+            .isInstanceOf(ServerWebInputException.class);
+        assertThatThrownBy(() -> write(session, 12, "ab", null))
+            .isInstanceOf(ServerWebInputException.class);
+        assertThatThrownBy(() -> write(session, 0, "012", null))
+            .isInstanceOf(ServerWebInputException.class);
+        assertThatThrownBy(() -> write(session, 0, "0123", sha256("3210")))
+            .isInstanceOf(ServerWebInputException.class);
+        assertThatThrownBy(() -> sessionManager.get("other", session.getId()).block())
+            .isInstanceOf(ServerWebInputException.class);
+
+        assertThat(session.getReceivedChunks()).isEmpty();
+        assertThatThrownBy(() -> sessionManager.complete("docs", session.getId()).block())
+            .isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void completesOnceAtATime() {
+        var session = create("0123");
+        write(session, 0, "0123", null);
+
+        var claimed = sessionManager.complete("docs", session.getId()).block();
+        assertThatThrownBy(() -> sessionManager.complete("docs", session.getId()).block())
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        assertThatThrownBy(() -> write(session, 0, "0123", null))
+            .isInstanceOf(ResponseStatusException.class);
+
+        // Completing failed, it may be retried
+        sessionManager.release(claimed);
+        claimed = sessionManager.complete("docs", session.getId()).block();
+
+        sessionManager.delete(claimed).block();
+        assertThatThrownBy(() -> sessionManager.complete("docs", session.getId()).block())
+            .isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void limitsOpenSessionsPerProject() {
+        for (int i = 0; i < UploadSessionManager.MAX_SESSIONS_PER_PROJECT; i++) {
+            create("0123");
+        }
+
+        assertThatThrownBy(() -> create("0123")).isInstanceOf(ServerWebInputException.class);
+        assertThat(sessionManager.create("other", "site.zip", 4, null, true, null, List.of())
+            .block()).isNotNull();
+    }
+
+    @Test
+    void removesExpiredSessions() throws IOException {
+        var expired = create("0123");
+        var active = create("4567");
+        var uploadsDir = sessionManager.getSpoolFile(expired).getParent();
+        var orphan = Files.createFile(uploadsDir.resolve(
+            "00000000-0000-0000-0000-000000000000.part"));
+        var longAgo = FileTime.from(
+            Instant.now().minus(UploadSessionManager.SESSION_TTL).minusSeconds(60));
+        for (Path file : List.of(sessionManager.getSpoolFile(expired),
+            uploadsDir.resolve(expired.getId() + ".json"), orphan)) {
+            Files.setLastModifiedTime(file, longAgo);
+        }
+
+        sessionManager.removeExpired();
+
+        assertThat(sessionManager.getSpoolFile(expired)).doesNotExist();
+        assertThat(orphan).doesNotExist();
+        assertThat(sessionManager.getSpoolFile(active)).exists();
+        assertThatThrownBy(() -> sessionManager.get("docs", expired.getId()).block())
+            .isInstanceOf(ServerWebInputException.class);
+    }
+
+    private UploadSession create(String content) {
+        return sessionManager.create("docs", "site.zip", content.length(), 4, true, null,
+            List.of()).block();
+    }
+
+    private void write(UploadSession session, long offset, String chunk,
+        @Nullable String sha256) {
+        sessionManager.writeChunk("docs", session.getId(), offset, sha256, content(chunk))
+            .block();
+    }
+
+    private static Flux<DataBuffer> content(String chunk) {
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(UTF_8)));
+    }
+
+    private static String sha256(String chunk) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(chunk.getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package cc.ryanc.staticpages.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import cc.ryanc.staticpages.service.ProjectIoScheduler;
+import cc.ryanc.staticpages.utils.FileUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+class DefaultPageFileManagerTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final ProjectIoScheduler ioScheduler = new ProjectIoScheduler();
+    private final DefaultPageFileManager pageFileManager = new DefaultPageFileManager(ioScheduler);
+
+    @AfterEach
+    void tearDown() {
+        ioScheduler.destroy();
+    }
+
+    @Test
+    void writesWhenVersionMatches() throws IOException {
+        var file = Files.writeString(tempDir.resolve("index.html"), "old");
+        var version = pageFileManager.readString(file, 1024).block().version();
+
+        var written = pageFileManager.writeString(file, "new", List.of("other", version))
+            .block();
+
+        assertThat(file).hasContent("new");
+        assertThat(written).isEqualTo(FileUtils.versionOf(file)).isNotEqualTo(version);
+    }
+
+    @Test
+    void rejectsWriteWhenFileChanged() throws IOException {
+        var file = Files.writeString(tempDir.resolve("index.html"), "old");
+        var version = pageFileManager.readString(file, 1024).block().version();
+        var modified = Files.getLastModifiedTime(file);
+        // Replaced with content of the same size and time, only the file key differs
+        var replacement = Files.writeString(tempDir.resolve("replacement"), "two");
+        Files.setLastModifiedTime(replacement, modified);
+        Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING);
+
+        assertThatThrownBy(() -> pageFileManager.writeString(file, "new", List.of(version))
+            .block())
+            .isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(
+                e.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED));
+        assertThat(file).hasContent("two");
+    }
+
+    @Test
+    void rejectsWriteWithoutMatchingVersion() throws IOException {
+        var file = Files.writeString(tempDir.resolve("index.html"), "old");
+
+        assertThatThrownBy(() -> pageFileManager.writeString(file, "new", List.of()).block())
+            .isInstanceOf(ResponseStatusException.class);
+        assertThat(file).hasContent("old");
+        assertThat(pageFileManager.writeString(file, "new", null).block()).isNotNull();
+        assertThat(file).hasContent("new");
+    }
+
+    @Test
+    void keepsPermissionsOfReplacedFile() throws IOException {
+        var file = Files.writeString(tempDir.resolve("index.html"), "old");
+        assumeThat(Files.getFileAttributeView(file, PosixFileAttributeView.class)).isNotNull();
+        var permissions = PosixFilePermissions.fromString("rw-rw-r--");
+        Files.setPosixFilePermissions(file, permissions);
+
+        pageFileManager.writeString(file, "new", null).block();
+
+        assertThat(file).hasContent("new");
+        assertThat(Files.getPosixFilePermissions(file)).isEqualTo(permissions);
+    }
+
+    @Test
+    void writesNewFilesReadableByOthers() throws IOException {
+        assumeThat(Files.getFileAttributeView(tempDir, PosixFileAttributeView.class)).isNotNull();
+        var file = tempDir.resolve("assets/app.js");
+
+        pageFileManager.write(file, Flux.empty()).block();
+
+        assertThat(Files.getPosixFilePermissions(file))
+            .isEqualTo(PosixFilePermissions.fromString("rw-r--r--"));
+    }
+}
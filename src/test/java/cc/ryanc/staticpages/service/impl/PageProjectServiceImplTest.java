@@ -1,11 +1,17 @@
 package cc.ryanc.staticpages.service.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import cc.ryanc.staticpages.extensions.Project;
+import cc.ryanc.staticpages.model.UploadContext;
+import cc.ryanc.staticpages.service.UploadSessionManager;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +19,11 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.Metadata;
+import run.halo.app.extension.ReactiveExtensionClient;
 import run.halo.app.infra.BackupRootGetter;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,6 +31,12 @@ class PageProjectServiceImplTest {
     @Mock
     private BackupRootGetter backupRootGetter;
 
+    @Mock
+    private ReactiveExtensionClient client;
+
+    @Mock
+    private UploadSessionManager uploadSessionManager;
+
     @TempDir
     private Path tempDir;
 
@@ -42,6 +59,33 @@ class PageProjectServiceImplTest {
         assertThat(path).isEqualTo(expectedPath);
     }
 
+    @Test
+    void rejectsUploadSessionLargerThanQuota() {
+        var project = project("docs");
+        project.getSpec().setStorageQuota(1024L);
+        when(client.get(Project.class, "docs")).thenReturn(Mono.just(project));
+
+        assertThatThrownBy(() -> pageProjectService.createUploadSession("docs", "site.zip", 2048,
+            null, true, null, List.of()).block()).isInstanceOf(ServerWebInputException.class);
+        verifyNoInteractions(uploadSessionManager);
+    }
+
+    @Test
+    void rejectsDeletionsOutsideDeploys() {
+        when(client.get(Project.class, "docs")).thenReturn(Mono.just(project("docs")));
+        var uploadContext = UploadContext.builder()
+            .name("docs")
+            .filename("index.html")
+            .content(Flux.empty())
+            .unzip(false)
+            .deletions(List.of("old.html"))
+            .build();
+
+        assertThatThrownBy(() -> pageProjectService.upload(uploadContext).block())
+            .isInstanceOf(ServerWebInputException.class)
+            .hasMessageContaining("仅在解压部署整个项目时支持删除文件");
+    }
+
     @Test
     void concatPath() {
         var path = PageProjectServiceImpl.concatPath(tempDir);
@@ -50,4 +94,13 @@ class PageProjectServiceImplTest {
         path = PageProjectServiceImpl.concatPath(tempDir, "a", "b", "c");
         assertThat(path).isEqualTo(Paths.get(tempDir.toString(), "a", "b", "c"));
     }
+
+    static Project project(String name) {
+        var project = new Project();
+        project.setMetadata(new Metadata());
+        project.getMetadata().setName(name);
+        project.setSpec(new Project.Spec());
+        project.getSpec().setDirectory(name);
+        return project;
+    }
 }
@@ -0,0 +1,100 @@
+package cc.ryanc.staticpages.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import cc.ryanc.staticpages.model.ProjectFile;
+import cc.ryanc.staticpages.model.ProjectFileQuery;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.scheduler.Schedulers;
+
+class ProjectFileListingTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectory(tempDir.resolve("b-dir"));
+        Files.createDirectory(tempDir.resolve("a-dir"));
+        Files.writeString(tempDir.resolve("c.html"), "c");
+        Files.writeString(tempDir.resolve("a.css"), "aaa");
+        Files.writeString(tempDir.resolve("B.js"), "bb");
+    }
+
+    @Test
+    void listsDirectoriesFirstByName() throws IOException {
+        var page = ProjectFileListing.list(tempDir, query(ProjectFileQuery.Sort.NAME, false, 0,
+            null));
+
+        assertThat(page.items()).extracting(ProjectFile::getName)
+            .containsExactly("a-dir", "b-dir", "a.css", "B.js", "c.html");
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void pagesWithCursor() throws IOException {
+        var names = new ArrayList<String>();
+        String cursor = null;
+        do {
+            var page = ProjectFileListing.list(tempDir,
+                query(ProjectFileQuery.Sort.SIZE, true, 2, cursor));
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(2);
+            page.items().forEach(file -> names.add(file.getName()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(names).hasSize(5)
+            .endsWith("a.css", "B.js", "c.html");
+    }
+
+    @Test
+    void filtersByKeyword() throws IOException {
+        var query = new ProjectFileQuery(null, "A", ProjectFileQuery.Sort.NAME, false, 0, null);
+        var page = ProjectFileListing.list(tempDir, query);
+
+        assertThat(page.items()).extracting(ProjectFile::getName)
+            .containsExactly("a-dir", "a.css");
+    }
+
+    @Test
+    void walksTreeWithDepthAndGlob() throws IOException {
+        Files.writeString(tempDir.resolve("a-dir").resolve("index.html"), "a");
+        Files.createDirectories(tempDir.resolve("a-dir").resolve("deep"));
+        Files.writeString(tempDir.resolve("a-dir").resolve("deep").resolve("d.html"), "d");
+
+        var all = ProjectFileListing.walk(tempDir, Integer.MAX_VALUE, null,
+                Schedulers.boundedElastic())
+            .map(ProjectFile::getName)
+            .collectList()
+            .block();
+        assertThat(all).containsExactlyInAnyOrder("a-dir", "b-dir", "a.css", "B.js", "c.html",
+            "index.html", "deep", "d.html");
+
+        var html = ProjectFileListing.walk(tempDir, 2, "**/*.html", Schedulers.boundedElastic())
+            .map(ProjectFile::getName)
+            .collectList()
+            .block();
+        assertThat(html).containsExactly("index.html");
+    }
+
+    @Test
+    void stopsWalkingWhenCancelled() {
+        var first = ProjectFileListing.walk(tempDir, Integer.MAX_VALUE, null,
+                Schedulers.boundedElastic())
+            .take(1)
+            .collectList()
+            .block();
+        assertThat(first).hasSize(1);
+    }
+
+    private static ProjectFileQuery query(ProjectFileQuery.Sort sort, boolean descending,
+        int limit, String cursor) {
+        return new ProjectFileQuery(null, null, sort, descending, limit, cursor);
+    }
+}
@@ -0,0 +1,188 @@
+package cc.ryanc.staticpages.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+class ExtractionBudgetTest {
+    private static final int MB = 1024 * 1024;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void rejectsTooManyEntries() {
+        var budget = new ExtractionBudget(new ExtractionLimits(MB, 2, 100));
+        budget.addEntry();
+        budget.addEntry();
+
+        assertThatThrownBy(budget::addEntry).isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void rejectsTooLargeTotalSize() {
+        var budget = new ExtractionBudget(new ExtractionLimits(MB, 10, 100));
+        budget.addCompressed(MB);
+        budget.addWritten(MB);
+
+        assertThatThrownBy(() -> budget.addWritten(1))
+            .isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void rejectsTooLargeArchive() {
+        var budget = new ExtractionBudget(new ExtractionLimits(MB, 10, 100));
+        // Headers and padding of a single entry are allowed for
+        budget.addCompressed(MB + ExtractionBudget.ENTRY_OVERHEAD);
+
+        assertThatThrownBy(() -> budget.addCompressed(1))
+            .isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void abortsEndlessArchiveStream() throws IOException {
+        var budget = new ExtractionBudget(new ExtractionLimits(MB, 10, 100));
+        var is = budget.countCompressed(new ByteArrayInputStream(new byte[2 * MB]));
+
+        assertThatThrownBy(is::readAllBytes).isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void checksRatioPastThreshold() {
+        var budget = new ExtractionBudget(new ExtractionLimits(Long.MAX_VALUE, 10, 10));
+        budget.addCompressed(1);
+        // Small archives of very compressible text are fine
+        budget.addWritten(ExtractionBudget.RATIO_CHECK_THRESHOLD);
+
+        assertThatThrownBy(() -> budget.addWritten(1))
+            .isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void countsSkippedBytesOfDecompressedStream() throws IOException {
+        var budget = new ExtractionBudget(new ExtractionLimits(MB, 10, 100));
+        var is = budget.countDecompressed(new ByteArrayInputStream(new byte[2 * MB]));
+
+        assertThatThrownBy(() -> is.skipNBytes(2 * MB))
+            .isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void untarRejectsTooManyEntries() throws IOException {
+        var out = new ByteArrayOutputStream();
+        new TarArchiveBuilder(out).file("a.txt", "a").file("b.txt", "b").end();
+
+        var limits = new ExtractionLimits(MB, 1, 100);
+        assertThatThrownBy(() -> FileUtils.untar(new ByteArrayInputStream(out.toByteArray()),
+            tempDir.resolve("target"), limits)).isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void untarRejectsTooLargeFile() throws IOException {
+        var out = new ByteArrayOutputStream();
+        new TarArchiveBuilder(out).file("a.txt", "a".repeat(2048)).end();
+
+        var limits = new ExtractionLimits(1024, 10, 100);
+        assertThatThrownBy(() -> FileUtils.untar(new ByteArrayInputStream(out.toByteArray()),
+            tempDir.resolve("target"), limits)).isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void untarRejectsBombInSkippedEntry() throws IOException {
+        // A symbolic link entry with a huge body is skipped, never written
+        var out = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(out)) {
+            var size = 64L * MB;
+            gzip.write(TarArchiveBuilder.header("link", size, '2'));
+            var zeros = new byte[MB];
+            for (int i = 0; i < 64; i++) {
+                gzip.write(zeros);
+            }
+            gzip.write(new byte[1024]);
+        }
+
+        var limits = new ExtractionLimits(Long.MAX_VALUE / 2, 10, 100);
+        var content = Flux.<DataBuffer>just(
+            DefaultDataBufferFactory.sharedInstance.wrap(out.toByteArray()));
+        assertThatThrownBy(() -> FileUtils.untar(content, tempDir.resolve("target"), true,
+            limits, Schedulers.boundedElastic()).block())
+            .isInstanceOf(ServerWebInputException.class)
+            .hasMessageContaining("压缩比");
+    }
+
+    @Test
+    void untarRejectsHugeExtendedHeader() throws IOException {
+        var out = new ByteArrayOutputStream();
+        new TarArchiveBuilder(out)
+            .header(TarArchiveBuilder.header("PaxHeaders/x",
+                TarArchiveReader.MAX_HEADER_DATA_SIZE + 1L, 'x'))
+            .end();
+
+        assertThatThrownBy(() -> FileUtils.untar(new ByteArrayInputStream(out.toByteArray()),
+            tempDir.resolve("target"), ExtractionLimits.DEFAULT))
+            .isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void unzipRejectsTooManyEntries() throws IOException {
+        var zipFile = zip("a.txt", "b.txt", "c.txt");
+
+        var limits = new ExtractionLimits(MB, 2, 100);
+        assertThatThrownBy(() -> FileUtils.unzip(zipFile, tempDir.resolve("target"), limits,
+            Schedulers.boundedElastic()).block()).isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void unzipRejectsHighRatio() throws IOException {
+        var zipFile = tempDir.resolve("bomb.zip");
+        try (var zos = new ZipOutputStream(Files.newOutputStream(zipFile))) {
+            zos.putNextEntry(new ZipEntry("zeros.bin"));
+            var zeros = new byte[MB];
+            for (int i = 0; i < 32; i++) {
+                zos.write(zeros);
+            }
+            zos.closeEntry();
+        }
+
+        var limits = new ExtractionLimits(Long.MAX_VALUE / 2, 10, 100);
+        assertThatThrownBy(() -> FileUtils.unzip(zipFile, tempDir.resolve("target"), limits,
+            Schedulers.boundedElastic()).block()).isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void unzipWithinLimits() throws IOException {
+        var zipFile = zip("a.txt", "dir/b.txt");
+
+        FileUtils.unzip(zipFile, tempDir.resolve("target"), ExtractionLimits.DEFAULT,
+            Schedulers.boundedElastic()).block();
+
+        assertThat(tempDir.resolve("target/dir/b.txt")).hasContent("dir/b.txt");
+    }
+
+    private Path zip(String... names) throws IOException {
+        var zipFile = tempDir.resolve("archive.zip");
+        try (var zos = new ZipOutputStream(Files.newOutputStream(zipFile))) {
+            for (String name : names) {
+                zos.putNextEntry(new ZipEntry(name));
+                zos.write(name.getBytes());
+                zos.closeEntry();
+            }
+        }
+        return zipFile;
+    }
+}
@@ -0,0 +1,180 @@
+package cc.ryanc.staticpages.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+class FileUtilsTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void unzipsWhileReceiving() throws IOException {
+        var content = chunked(zip("index.html", "assets/app.js"), 7);
+
+        FileUtils.unzip(content, tempDir.resolve("target"), ExtractionLimits.DEFAULT,
+            Schedulers.boundedElastic()).block();
+
+        assertThat(tempDir.resolve("target/index.html")).hasContent("index.html");
+        assertThat(tempDir.resolve("target/assets/app.js")).hasContent("assets/app.js");
+    }
+
+    @Test
+    void streamedUnzipIsBoundedByLimits() throws IOException {
+        var content = chunked(zip("a.txt", "b.txt", "c.txt"), 1024);
+
+        var limits = new ExtractionLimits(1024, 2, 100);
+        assertThatThrownBy(() -> FileUtils.unzip(content, tempDir.resolve("target"), limits,
+            Schedulers.boundedElastic()).block()).isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void streamedUnzipRejectsDirectoryTraversal() throws IOException {
+        var content = chunked(zip("../evil.txt"), 1024);
+
+        assertThatThrownBy(() -> FileUtils.unzip(content, tempDir.resolve("target"),
+            ExtractionLimits.DEFAULT, Schedulers.boundedElastic()).block())
+            .isInstanceOf(ServerWebInputException.class);
+        assertThat(tempDir.resolve("evil.txt")).doesNotExist();
+    }
+
+    @Test
+    void streamedUnzipRejectsDuplicateEntries() throws IOException {
+        // Different names of the same path
+        var content = chunked(zip("a.txt", "dir/../a.txt"), 1024);
+
+        assertThatThrownBy(() -> FileUtils.unzip(content, tempDir.resolve("target"),
+            ExtractionLimits.DEFAULT, Schedulers.boundedElastic()).block())
+            .isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void extractsSpooledArchivesInPlace() throws IOException {
+        var zipFile = Files.write(tempDir.resolve("upload.part"), zip("a.txt", "dir/b.txt"));
+        var tarFile = tempDir.resolve("upload.tgz");
+        try (var gzip = new GZIPOutputStream(Files.newOutputStream(tarFile))) {
+            new TarArchiveBuilder(gzip).file("c.txt", "c").end();
+        }
+
+        FileUtils.extract(zipFile, "site.zip", tempDir.resolve("zip"), ExtractionLimits.DEFAULT,
+            Schedulers.boundedElastic()).block();
+        FileUtils.extract(tarFile, "site.tar.gz", tempDir.resolve("tar"),
+            ExtractionLimits.DEFAULT, Schedulers.boundedElastic()).block();
+
+        assertThat(tempDir.resolve("zip/dir/b.txt")).hasContent("dir/b.txt");
+        assertThat(tempDir.resolve("tar/c.txt")).hasContent("c");
+        assertThat(zipFile).exists();
+    }
+
+    @Test
+    void spooledUnzipRejectsDirectoryTraversal() throws IOException {
+        var zipFile = Files.write(tempDir.resolve("upload.zip"), zip("a.txt", "../evil.txt"));
+
+        assertThatThrownBy(() -> FileUtils.unzip(zipFile, tempDir.resolve("target"),
+            ExtractionLimits.DEFAULT, Schedulers.boundedElastic()).block())
+            .isInstanceOf(ServerWebInputException.class);
+        assertThat(tempDir.resolve("evil.txt")).doesNotExist();
+        // Checked before anything is written
+        assertThat(tempDir.resolve("target/a.txt")).doesNotExist();
+    }
+
+    @Test
+    void spooledUnzipRejectsDuplicateEntries() throws IOException {
+        var zipFile = Files.write(tempDir.resolve("upload.zip"), zip("a.txt", "dir/../a.txt"));
+
+        assertThatThrownBy(() -> FileUtils.unzip(zipFile, tempDir.resolve("target"),
+            ExtractionLimits.DEFAULT, Schedulers.boundedElastic()).block())
+            .isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void extractToSwapsStagingDirectoryIntoStorePath() throws IOException {
+        var storePath = Files.createDirectories(tempDir.resolve("store"));
+        Files.writeString(storePath.resolve("kept.txt"), "kept");
+        Files.writeString(storePath.resolve("a.txt"), "old");
+        var stagingRoot = tempDir.resolve("staging");
+        var source = ArchiveSource.of(chunked(zip("a.txt", "dir/b.txt"), 1024), "site.zip");
+
+        FileUtils.extractTo(source, storePath, stagingRoot, ExtractionLimits.DEFAULT,
+            Schedulers.boundedElastic(), UnaryOperator.identity()).block();
+
+        assertThat(storePath.resolve("a.txt")).hasContent("a.txt");
+        assertThat(storePath.resolve("dir/b.txt")).hasContent("dir/b.txt");
+        assertThat(storePath.resolve("kept.txt")).hasContent("kept");
+        assertThat(stagingRoot).isEmptyDirectory();
+    }
+
+    @Test
+    void extractToLeavesStorePathUntouchedOnFailure() throws IOException {
+        var storePath = Files.createDirectories(tempDir.resolve("store"));
+        Files.writeString(storePath.resolve("a.txt"), "old");
+        var stagingRoot = tempDir.resolve("staging");
+        var source = ArchiveSource.of(chunked(zip("a.txt", "../evil.txt"), 1024), "site.zip");
+
+        assertThatThrownBy(() -> FileUtils.extractTo(source, storePath, stagingRoot,
+            ExtractionLimits.DEFAULT, Schedulers.boundedElastic(), UnaryOperator.identity())
+            .block()).isInstanceOf(ServerWebInputException.class);
+
+        assertThat(storePath.resolve("a.txt")).hasContent("old");
+        assertThat(tempDir.resolve("evil.txt")).doesNotExist();
+        assertThat(stagingRoot).isEmptyDirectory();
+    }
+
+    @Test
+    void linksMissingFilesExceptExcludes() throws IOException {
+        var source = tempDir.resolve("source");
+        Files.createDirectories(source.resolve("old"));
+        Files.writeString(source.resolve("kept.txt"), "kept");
+        Files.writeString(source.resolve("deleted.txt"), "deleted");
+        Files.writeString(source.resolve("old/a.txt"), "a");
+        var target = Files.createDirectories(tempDir.resolve("target"));
+        Files.writeString(target.resolve("kept.txt"), "new");
+
+        FileUtils.linkMissing(source, target, Set.of("deleted.txt", "old"));
+
+        assertThat(target.resolve("kept.txt")).hasContent("new");
+        assertThat(target.resolve("deleted.txt")).doesNotExist();
+        assertThat(target.resolve("old")).doesNotExist();
+    }
+
+    static byte[] zip(String... names) throws IOException {
+        var out = new ByteArrayOutputStream();
+        try (var zos = new ZipOutputStream(out)) {
+            for (String name : names) {
+                zos.putNextEntry(new ZipEntry(name));
+                zos.write(name.getBytes(UTF_8));
+                zos.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static Flux<DataBuffer> chunked(byte[] bytes, int chunkSize) {
+        var buffers = new ArrayList<DataBuffer>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + chunkSize))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
@@ -0,0 +1,98 @@
+package cc.ryanc.staticpages.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes tar archives for tests, including malformed ones.
+ */
+class TarArchiveBuilder {
+    private final OutputStream out;
+
+    TarArchiveBuilder(OutputStream out) {
+        this.out = out;
+    }
+
+    static byte[] header(String name, long size, char type) {
+        var header = new byte[512];
+        put(header, 0, name);
+        put(header, 100, "0000644");
+        put(header, 108, "0000000");
+        put(header, 116, "0000000");
+        put(header, 124, String.format("%011o", size));
+        put(header, 136, "00000000000");
+        header[156] = (byte) type;
+        put(header, 257, "ustar");
+        put(header, 263, "00");
+        return checksum(header);
+    }
+
+    static byte[] checksum(byte[] header) {
+        for (int i = 148; i < 156; i++) {
+            header[i] = ' ';
+        }
+        long sum = 0;
+        for (byte b : header) {
+            sum += b & 0xff;
+        }
+        put(header, 148, String.format("%06o", sum));
+        header[154] = 0;
+        return header;
+    }
+
+    static void put(byte[] header, int offset, String value) {
+        var bytes = value.getBytes(UTF_8);
+        System.arraycopy(bytes, 0, header, offset, bytes.length);
+    }
+
+    TarArchiveBuilder header(byte[] header) throws IOException {
+        out.write(header);
+        return this;
+    }
+
+    TarArchiveBuilder file(String name, String content) throws IOException {
+        var data = content.getBytes(UTF_8);
+        return entry(header(name, data.length, '0'), data);
+    }
+
+    TarArchiveBuilder entry(byte[] header, byte[] data) throws IOException {
+        out.write(header);
+        return data(data);
+    }
+
+    TarArchiveBuilder data(byte[] data) throws IOException {
+        out.write(data);
+        out.write(new byte[(512 - data.length % 512) % 512]);
+        return this;
+    }
+
+    /**
+     * Writes a pax extended header with the given records.
+     */
+    TarArchiveBuilder pax(String... keyValues) throws IOException {
+        var records = new StringBuilder();
+        for (String keyValue : keyValues) {
+            records.append(paxRecord(keyValue));
+        }
+        var data = records.toString().getBytes(UTF_8);
+        return entry(header("PaxHeaders/x", data.length, 'x'), data);
+    }
+
+    static String paxRecord(String keyValue) {
+        // The length includes itself, the space and the newline
+        var length = keyValue.getBytes(UTF_8).length + 2;
+        var digits = String.valueOf(length).length();
+        var total = length + digits;
+        if (String.valueOf(total).length() > digits) {
+            total++;
+        }
+        return total + " " + keyValue + "\n";
+    }
+
+    void end() throws IOException {
+        out.write(new byte[1024]);
+        out.flush();
+    }
+}
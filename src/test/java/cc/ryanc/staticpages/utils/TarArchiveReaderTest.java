@@ -0,0 +1,152 @@
+package cc.ryanc.staticpages.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.server.ServerWebInputException;
+
+class TarArchiveReaderTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final TarArchiveBuilder builder = new TarArchiveBuilder(out);
+
+    @Test
+    void readsEntries() throws IOException {
+        builder.file("a.txt", "hello")
+            .header(TarArchiveBuilder.header("dir", 0, '5'))
+            .header(TarArchiveBuilder.header("old-dir/", 0, '0'))
+            .header(TarArchiveBuilder.header("link", 0, '2'))
+            .file("b.txt", "world")
+            .end();
+
+        var reader = reader();
+        var entry = reader.next();
+        assertThat(entry).isEqualTo(
+            new TarArchiveReader.Entry("a.txt", 5, TarArchiveReader.EntryType.FILE));
+        assertThat(reader.entryStream().readAllBytes()).asString(UTF_8).isEqualTo("hello");
+        assertThat(reader.next().type()).isEqualTo(TarArchiveReader.EntryType.DIRECTORY);
+        assertThat(reader.next().type()).isEqualTo(TarArchiveReader.EntryType.DIRECTORY);
+        assertThat(reader.next().type()).isEqualTo(TarArchiveReader.EntryType.OTHER);
+        // The content of an entry not read is skipped
+        assertThat(reader.next().name()).isEqualTo("b.txt");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsWrongChecksum() throws IOException {
+        var header = TarArchiveBuilder.header("a.txt", 0, '0');
+        header[0] = 'b';
+        builder.header(header).end();
+
+        assertThatThrownBy(() -> reader().next()).isInstanceOf(IOException.class)
+            .hasMessageContaining("corrupted");
+    }
+
+    @Test
+    void joinsUstarPrefix() throws IOException {
+        var header = TarArchiveBuilder.header("index.html", 0, '0');
+        TarArchiveBuilder.put(header, 345, "docs/guide");
+        builder.header(TarArchiveBuilder.checksum(header)).end();
+
+        assertThat(reader().next().name()).isEqualTo("docs/guide/index.html");
+    }
+
+    @Test
+    void readsGnuLongName() throws IOException {
+        var longName = "a/".repeat(80) + "index.html";
+        var data = (longName + "\0").getBytes(UTF_8);
+        builder.entry(TarArchiveBuilder.header("././@LongLink", data.length, 'L'), data)
+            .file(longName.substring(0, 99), "content")
+            .end();
+
+        var reader = reader();
+        assertThat(reader.next().name()).isEqualTo(longName);
+        assertThat(reader.entryStream().readAllBytes()).asString(UTF_8).isEqualTo("content");
+    }
+
+    @Test
+    void readsPaxPathAndSize() throws IOException {
+        builder.pax("path=文档/a\nb.txt", "size=3")
+            .entry(TarArchiveBuilder.header("PaxHeaders/a", 0, '0'), "abc".getBytes(UTF_8))
+            .file("c.txt", "c")
+            .end();
+
+        var reader = reader();
+        var entry = reader.next();
+        assertThat(entry.name()).isEqualTo("文档/a\nb.txt");
+        assertThat(entry.size()).isEqualTo(3);
+        assertThat(reader.entryStream().readAllBytes()).asString(UTF_8).isEqualTo("abc");
+        // Pax records apply to the next entry only
+        assertThat(reader.next().name()).isEqualTo("c.txt");
+    }
+
+    @Test
+    void parsesPaxRecordsByLength() throws IOException {
+        var records = TarArchiveBuilder.paxRecord("path=a\n9 size=1\nb")
+            + TarArchiveBuilder.paxRecord("mtime=1700000000.5");
+
+        assertThat(TarArchiveReader.parsePaxRecords(records.getBytes(UTF_8)))
+            .containsEntry("path", "a\n9 size=1\nb")
+            .containsEntry("mtime", "1700000000.5")
+            .doesNotContainKey("size");
+        assertThatThrownBy(() -> TarArchiveReader.parsePaxRecords(
+            "99 path=a\n".getBytes(UTF_8))).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> TarArchiveReader.parsePaxRecords(
+            "path=a\n".getBytes(UTF_8))).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void readsBase256Size() throws IOException {
+        var header = TarArchiveBuilder.header("a.txt", 0, '0');
+        for (int i = 124; i < 136; i++) {
+            header[i] = 0;
+        }
+        header[124] = (byte) 0x80;
+        header[135] = 5;
+        builder.entry(TarArchiveBuilder.checksum(header), "hello".getBytes(UTF_8)).end();
+
+        var reader = reader();
+        assertThat(reader.next().size()).isEqualTo(5);
+        assertThat(reader.entryStream().readAllBytes()).asString(UTF_8).isEqualTo("hello");
+    }
+
+    @Test
+    void rejectsTruncatedArchive() throws IOException {
+        builder.header(TarArchiveBuilder.header("a.txt", 1000, '0'));
+        out.write(new byte[100]);
+
+        var reader = reader();
+        reader.next();
+        assertThatThrownBy(() -> reader.entryStream().readAllBytes())
+            .isInstanceOf(EOFException.class);
+
+        var truncatedHeader = new TarArchiveReader(new ByteArrayInputStream(
+            TarArchiveBuilder.header("a.txt", 0, '0'), 0, 300));
+        assertThatThrownBy(truncatedHeader::next).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void untarRejectsDirectoryTraversal() throws IOException {
+        builder.file("../evil.txt", "evil").end();
+
+        var target = tempDir.resolve("target");
+        assertThatThrownBy(() -> FileUtils.untar(new ByteArrayInputStream(out.toByteArray()),
+            target, ExtractionLimits.DEFAULT)).isInstanceOf(ServerWebInputException.class);
+        assertThat(tempDir.resolve("evil.txt")).doesNotExist();
+    }
+
+    private TarArchiveReader reader() {
+        return new TarArchiveReader(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
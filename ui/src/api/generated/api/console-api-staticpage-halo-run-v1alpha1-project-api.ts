@@ -24,10 +24,22 @@ import { BASE_PATH, COLLECTION_FORMATS, type RequestArgs, BaseAPI, RequiredError
 // @ts-ignore
 import type { CreateFileRequest } from '../models';
 // @ts-ignore
+import type { CreateUploadSessionRequest } from '../models';
+// @ts-ignore
+import type { ProjectAssetCacheStats } from '../models';
+// @ts-ignore
 import type { ProjectFile } from '../models';
 // @ts-ignore
+import type { ProjectIoSchedulerStats } from '../models';
+// @ts-ignore
+import type { ProjectManifestEntry } from '../models';
+// @ts-ignore
+import type { ProjectRelease } from '../models';
+// @ts-ignore
 import type { UploadRequestFormData } from '../models';
 // @ts-ignore
+import type { UploadSession } from '../models';
+// @ts-ignore
 import type { WriteContentRequest } from '../models';
 /**
  * ConsoleApiStaticpageHaloRunV1alpha1ProjectApi - axios parameter creator
@@ -35,6 +47,96 @@ import type { WriteContentRequest } from '../models';
  */
 export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = function (configuration?: Configuration) {
     return {
+        /**
+         * Switch the project to the given release
+         * @param {string} name 
+         * @param {string} release 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        activateProjectRelease: async (name: string, release: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('activateProjectRelease', 'name', name)
+            // verify required parameter 'release' is not null or undefined
+            assertParamExists('activateProjectRelease', 'release', release)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/releases/{release}/activate`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)))
+                .replace(`{${"release"}}`, encodeURIComponent(String(release)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'POST', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+
+    
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * Upload the received content once all chunks were acknowledged
+         * @param {string} name 
+         * @param {string} id 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        completeUploadSession: async (name: string, id: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('completeUploadSession', 'name', name)
+            // verify required parameter 'id' is not null or undefined
+            assertParamExists('completeUploadSession', 'id', id)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/upload-sessions/{id}/complete`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)))
+                .replace(`{${"id"}}`, encodeURIComponent(String(id)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'POST', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+
+    
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
         /**
          * 
          * @param {string} name 
@@ -81,16 +183,18 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
             };
         },
         /**
-         * Delete file or directory in project by given path
+         * Start a resumable upload whose content is sent in chunks
          * @param {string} name 
-         * @param {string} [path] 
+         * @param {CreateUploadSessionRequest} createUploadSessionRequest 
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        deleteFileInProject: async (name: string, path?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+        createUploadSession: async (name: string, createUploadSessionRequest: CreateUploadSessionRequest, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
             // verify required parameter 'name' is not null or undefined
-            assertParamExists('deleteFileInProject', 'name', name)
-            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/files`
+            assertParamExists('createUploadSession', 'name', name)
+            // verify required parameter 'createUploadSessionRequest' is not null or undefined
+            assertParamExists('createUploadSession', 'createUploadSessionRequest', createUploadSessionRequest)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/upload-sessions`
                 .replace(`{${"name"}}`, encodeURIComponent(String(name)));
             // use dummy base URL string because the URL constructor only accepts absolute URLs.
             const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
@@ -99,7 +203,7 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
                 baseOptions = configuration.baseOptions;
             }
 
-            const localVarRequestOptions = { method: 'DELETE', ...baseOptions, ...options};
+            const localVarRequestOptions = { method: 'POST', ...baseOptions, ...options};
             const localVarHeaderParameter = {} as any;
             const localVarQueryParameter = {} as any;
 
@@ -111,15 +215,14 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
             // http bearer authentication required
             await setBearerAuthToObject(localVarHeaderParameter, configuration)
 
-            if (path !== undefined) {
-                localVarQueryParameter['path'] = path;
-            }
-
 
     
+            localVarHeaderParameter['Content-Type'] = 'application/json';
+
             setSearchParams(localVarUrlObj, localVarQueryParameter);
             let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
             localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+            localVarRequestOptions.data = serializeDataIfNeeded(createUploadSessionRequest, localVarRequestOptions, configuration)
 
             return {
                 url: toPathString(localVarUrlObj),
@@ -127,16 +230,16 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
             };
         },
         /**
-         * 
+         * Delete file or directory in project by given path
          * @param {string} name 
          * @param {string} [path] 
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        getFileContent: async (name: string, path?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+        deleteFileInProject: async (name: string, path?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
             // verify required parameter 'name' is not null or undefined
-            assertParamExists('getFileContent', 'name', name)
-            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/file-content`
+            assertParamExists('deleteFileInProject', 'name', name)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/files`
                 .replace(`{${"name"}}`, encodeURIComponent(String(name)));
             // use dummy base URL string because the URL constructor only accepts absolute URLs.
             const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
@@ -145,7 +248,7 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
                 baseOptions = configuration.baseOptions;
             }
 
-            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
+            const localVarRequestOptions = { method: 'DELETE', ...baseOptions, ...options};
             const localVarHeaderParameter = {} as any;
             const localVarQueryParameter = {} as any;
 
@@ -175,15 +278,18 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
         /**
          * 
          * @param {string} name 
-         * @param {string} [path] 
+         * @param {string} id 
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        listFilesInProject: async (name: string, path?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+        deleteUploadSession: async (name: string, id: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
             // verify required parameter 'name' is not null or undefined
-            assertParamExists('listFilesInProject', 'name', name)
-            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/files`
-                .replace(`{${"name"}}`, encodeURIComponent(String(name)));
+            assertParamExists('deleteUploadSession', 'name', name)
+            // verify required parameter 'id' is not null or undefined
+            assertParamExists('deleteUploadSession', 'id', id)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/upload-sessions/{id}`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)))
+                .replace(`{${"id"}}`, encodeURIComponent(String(id)));
             // use dummy base URL string because the URL constructor only accepts absolute URLs.
             const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
             let baseOptions;
@@ -191,7 +297,7 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
                 baseOptions = configuration.baseOptions;
             }
 
-            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
+            const localVarRequestOptions = { method: 'DELETE', ...baseOptions, ...options};
             const localVarHeaderParameter = {} as any;
             const localVarQueryParameter = {} as any;
 
@@ -203,10 +309,6 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
             // http bearer authentication required
             await setBearerAuthToObject(localVarHeaderParameter, configuration)
 
-            if (path !== undefined) {
-                localVarQueryParameter['path'] = path;
-            }
-
 
     
             setSearchParams(localVarUrlObj, localVarQueryParameter);
@@ -219,22 +321,12 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
             };
         },
         /**
-         * 
-         * @param {string} name 
-         * @param {File} file 
-         * @param {string} [dir] Segments of the path, relative to the current static page, are divided by slashes to form multiple subpaths
-         * @param {UploadRequestFormData} [formData] 
-         * @param {boolean} [unzip] 
+         * Get hit, miss and eviction counts of the in-memory asset cache
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        uploadFileToProject: async (name: string, file: File, dir?: string, formData?: UploadRequestFormData, unzip?: boolean, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
-            // verify required parameter 'name' is not null or undefined
-            assertParamExists('uploadFileToProject', 'name', name)
-            // verify required parameter 'file' is not null or undefined
-            assertParamExists('uploadFileToProject', 'file', file)
-            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/upload`
-                .replace(`{${"name"}}`, encodeURIComponent(String(name)));
+        getAssetCacheStats: async (options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/stats/asset-cache`;
             // use dummy base URL string because the URL constructor only accepts absolute URLs.
             const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
             let baseOptions;
@@ -242,10 +334,9 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
                 baseOptions = configuration.baseOptions;
             }
 
-            const localVarRequestOptions = { method: 'POST', ...baseOptions, ...options};
+            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
             const localVarHeaderParameter = {} as any;
             const localVarQueryParameter = {} as any;
-            const localVarFormParams = new ((configuration && configuration.formDataCtor) || FormData)();
 
             // authentication basicAuth required
             // http basic authentication required
@@ -256,29 +347,10 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
             await setBearerAuthToObject(localVarHeaderParameter, configuration)
 
 
-            if (dir !== undefined) { 
-                localVarFormParams.append('dir', dir as any);
-            }
-    
-            if (file !== undefined) { 
-                localVarFormParams.append('file', file as any);
-            }
-    
-            if (formData !== undefined) { 
-                localVarFormParams.append('formData', new Blob([JSON.stringify(formData)], { type: "application/json", }));
-            }
-    
-            if (unzip !== undefined) { 
-                localVarFormParams.append('unzip', String(unzip) as any);
-            }
-    
-    
-            localVarHeaderParameter['Content-Type'] = 'multipart/form-data';
     
             setSearchParams(localVarUrlObj, localVarQueryParameter);
             let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
             localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
-            localVarRequestOptions.data = localVarFormParams;
 
             return {
                 url: toPathString(localVarUrlObj),
@@ -289,13 +361,12 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
          * 
          * @param {string} name 
          * @param {string} [path] 
-         * @param {WriteContentRequest} [writeContentRequest] 
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        writeContentToFile: async (name: string, path?: string, writeContentRequest?: WriteContentRequest, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+        getFileContent: async (name: string, path?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
             // verify required parameter 'name' is not null or undefined
-            assertParamExists('writeContentToFile', 'name', name)
+            assertParamExists('getFileContent', 'name', name)
             const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/file-content`
                 .replace(`{${"name"}}`, encodeURIComponent(String(name)));
             // use dummy base URL string because the URL constructor only accepts absolute URLs.
@@ -305,7 +376,7 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
                 baseOptions = configuration.baseOptions;
             }
 
-            const localVarRequestOptions = { method: 'PUT', ...baseOptions, ...options};
+            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
             const localVarHeaderParameter = {} as any;
             const localVarQueryParameter = {} as any;
 
@@ -323,110 +394,912 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator = fu
 
 
     
-            localVarHeaderParameter['Content-Type'] = 'application/json';
-
             setSearchParams(localVarUrlObj, localVarQueryParameter);
             let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
             localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
-            localVarRequestOptions.data = serializeDataIfNeeded(writeContentRequest, localVarRequestOptions, configuration)
 
             return {
                 url: toPathString(localVarUrlObj),
                 options: localVarRequestOptions,
             };
         },
-    }
-};
-
-/**
- * ConsoleApiStaticpageHaloRunV1alpha1ProjectApi - functional programming interface
- * @export
- */
-export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp = function(configuration?: Configuration) {
-    const localVarAxiosParamCreator = ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator(configuration)
-    return {
-        /**
-         * 
-         * @param {string} name 
-         * @param {CreateFileRequest} [createFileRequest] 
-         * @param {*} [options] Override http request option.
-         * @throws {RequiredError}
-         */
-        async createFileOrDirectory(name: string, createFileRequest?: CreateFileRequest, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<void>> {
-            const localVarAxiosArgs = await localVarAxiosParamCreator.createFileOrDirectory(name, createFileRequest, options);
-            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
-            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.createFileOrDirectory']?.[localVarOperationServerIndex]?.url;
-            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
-        },
         /**
-         * Delete file or directory in project by given path
-         * @param {string} name 
-         * @param {string} [path] 
+         * Get running and queued file operations of the plugin
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        async deleteFileInProject(name: string, path?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<boolean>> {
-            const localVarAxiosArgs = await localVarAxiosParamCreator.deleteFileInProject(name, path, options);
-            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
-            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.deleteFileInProject']?.[localVarOperationServerIndex]?.url;
-            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        getIoSchedulerStats: async (options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/stats/io`;
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+
+    
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
         },
         /**
-         * 
+         * Get the path, size and SHA-256 hash of every project file
          * @param {string} name 
-         * @param {string} [path] 
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        async getFileContent(name: string, path?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<string>> {
-            const localVarAxiosArgs = await localVarAxiosParamCreator.getFileContent(name, path, options);
-            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
-            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.getFileContent']?.[localVarOperationServerIndex]?.url;
-            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        getProjectManifest: async (name: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('getProjectManifest', 'name', name)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/manifest`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+
+    
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
         },
         /**
-         * 
+         * Get the acknowledged chunks of an upload session to resume it
          * @param {string} name 
-         * @param {string} [path] 
+         * @param {string} id 
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        async listFilesInProject(name: string, path?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<Array<ProjectFile>>> {
-            const localVarAxiosArgs = await localVarAxiosParamCreator.listFilesInProject(name, path, options);
-            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
-            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.listFilesInProject']?.[localVarOperationServerIndex]?.url;
+        getUploadSession: async (name: string, id: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('getUploadSession', 'name', name)
+            // verify required parameter 'id' is not null or undefined
+            assertParamExists('getUploadSession', 'id', id)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/upload-sessions/{id}`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)))
+                .replace(`{${"id"}}`, encodeURIComponent(String(id)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+
+    
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * List a directory of the project, directories first. When more entries than the limit exist, the cursor of the next page is returned in the X-Next-Cursor header.
+         * @param {string} name 
+         * @param {string} [path] 
+         * @param {string} [keyword] Only list the entries whose name contains the keyword
+         * @param {string} [sort] name, size or lastModifiedTime, optionally followed by &#39;,desc&#39;, defaults to name
+         * @param {number} [limit] The page size, at most 1000, all entries if absent
+         * @param {string} [cursor] The X-Next-Cursor of the previous page
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        listFilesInProject: async (name: string, path?: string, keyword?: string, sort?: string, limit?: number, cursor?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('listFilesInProject', 'name', name)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/files`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+            if (path !== undefined) {
+                localVarQueryParameter['path'] = path;
+            }
+
+            if (keyword !== undefined) {
+                localVarQueryParameter['keyword'] = keyword;
+            }
+
+            if (sort !== undefined) {
+                localVarQueryParameter['sort'] = sort;
+            }
+
+            if (limit !== undefined) {
+                localVarQueryParameter['limit'] = limit;
+            }
+
+            if (cursor !== undefined) {
+                localVarQueryParameter['cursor'] = cursor;
+            }
+
+
+    
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * List the releases of the project, newest first
+         * @param {string} name 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        listProjectReleases: async (name: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('listProjectReleases', 'name', name)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/releases`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+
+    
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * Stream the bytes of a file, a single byte range may be requested with the Range header
+         * @param {string} name 
+         * @param {string} path 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        readFileInProject: async (name: string, path: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('readFileInProject', 'name', name)
+            // verify required parameter 'path' is not null or undefined
+            assertParamExists('readFileInProject', 'path', path)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/file-raw`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+            if (path !== undefined) {
+                localVarQueryParameter['path'] = path;
+            }
+
+
+    
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * Switch the project back to the release before the current one
+         * @param {string} name 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        rollbackProjectRelease: async (name: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('rollbackProjectRelease', 'name', name)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/rollback`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'POST', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+
+    
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * Write a chunk of the upload session at the given offset
+         * @param {string} name 
+         * @param {string} id 
+         * @param {number} offset Offset of the chunk, a multiple of the chunk size
+         * @param {File} body 
+         * @param {string} [sha256] Hex encoded SHA-256 checksum of the chunk
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        uploadChunk: async (name: string, id: string, offset: number, body: File, sha256?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('uploadChunk', 'name', name)
+            // verify required parameter 'id' is not null or undefined
+            assertParamExists('uploadChunk', 'id', id)
+            // verify required parameter 'offset' is not null or undefined
+            assertParamExists('uploadChunk', 'offset', offset)
+            // verify required parameter 'body' is not null or undefined
+            assertParamExists('uploadChunk', 'body', body)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/upload-sessions/{id}`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)))
+                .replace(`{${"id"}}`, encodeURIComponent(String(id)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'PUT', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+            if (offset !== undefined) {
+                localVarQueryParameter['offset'] = offset;
+            }
+
+            if (sha256 !== undefined) {
+                localVarQueryParameter['sha256'] = sha256;
+            }
+
+
+    
+            localVarHeaderParameter['Content-Type'] = 'application/octet-stream';
+
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+            localVarRequestOptions.data = serializeDataIfNeeded(body, localVarRequestOptions, configuration)
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * 
+         * @param {string} name 
+         * @param {File} file 
+         * @param {Array<string>} [_delete] Paths relative to the project to delete when deploying the whole project, one per field or line
+         * @param {string} [dir] Segments of the path, relative to the current static page, are divided by slashes to form multiple subpaths
+         * @param {UploadRequestFormData} [formData] 
+         * @param {boolean} [unzip] 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        uploadFileToProject: async (name: string, file: File, _delete?: Array<string>, dir?: string, formData?: UploadRequestFormData, unzip?: boolean, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('uploadFileToProject', 'name', name)
+            // verify required parameter 'file' is not null or undefined
+            assertParamExists('uploadFileToProject', 'file', file)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/upload`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'POST', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+            const localVarFormParams = new ((configuration && configuration.formDataCtor) || FormData)();
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+
+            if (_delete) {
+                _delete.forEach((element) => {
+                    localVarFormParams.append('delete', element as any);
+                })
+            }
+    
+            if (dir !== undefined) { 
+                localVarFormParams.append('dir', dir as any);
+            }
+    
+            if (file !== undefined) { 
+                localVarFormParams.append('file', file as any);
+            }
+    
+            if (formData !== undefined) { 
+                localVarFormParams.append('formData', new Blob([JSON.stringify(formData)], { type: "application/json", }));
+            }
+    
+            if (unzip !== undefined) { 
+                localVarFormParams.append('unzip', String(unzip) as any);
+            }
+    
+    
+            localVarHeaderParameter['Content-Type'] = 'multipart/form-data';
+    
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+            localVarRequestOptions.data = localVarFormParams;
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * List the directory of the project recursively as newline delimited JSON, streamed while the tree is walked.
+         * @param {string} name 
+         * @param {string} [path] 
+         * @param {number} [depth] The depth to descend to, 1 for the entries of the directory only, the whole tree if absent
+         * @param {string} [glob] Only list the entries whose path relative to the directory matches the glob, such as **_/_*.html
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        walkFilesInProject: async (name: string, path?: string, depth?: number, glob?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('walkFilesInProject', 'name', name)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/file-tree`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+            if (path !== undefined) {
+                localVarQueryParameter['path'] = path;
+            }
+
+            if (depth !== undefined) {
+                localVarQueryParameter['depth'] = depth;
+            }
+
+            if (glob !== undefined) {
+                localVarQueryParameter['glob'] = glob;
+            }
+
+
+    
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * 
+         * @param {string} name 
+         * @param {string} [path] 
+         * @param {string} [ifMatch] The ETag of the content being edited, the write fails with 412 if the file was changed since
+         * @param {WriteContentRequest} [writeContentRequest] 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        writeContentToFile: async (name: string, path?: string, ifMatch?: string, writeContentRequest?: WriteContentRequest, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('writeContentToFile', 'name', name)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/file-content`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'PUT', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+            if (path !== undefined) {
+                localVarQueryParameter['path'] = path;
+            }
+
+            if (ifMatch != null) {
+                localVarHeaderParameter['If-Match'] = String(ifMatch);
+            }
+
+    
+            localVarHeaderParameter['Content-Type'] = 'application/json';
+
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+            localVarRequestOptions.data = serializeDataIfNeeded(writeContentRequest, localVarRequestOptions, configuration)
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * Stream the request body into a file, replacing the file
+         * @param {string} name 
+         * @param {string} path 
+         * @param {File} [body] 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        writeFileInProject: async (name: string, path: string, body?: File, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            // verify required parameter 'name' is not null or undefined
+            assertParamExists('writeFileInProject', 'name', name)
+            // verify required parameter 'path' is not null or undefined
+            assertParamExists('writeFileInProject', 'path', path)
+            const localVarPath = `/apis/console.api.staticpage.halo.run/v1alpha1/projects/{name}/file-raw`
+                .replace(`{${"name"}}`, encodeURIComponent(String(name)));
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'PUT', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+            if (path !== undefined) {
+                localVarQueryParameter['path'] = path;
+            }
+
+
+    
+            localVarHeaderParameter['Content-Type'] = 'application/octet-stream';
+
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+            localVarRequestOptions.data = serializeDataIfNeeded(body, localVarRequestOptions, configuration)
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+    }
+};
+
+/**
+ * ConsoleApiStaticpageHaloRunV1alpha1ProjectApi - functional programming interface
+ * @export
+ */
+export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp = function(configuration?: Configuration) {
+    const localVarAxiosParamCreator = ConsoleApiStaticpageHaloRunV1alpha1ProjectApiAxiosParamCreator(configuration)
+    return {
+        /**
+         * Switch the project to the given release
+         * @param {string} name 
+         * @param {string} release 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async activateProjectRelease(name: string, release: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<void>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.activateProjectRelease(name, release, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.activateProjectRelease']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * Upload the received content once all chunks were acknowledged
+         * @param {string} name 
+         * @param {string} id 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async completeUploadSession(name: string, id: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<string>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.completeUploadSession(name, id, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.completeUploadSession']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * 
+         * @param {string} name 
+         * @param {CreateFileRequest} [createFileRequest] 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async createFileOrDirectory(name: string, createFileRequest?: CreateFileRequest, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<void>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.createFileOrDirectory(name, createFileRequest, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.createFileOrDirectory']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * Start a resumable upload whose content is sent in chunks
+         * @param {string} name 
+         * @param {CreateUploadSessionRequest} createUploadSessionRequest 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async createUploadSession(name: string, createUploadSessionRequest: CreateUploadSessionRequest, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<UploadSession>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.createUploadSession(name, createUploadSessionRequest, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.createUploadSession']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * Delete file or directory in project by given path
+         * @param {string} name 
+         * @param {string} [path] 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async deleteFileInProject(name: string, path?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<boolean>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.deleteFileInProject(name, path, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.deleteFileInProject']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * 
+         * @param {string} name 
+         * @param {string} id 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async deleteUploadSession(name: string, id: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<void>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.deleteUploadSession(name, id, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.deleteUploadSession']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * Get hit, miss and eviction counts of the in-memory asset cache
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async getAssetCacheStats(options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<ProjectAssetCacheStats>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.getAssetCacheStats(options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.getAssetCacheStats']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * 
+         * @param {string} name 
+         * @param {string} [path] 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async getFileContent(name: string, path?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<string>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.getFileContent(name, path, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.getFileContent']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * Get running and queued file operations of the plugin
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async getIoSchedulerStats(options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<ProjectIoSchedulerStats>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.getIoSchedulerStats(options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.getIoSchedulerStats']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * Get the path, size and SHA-256 hash of every project file
+         * @param {string} name 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async getProjectManifest(name: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<Array<ProjectManifestEntry>>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.getProjectManifest(name, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.getProjectManifest']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * Get the acknowledged chunks of an upload session to resume it
+         * @param {string} name 
+         * @param {string} id 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async getUploadSession(name: string, id: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<UploadSession>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.getUploadSession(name, id, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.getUploadSession']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * List a directory of the project, directories first. When more entries than the limit exist, the cursor of the next page is returned in the X-Next-Cursor header.
+         * @param {string} name 
+         * @param {string} [path] 
+         * @param {string} [keyword] Only list the entries whose name contains the keyword
+         * @param {string} [sort] name, size or lastModifiedTime, optionally followed by &#39;,desc&#39;, defaults to name
+         * @param {number} [limit] The page size, at most 1000, all entries if absent
+         * @param {string} [cursor] The X-Next-Cursor of the previous page
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async listFilesInProject(name: string, path?: string, keyword?: string, sort?: string, limit?: number, cursor?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<Array<ProjectFile>>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.listFilesInProject(name, path, keyword, sort, limit, cursor, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.listFilesInProject']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * List the releases of the project, newest first
+         * @param {string} name 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async listProjectReleases(name: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<Array<ProjectRelease>>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.listProjectReleases(name, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.listProjectReleases']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * Stream the bytes of a file, a single byte range may be requested with the Range header
+         * @param {string} name 
+         * @param {string} path 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async readFileInProject(name: string, path: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<File>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.readFileInProject(name, path, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.readFileInProject']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * Switch the project back to the release before the current one
+         * @param {string} name 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async rollbackProjectRelease(name: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<string>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.rollbackProjectRelease(name, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.rollbackProjectRelease']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
+        /**
+         * Write a chunk of the upload session at the given offset
+         * @param {string} name 
+         * @param {string} id 
+         * @param {number} offset Offset of the chunk, a multiple of the chunk size
+         * @param {File} body 
+         * @param {string} [sha256] Hex encoded SHA-256 checksum of the chunk
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async uploadChunk(name: string, id: string, offset: number, body: File, sha256?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<UploadSession>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.uploadChunk(name, id, offset, body, sha256, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.uploadChunk']?.[localVarOperationServerIndex]?.url;
             return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
         },
         /**
          * 
          * @param {string} name 
          * @param {File} file 
+         * @param {Array<string>} [_delete] Paths relative to the project to delete when deploying the whole project, one per field or line
          * @param {string} [dir] Segments of the path, relative to the current static page, are divided by slashes to form multiple subpaths
          * @param {UploadRequestFormData} [formData] 
          * @param {boolean} [unzip] 
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        async uploadFileToProject(name: string, file: File, dir?: string, formData?: UploadRequestFormData, unzip?: boolean, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<string>> {
-            const localVarAxiosArgs = await localVarAxiosParamCreator.uploadFileToProject(name, file, dir, formData, unzip, options);
+        async uploadFileToProject(name: string, file: File, _delete?: Array<string>, dir?: string, formData?: UploadRequestFormData, unzip?: boolean, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<string>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.uploadFileToProject(name, file, _delete, dir, formData, unzip, options);
             const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
             const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.uploadFileToProject']?.[localVarOperationServerIndex]?.url;
             return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
         },
+        /**
+         * List the directory of the project recursively as newline delimited JSON, streamed while the tree is walked.
+         * @param {string} name 
+         * @param {string} [path] 
+         * @param {number} [depth] The depth to descend to, 1 for the entries of the directory only, the whole tree if absent
+         * @param {string} [glob] Only list the entries whose path relative to the directory matches the glob, such as **_/_*.html
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async walkFilesInProject(name: string, path?: string, depth?: number, glob?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<ProjectFile>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.walkFilesInProject(name, path, depth, glob, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.walkFilesInProject']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
         /**
          * 
          * @param {string} name 
          * @param {string} [path] 
+         * @param {string} [ifMatch] The ETag of the content being edited, the write fails with 412 if the file was changed since
          * @param {WriteContentRequest} [writeContentRequest] 
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        async writeContentToFile(name: string, path?: string, writeContentRequest?: WriteContentRequest, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<void>> {
-            const localVarAxiosArgs = await localVarAxiosParamCreator.writeContentToFile(name, path, writeContentRequest, options);
+        async writeContentToFile(name: string, path?: string, ifMatch?: string, writeContentRequest?: WriteContentRequest, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<void>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.writeContentToFile(name, path, ifMatch, writeContentRequest, options);
             const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
             const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.writeContentToFile']?.[localVarOperationServerIndex]?.url;
             return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
         },
+        /**
+         * Stream the request body into a file, replacing the file
+         * @param {string} name 
+         * @param {string} path 
+         * @param {File} [body] 
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async writeFileInProject(name: string, path: string, body?: File, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<void>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.writeFileInProject(name, path, body, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.writeFileInProject']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
     }
 };
 
@@ -437,6 +1310,24 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp = function(configur
 export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFactory = function (configuration?: Configuration, basePath?: string, axios?: AxiosInstance) {
     const localVarFp = ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(configuration)
     return {
+        /**
+         * Switch the project to the given release
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiActivateProjectReleaseRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        activateProjectRelease(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiActivateProjectReleaseRequest, options?: RawAxiosRequestConfig): AxiosPromise<void> {
+            return localVarFp.activateProjectRelease(requestParameters.name, requestParameters.release, options).then((request) => request(axios, basePath));
+        },
+        /**
+         * Upload the received content once all chunks were acknowledged
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCompleteUploadSessionRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        completeUploadSession(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCompleteUploadSessionRequest, options?: RawAxiosRequestConfig): AxiosPromise<string> {
+            return localVarFp.completeUploadSession(requestParameters.name, requestParameters.id, options).then((request) => request(axios, basePath));
+        },
         /**
          * 
          * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateFileOrDirectoryRequest} requestParameters Request parameters.
@@ -446,6 +1337,15 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFactory = function (co
         createFileOrDirectory(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateFileOrDirectoryRequest, options?: RawAxiosRequestConfig): AxiosPromise<void> {
             return localVarFp.createFileOrDirectory(requestParameters.name, requestParameters.createFileRequest, options).then((request) => request(axios, basePath));
         },
+        /**
+         * Start a resumable upload whose content is sent in chunks
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateUploadSessionRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        createUploadSession(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateUploadSessionRequest, options?: RawAxiosRequestConfig): AxiosPromise<UploadSession> {
+            return localVarFp.createUploadSession(requestParameters.name, requestParameters.createUploadSessionRequest, options).then((request) => request(axios, basePath));
+        },
         /**
          * Delete file or directory in project by given path
          * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteFileInProjectRequest} requestParameters Request parameters.
@@ -455,6 +1355,23 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFactory = function (co
         deleteFileInProject(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteFileInProjectRequest, options?: RawAxiosRequestConfig): AxiosPromise<boolean> {
             return localVarFp.deleteFileInProject(requestParameters.name, requestParameters.path, options).then((request) => request(axios, basePath));
         },
+        /**
+         * 
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteUploadSessionRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        deleteUploadSession(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteUploadSessionRequest, options?: RawAxiosRequestConfig): AxiosPromise<void> {
+            return localVarFp.deleteUploadSession(requestParameters.name, requestParameters.id, options).then((request) => request(axios, basePath));
+        },
+        /**
+         * Get hit, miss and eviction counts of the in-memory asset cache
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        getAssetCacheStats(options?: RawAxiosRequestConfig): AxiosPromise<ProjectAssetCacheStats> {
+            return localVarFp.getAssetCacheStats(options).then((request) => request(axios, basePath));
+        },
         /**
          * 
          * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetFileContentRequest} requestParameters Request parameters.
@@ -465,13 +1382,75 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFactory = function (co
             return localVarFp.getFileContent(requestParameters.name, requestParameters.path, options).then((request) => request(axios, basePath));
         },
         /**
-         * 
+         * Get running and queued file operations of the plugin
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        getIoSchedulerStats(options?: RawAxiosRequestConfig): AxiosPromise<ProjectIoSchedulerStats> {
+            return localVarFp.getIoSchedulerStats(options).then((request) => request(axios, basePath));
+        },
+        /**
+         * Get the path, size and SHA-256 hash of every project file
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetProjectManifestRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        getProjectManifest(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetProjectManifestRequest, options?: RawAxiosRequestConfig): AxiosPromise<Array<ProjectManifestEntry>> {
+            return localVarFp.getProjectManifest(requestParameters.name, options).then((request) => request(axios, basePath));
+        },
+        /**
+         * Get the acknowledged chunks of an upload session to resume it
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetUploadSessionRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        getUploadSession(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetUploadSessionRequest, options?: RawAxiosRequestConfig): AxiosPromise<UploadSession> {
+            return localVarFp.getUploadSession(requestParameters.name, requestParameters.id, options).then((request) => request(axios, basePath));
+        },
+        /**
+         * List a directory of the project, directories first. When more entries than the limit exist, the cursor of the next page is returned in the X-Next-Cursor header.
          * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProjectRequest} requestParameters Request parameters.
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
         listFilesInProject(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProjectRequest, options?: RawAxiosRequestConfig): AxiosPromise<Array<ProjectFile>> {
-            return localVarFp.listFilesInProject(requestParameters.name, requestParameters.path, options).then((request) => request(axios, basePath));
+            return localVarFp.listFilesInProject(requestParameters.name, requestParameters.path, requestParameters.keyword, requestParameters.sort, requestParameters.limit, requestParameters.cursor, options).then((request) => request(axios, basePath));
+        },
+        /**
+         * List the releases of the project, newest first
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListProjectReleasesRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        listProjectReleases(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListProjectReleasesRequest, options?: RawAxiosRequestConfig): AxiosPromise<Array<ProjectRelease>> {
+            return localVarFp.listProjectReleases(requestParameters.name, options).then((request) => request(axios, basePath));
+        },
+        /**
+         * Stream the bytes of a file, a single byte range may be requested with the Range header
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiReadFileInProjectRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        readFileInProject(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiReadFileInProjectRequest, options?: RawAxiosRequestConfig): AxiosPromise<File> {
+            return localVarFp.readFileInProject(requestParameters.name, requestParameters.path, options).then((request) => request(axios, basePath));
+        },
+        /**
+         * Switch the project back to the release before the current one
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiRollbackProjectReleaseRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        rollbackProjectRelease(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiRollbackProjectReleaseRequest, options?: RawAxiosRequestConfig): AxiosPromise<string> {
+            return localVarFp.rollbackProjectRelease(requestParameters.name, options).then((request) => request(axios, basePath));
+        },
+        /**
+         * Write a chunk of the upload session at the given offset
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadChunkRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        uploadChunk(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadChunkRequest, options?: RawAxiosRequestConfig): AxiosPromise<UploadSession> {
+            return localVarFp.uploadChunk(requestParameters.name, requestParameters.id, requestParameters.offset, requestParameters.body, requestParameters.sha256, options).then((request) => request(axios, basePath));
         },
         /**
          * 
@@ -480,7 +1459,16 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFactory = function (co
          * @throws {RequiredError}
          */
         uploadFileToProject(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadFileToProjectRequest, options?: RawAxiosRequestConfig): AxiosPromise<string> {
-            return localVarFp.uploadFileToProject(requestParameters.name, requestParameters.file, requestParameters.dir, requestParameters.formData, requestParameters.unzip, options).then((request) => request(axios, basePath));
+            return localVarFp.uploadFileToProject(requestParameters.name, requestParameters.file, requestParameters._delete, requestParameters.dir, requestParameters.formData, requestParameters.unzip, options).then((request) => request(axios, basePath));
+        },
+        /**
+         * List the directory of the project recursively as newline delimited JSON, streamed while the tree is walked.
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWalkFilesInProjectRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        walkFilesInProject(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWalkFilesInProjectRequest, options?: RawAxiosRequestConfig): AxiosPromise<ProjectFile> {
+            return localVarFp.walkFilesInProject(requestParameters.name, requestParameters.path, requestParameters.depth, requestParameters.glob, options).then((request) => request(axios, basePath));
         },
         /**
          * 
@@ -489,93 +1477,340 @@ export const ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFactory = function (co
          * @throws {RequiredError}
          */
         writeContentToFile(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteContentToFileRequest, options?: RawAxiosRequestConfig): AxiosPromise<void> {
-            return localVarFp.writeContentToFile(requestParameters.name, requestParameters.path, requestParameters.writeContentRequest, options).then((request) => request(axios, basePath));
+            return localVarFp.writeContentToFile(requestParameters.name, requestParameters.path, requestParameters.ifMatch, requestParameters.writeContentRequest, options).then((request) => request(axios, basePath));
+        },
+        /**
+         * Stream the request body into a file, replacing the file
+         * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteFileInProjectRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        writeFileInProject(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteFileInProjectRequest, options?: RawAxiosRequestConfig): AxiosPromise<void> {
+            return localVarFp.writeFileInProject(requestParameters.name, requestParameters.path, requestParameters.body, options).then((request) => request(axios, basePath));
         },
     };
 };
 
 /**
- * Request parameters for createFileOrDirectory operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * Request parameters for activateProjectRelease operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiActivateProjectReleaseRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiActivateProjectReleaseRequest {
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiActivateProjectRelease
+     */
+    readonly name: string
+
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiActivateProjectRelease
+     */
+    readonly release: string
+}
+
+/**
+ * Request parameters for completeUploadSession operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCompleteUploadSessionRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCompleteUploadSessionRequest {
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCompleteUploadSession
+     */
+    readonly name: string
+
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCompleteUploadSession
+     */
+    readonly id: string
+}
+
+/**
+ * Request parameters for createFileOrDirectory operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateFileOrDirectoryRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateFileOrDirectoryRequest {
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateFileOrDirectory
+     */
+    readonly name: string
+
+    /**
+     * 
+     * @type {CreateFileRequest}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateFileOrDirectory
+     */
+    readonly createFileRequest?: CreateFileRequest
+}
+
+/**
+ * Request parameters for createUploadSession operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateUploadSessionRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateUploadSessionRequest {
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateUploadSession
+     */
+    readonly name: string
+
+    /**
+     * 
+     * @type {CreateUploadSessionRequest}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateUploadSession
+     */
+    readonly createUploadSessionRequest: CreateUploadSessionRequest
+}
+
+/**
+ * Request parameters for deleteFileInProject operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteFileInProjectRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteFileInProjectRequest {
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteFileInProject
+     */
+    readonly name: string
+
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteFileInProject
+     */
+    readonly path?: string
+}
+
+/**
+ * Request parameters for deleteUploadSession operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteUploadSessionRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteUploadSessionRequest {
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteUploadSession
+     */
+    readonly name: string
+
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteUploadSession
+     */
+    readonly id: string
+}
+
+/**
+ * Request parameters for getFileContent operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetFileContentRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetFileContentRequest {
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetFileContent
+     */
+    readonly name: string
+
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetFileContent
+     */
+    readonly path?: string
+}
+
+/**
+ * Request parameters for getProjectManifest operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
  * @export
- * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateFileOrDirectoryRequest
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetProjectManifestRequest
  */
-export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateFileOrDirectoryRequest {
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetProjectManifestRequest {
     /**
      * 
      * @type {string}
-     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateFileOrDirectory
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetProjectManifest
      */
     readonly name: string
+}
 
+/**
+ * Request parameters for getUploadSession operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetUploadSessionRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetUploadSessionRequest {
     /**
      * 
-     * @type {CreateFileRequest}
-     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateFileOrDirectory
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetUploadSession
      */
-    readonly createFileRequest?: CreateFileRequest
+    readonly name: string
+
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetUploadSession
+     */
+    readonly id: string
 }
 
 /**
- * Request parameters for deleteFileInProject operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * Request parameters for listFilesInProject operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
  * @export
- * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteFileInProjectRequest
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProjectRequest
  */
-export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteFileInProjectRequest {
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProjectRequest {
     /**
      * 
      * @type {string}
-     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteFileInProject
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProject
      */
     readonly name: string
 
     /**
      * 
      * @type {string}
-     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteFileInProject
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProject
      */
     readonly path?: string
+
+    /**
+     * Only list the entries whose name contains the keyword
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProject
+     */
+    readonly keyword?: string
+
+    /**
+     * name, size or lastModifiedTime, optionally followed by &#39;,desc&#39;, defaults to name
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProject
+     */
+    readonly sort?: string
+
+    /**
+     * The page size, at most 1000, all entries if absent
+     * @type {number}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProject
+     */
+    readonly limit?: number
+
+    /**
+     * The X-Next-Cursor of the previous page
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProject
+     */
+    readonly cursor?: string
 }
 
 /**
- * Request parameters for getFileContent operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * Request parameters for listProjectReleases operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
  * @export
- * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetFileContentRequest
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListProjectReleasesRequest
  */
-export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetFileContentRequest {
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListProjectReleasesRequest {
     /**
      * 
      * @type {string}
-     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetFileContent
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListProjectReleases
      */
     readonly name: string
+}
 
+/**
+ * Request parameters for readFileInProject operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiReadFileInProjectRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiReadFileInProjectRequest {
     /**
      * 
      * @type {string}
-     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetFileContent
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiReadFileInProject
      */
-    readonly path?: string
+    readonly name: string
+
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiReadFileInProject
+     */
+    readonly path: string
 }
 
 /**
- * Request parameters for listFilesInProject operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * Request parameters for rollbackProjectRelease operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
  * @export
- * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProjectRequest
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiRollbackProjectReleaseRequest
  */
-export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProjectRequest {
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiRollbackProjectReleaseRequest {
     /**
      * 
      * @type {string}
-     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProject
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiRollbackProjectRelease
      */
     readonly name: string
+}
 
+/**
+ * Request parameters for uploadChunk operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadChunkRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadChunkRequest {
     /**
      * 
      * @type {string}
-     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProject
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadChunk
      */
-    readonly path?: string
+    readonly name: string
+
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadChunk
+     */
+    readonly id: string
+
+    /**
+     * Offset of the chunk, a multiple of the chunk size
+     * @type {number}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadChunk
+     */
+    readonly offset: number
+
+    /**
+     * 
+     * @type {File}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadChunk
+     */
+    readonly body: File
+
+    /**
+     * Hex encoded SHA-256 checksum of the chunk
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadChunk
+     */
+    readonly sha256?: string
 }
 
 /**
@@ -598,6 +1833,13 @@ export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadFileToProjec
      */
     readonly file: File
 
+    /**
+     * Paths relative to the project to delete when deploying the whole project, one per field or line
+     * @type {Array<string>}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadFileToProject
+     */
+    readonly _delete?: Array<string>
+
     /**
      * Segments of the path, relative to the current static page, are divided by slashes to form multiple subpaths
      * @type {string}
@@ -620,6 +1862,41 @@ export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadFileToProjec
     readonly unzip?: boolean
 }
 
+/**
+ * Request parameters for walkFilesInProject operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWalkFilesInProjectRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWalkFilesInProjectRequest {
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWalkFilesInProject
+     */
+    readonly name: string
+
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWalkFilesInProject
+     */
+    readonly path?: string
+
+    /**
+     * The depth to descend to, 1 for the entries of the directory only, the whole tree if absent
+     * @type {number}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWalkFilesInProject
+     */
+    readonly depth?: number
+
+    /**
+     * Only list the entries whose path relative to the directory matches the glob, such as **_/_*.html
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWalkFilesInProject
+     */
+    readonly glob?: string
+}
+
 /**
  * Request parameters for writeContentToFile operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
  * @export
@@ -640,6 +1917,13 @@ export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteContentToFile
      */
     readonly path?: string
 
+    /**
+     * The ETag of the content being edited, the write fails with 412 if the file was changed since
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteContentToFile
+     */
+    readonly ifMatch?: string
+
     /**
      * 
      * @type {WriteContentRequest}
@@ -648,6 +1932,34 @@ export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteContentToFile
     readonly writeContentRequest?: WriteContentRequest
 }
 
+/**
+ * Request parameters for writeFileInProject operation in ConsoleApiStaticpageHaloRunV1alpha1ProjectApi.
+ * @export
+ * @interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteFileInProjectRequest
+ */
+export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteFileInProjectRequest {
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteFileInProject
+     */
+    readonly name: string
+
+    /**
+     * 
+     * @type {string}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteFileInProject
+     */
+    readonly path: string
+
+    /**
+     * 
+     * @type {File}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteFileInProject
+     */
+    readonly body?: File
+}
+
 /**
  * ConsoleApiStaticpageHaloRunV1alpha1ProjectApi - object-oriented interface
  * @export
@@ -655,6 +1967,28 @@ export interface ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteContentToFile
  * @extends {BaseAPI}
  */
 export class ConsoleApiStaticpageHaloRunV1alpha1ProjectApi extends BaseAPI {
+    /**
+     * Switch the project to the given release
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiActivateProjectReleaseRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public activateProjectRelease(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiActivateProjectReleaseRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).activateProjectRelease(requestParameters.name, requestParameters.release, options).then((request) => request(this.axios, this.basePath));
+    }
+
+    /**
+     * Upload the received content once all chunks were acknowledged
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCompleteUploadSessionRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public completeUploadSession(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCompleteUploadSessionRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).completeUploadSession(requestParameters.name, requestParameters.id, options).then((request) => request(this.axios, this.basePath));
+    }
+
     /**
      * 
      * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateFileOrDirectoryRequest} requestParameters Request parameters.
@@ -666,6 +2000,17 @@ export class ConsoleApiStaticpageHaloRunV1alpha1ProjectApi extends BaseAPI {
         return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).createFileOrDirectory(requestParameters.name, requestParameters.createFileRequest, options).then((request) => request(this.axios, this.basePath));
     }
 
+    /**
+     * Start a resumable upload whose content is sent in chunks
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateUploadSessionRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public createUploadSession(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiCreateUploadSessionRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).createUploadSession(requestParameters.name, requestParameters.createUploadSessionRequest, options).then((request) => request(this.axios, this.basePath));
+    }
+
     /**
      * Delete file or directory in project by given path
      * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteFileInProjectRequest} requestParameters Request parameters.
@@ -677,6 +2022,27 @@ export class ConsoleApiStaticpageHaloRunV1alpha1ProjectApi extends BaseAPI {
         return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).deleteFileInProject(requestParameters.name, requestParameters.path, options).then((request) => request(this.axios, this.basePath));
     }
 
+    /**
+     * 
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteUploadSessionRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public deleteUploadSession(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiDeleteUploadSessionRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).deleteUploadSession(requestParameters.name, requestParameters.id, options).then((request) => request(this.axios, this.basePath));
+    }
+
+    /**
+     * Get hit, miss and eviction counts of the in-memory asset cache
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public getAssetCacheStats(options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).getAssetCacheStats(options).then((request) => request(this.axios, this.basePath));
+    }
+
     /**
      * 
      * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetFileContentRequest} requestParameters Request parameters.
@@ -689,14 +2055,90 @@ export class ConsoleApiStaticpageHaloRunV1alpha1ProjectApi extends BaseAPI {
     }
 
     /**
-     * 
+     * Get running and queued file operations of the plugin
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public getIoSchedulerStats(options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).getIoSchedulerStats(options).then((request) => request(this.axios, this.basePath));
+    }
+
+    /**
+     * Get the path, size and SHA-256 hash of every project file
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetProjectManifestRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public getProjectManifest(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetProjectManifestRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).getProjectManifest(requestParameters.name, options).then((request) => request(this.axios, this.basePath));
+    }
+
+    /**
+     * Get the acknowledged chunks of an upload session to resume it
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetUploadSessionRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public getUploadSession(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiGetUploadSessionRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).getUploadSession(requestParameters.name, requestParameters.id, options).then((request) => request(this.axios, this.basePath));
+    }
+
+    /**
+     * List a directory of the project, directories first. When more entries than the limit exist, the cursor of the next page is returned in the X-Next-Cursor header.
      * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProjectRequest} requestParameters Request parameters.
      * @param {*} [options] Override http request option.
      * @throws {RequiredError}
      * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
      */
     public listFilesInProject(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListFilesInProjectRequest, options?: RawAxiosRequestConfig) {
-        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).listFilesInProject(requestParameters.name, requestParameters.path, options).then((request) => request(this.axios, this.basePath));
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).listFilesInProject(requestParameters.name, requestParameters.path, requestParameters.keyword, requestParameters.sort, requestParameters.limit, requestParameters.cursor, options).then((request) => request(this.axios, this.basePath));
+    }
+
+    /**
+     * List the releases of the project, newest first
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListProjectReleasesRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public listProjectReleases(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiListProjectReleasesRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).listProjectReleases(requestParameters.name, options).then((request) => request(this.axios, this.basePath));
+    }
+
+    /**
+     * Stream the bytes of a file, a single byte range may be requested with the Range header
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiReadFileInProjectRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public readFileInProject(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiReadFileInProjectRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).readFileInProject(requestParameters.name, requestParameters.path, options).then((request) => request(this.axios, this.basePath));
+    }
+
+    /**
+     * Switch the project back to the release before the current one
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiRollbackProjectReleaseRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public rollbackProjectRelease(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiRollbackProjectReleaseRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).rollbackProjectRelease(requestParameters.name, options).then((request) => request(this.axios, this.basePath));
+    }
+
+    /**
+     * Write a chunk of the upload session at the given offset
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadChunkRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public uploadChunk(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadChunkRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).uploadChunk(requestParameters.name, requestParameters.id, requestParameters.offset, requestParameters.body, requestParameters.sha256, options).then((request) => request(this.axios, this.basePath));
     }
 
     /**
@@ -707,7 +2149,18 @@ export class ConsoleApiStaticpageHaloRunV1alpha1ProjectApi extends BaseAPI {
      * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
      */
     public uploadFileToProject(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiUploadFileToProjectRequest, options?: RawAxiosRequestConfig) {
-        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).uploadFileToProject(requestParameters.name, requestParameters.file, requestParameters.dir, requestParameters.formData, requestParameters.unzip, options).then((request) => request(this.axios, this.basePath));
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).uploadFileToProject(requestParameters.name, requestParameters.file, requestParameters._delete, requestParameters.dir, requestParameters.formData, requestParameters.unzip, options).then((request) => request(this.axios, this.basePath));
+    }
+
+    /**
+     * List the directory of the project recursively as newline delimited JSON, streamed while the tree is walked.
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWalkFilesInProjectRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public walkFilesInProject(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWalkFilesInProjectRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).walkFilesInProject(requestParameters.name, requestParameters.path, requestParameters.depth, requestParameters.glob, options).then((request) => request(this.axios, this.basePath));
     }
 
     /**
@@ -718,7 +2171,18 @@ export class ConsoleApiStaticpageHaloRunV1alpha1ProjectApi extends BaseAPI {
      * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
      */
     public writeContentToFile(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteContentToFileRequest, options?: RawAxiosRequestConfig) {
-        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).writeContentToFile(requestParameters.name, requestParameters.path, requestParameters.writeContentRequest, options).then((request) => request(this.axios, this.basePath));
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).writeContentToFile(requestParameters.name, requestParameters.path, requestParameters.ifMatch, requestParameters.writeContentRequest, options).then((request) => request(this.axios, this.basePath));
+    }
+
+    /**
+     * Stream the request body into a file, replacing the file
+     * @param {ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteFileInProjectRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiStaticpageHaloRunV1alpha1ProjectApi
+     */
+    public writeFileInProject(requestParameters: ConsoleApiStaticpageHaloRunV1alpha1ProjectApiWriteFileInProjectRequest, options?: RawAxiosRequestConfig) {
+        return ConsoleApiStaticpageHaloRunV1alpha1ProjectApiFp(this.configuration).writeFileInProject(requestParameters.name, requestParameters.path, requestParameters.body, options).then((request) => request(this.axios, this.basePath));
     }
 }
 
@@ -2,12 +2,19 @@ export * from './add-operation';
 export * from './condition';
 export * from './copy-operation';
 export * from './create-file-request';
+export * from './create-upload-session-request';
 export * from './json-patch-inner';
 export * from './metadata';
 export * from './move-operation';
 export * from './project';
+export * from './project-asset-cache-stats';
 export * from './project-file';
+export * from './project-header';
+export * from './project-header-rule';
+export * from './project-io-scheduler-stats';
 export * from './project-list';
+export * from './project-manifest-entry';
+export * from './project-release';
 export * from './project-rewrite';
 export * from './project-spec';
 export * from './project-status';
@@ -15,4 +22,5 @@ export * from './remove-operation';
 export * from './replace-operation';
 export * from './test-operation';
 export * from './upload-request-form-data';
+export * from './upload-session';
 export * from './write-content-request';
@@ -68,5 +68,11 @@ export interface ProjectFile {
      * @memberof ProjectFile
      */
     'type'?: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof ProjectFile
+     */
+    'version'?: string;
 }
 
@@ -13,6 +13,9 @@
  */
 
 
+// May contain unused imports in some cases
+// @ts-ignore
+import type { ProjectHeaderRule } from './project-header-rule';
 // May contain unused imports in some cases
 // @ts-ignore
 import type { ProjectRewrite } from './project-rewrite';
@@ -23,6 +26,12 @@ import type { ProjectRewrite } from './project-rewrite';
  * @interface ProjectSpec
  */
 export interface ProjectSpec {
+    /**
+     * Whether to store deployed files once by content in the blob store shared with other projects
+     * @type {boolean}
+     * @memberof ProjectSpec
+     */
+    'deduplicate'?: boolean;
     /**
      * 
      * @type {string}
@@ -35,18 +44,48 @@ export interface ProjectSpec {
      * @memberof ProjectSpec
      */
     'directory': string;
+    /**
+     * Response headers applied to files matching the source pattern
+     * @type {Array<ProjectHeaderRule>}
+     * @memberof ProjectSpec
+     */
+    'headers'?: Array<ProjectHeaderRule>;
     /**
      * 
      * @type {string}
      * @memberof ProjectSpec
      */
     'icon'?: string;
+    /**
+     * Whether to cache scripts, styles, fonts and images with a content hash in their name as immutable for a year
+     * @type {boolean}
+     * @memberof ProjectSpec
+     */
+    'immutableAssets'?: boolean;
+    /**
+     * Whether to write precompressed gzip variants of text assets on deploy
+     * @type {boolean}
+     * @memberof ProjectSpec
+     */
+    'precompress'?: boolean;
+    /**
+     * Number of releases to keep, older releases are pruned after deploys
+     * @type {number}
+     * @memberof ProjectSpec
+     */
+    'releaseHistoryLimit'?: number;
     /**
      * 
      * @type {Array<ProjectRewrite>}
      * @memberof ProjectSpec
      */
     'rewrites'?: Array<ProjectRewrite>;
+    /**
+     * Maximum size of the project files in bytes, uploads exceeding it are rejected
+     * @type {number}
+     * @memberof ProjectSpec
+     */
+    'storageQuota'?: number;
     /**
      * 
      * @type {string}
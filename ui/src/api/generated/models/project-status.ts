@@ -29,6 +29,12 @@ export interface ProjectStatus {
      * @memberof ProjectStatus
      */
     'conditions': Array<Condition>;
+    /**
+     * Name of the release the project directory currently points to
+     * @type {string}
+     * @memberof ProjectStatus
+     */
+    'currentRelease'?: string;
     /**
      * 
      * @type {string}
@@ -39,6 +45,7 @@ export interface ProjectStatus {
 
 export const ProjectStatusPhaseEnum = {
     Ready: 'READY',
+    Moving: 'MOVING',
     Failed: 'FAILED'
 } as const;
 